@@ -0,0 +1,57 @@
+package com.techdesk.benchmark;
+
+import com.techdesk.utils.AgentLoadIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of picking the least loaded agent when a ticket is created, as done by the assignment service through
+ * {@link AgentLoadIndex}. Each invocation reserves an agent and releases the reservation again, so the loads
+ * stay at their seeded distribution across iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgentSelectionBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    public int agents;
+
+    private AgentLoadIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<UUID, Integer> openTicketsByAgent = new HashMap<>();
+        for (int i = 0; i < agents; i++) {
+            openTicketsByAgent.put(new UUID(random.nextLong(), random.nextLong()), random.nextInt(50));
+        }
+        index = new AgentLoadIndex();
+        index.reset(openTicketsByAgent);
+    }
+
+    @Benchmark
+    public UUID reserveAndRelease() {
+        UUID agentId = index.reserveLeastLoaded().orElseThrow();
+        index.adjust(agentId, -1);
+        return agentId;
+    }
+}
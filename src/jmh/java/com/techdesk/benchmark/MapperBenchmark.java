@@ -0,0 +1,122 @@
+package com.techdesk.benchmark;
+
+import com.techdesk.dto.AuditLogResponseDTO;
+import com.techdesk.dto.CommentResponseDTO;
+import com.techdesk.dto.TicketResponseDTO;
+import com.techdesk.dto.mappers.AuditLogMapper;
+import com.techdesk.dto.mappers.AuditLogMapperImpl;
+import com.techdesk.dto.mappers.CommentMapper;
+import com.techdesk.dto.mappers.CommentMapperImpl;
+import com.techdesk.dto.mappers.TicketMapper;
+import com.techdesk.dto.mappers.TicketMapperImpl;
+import com.techdesk.entities.AppUser;
+import com.techdesk.entities.Comment;
+import com.techdesk.entities.Ticket;
+import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the MapStruct-generated mappers on the shapes the services map most often: a ticket with its
+ * comments, a single comment and an audit log with its lazy ticket and user references.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"0", "5", "20"})
+    public int commentsPerTicket;
+
+    private final TicketMapper ticketMapper = new TicketMapperImpl();
+    private final CommentMapper commentMapper = new CommentMapperImpl();
+    private final AuditLogMapper auditLogMapper = new AuditLogMapperImpl();
+
+    private Ticket ticket;
+    private Comment comment;
+    private TicketAuditLog auditLog;
+
+    @Setup
+    public void setUp() {
+        AppUser employee = AppUser.builder()
+                .id(UUID.randomUUID())
+                .username("employee")
+                .role(Role.EMPLOYEE)
+                .build();
+        ticket = Ticket.builder()
+                .id(UUID.randomUUID())
+                .title("VPN connection drops")
+                .description("The VPN disconnects every hour when working from home.")
+                .priority(TicketPriority.HIGH)
+                .category(TicketCategory.NETWORK)
+                .status(TicketStatus.IN_PROGRESS)
+                .createdAt(LocalDateTime.now())
+                .createdBy(employee)
+                .build();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < commentsPerTicket; i++) {
+            comments.add(Comment.builder()
+                    .id(UUID.randomUUID())
+                    .text("Comment " + i + ": rebooted the router and updated the client.")
+                    .createdAt(LocalDateTime.now())
+                    .ticket(ticket)
+                    .user(employee)
+                    .build());
+        }
+        ticket.setComments(comments);
+        comment = comments.isEmpty()
+                ? Comment.builder().id(UUID.randomUUID()).text("Single comment").ticket(ticket).user(employee).build()
+                : comments.get(0);
+        auditLog = TicketAuditLog.builder()
+                .id(UUID.randomUUID())
+                .ticket(ticket)
+                .changedBy(employee)
+                .logType(AuditLogType.STATUS_CHANGE)
+                .description("Status changed from NEW to IN_PROGRESS")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public TicketResponseDTO ticketWithComments() {
+        return ticketMapper.ticketToTicketResponseDTO(ticket);
+    }
+
+    @Benchmark
+    public TicketResponseDTO ticketSummary() {
+        return ticketMapper.ticketToTicketSummaryDTO(ticket);
+    }
+
+    @Benchmark
+    public CommentResponseDTO comment() {
+        return commentMapper.commentToCommentResponseDTO(comment);
+    }
+
+    @Benchmark
+    public AuditLogResponseDTO auditLog() {
+        return auditLogMapper.toDto(auditLog);
+    }
+}
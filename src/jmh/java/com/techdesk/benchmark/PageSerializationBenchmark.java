@@ -0,0 +1,87 @@
+package com.techdesk.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techdesk.dto.CommentResponseDTO;
+import com.techdesk.dto.TicketResponseDTO;
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing a page of tickets to JSON, as returned by the ticket listing endpoints, depending on how many
+ * comments are embedded in each ticket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "5", "20"})
+    public int commentsPerTicket;
+
+    private ObjectMapper objectMapper;
+    private Page<TicketResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        List<TicketResponseDTO> tickets = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            TicketResponseDTO ticket = new TicketResponseDTO();
+            ticket.setId(UUID.randomUUID());
+            ticket.setTitle("Ticket " + i);
+            ticket.setDescription("The printer on floor " + i + " jams on every second page.");
+            ticket.setPriority(TicketPriority.MEDIUM);
+            ticket.setCategory(TicketCategory.HARDWARE);
+            ticket.setStatus(TicketStatus.NEW);
+            ticket.setCreatedAt(LocalDateTime.now());
+            ticket.setUpdatedAt(LocalDateTime.now());
+            List<CommentResponseDTO> comments = new ArrayList<>();
+            for (int j = 0; j < commentsPerTicket; j++) {
+                CommentResponseDTO comment = new CommentResponseDTO();
+                comment.setId(UUID.randomUUID());
+                comment.setText("Comment " + j + ": replaced the toner cartridge.");
+                comment.setCreatedAt(LocalDateTime.now());
+                comment.setAuthorUsername("support" + j);
+                comments.add(comment);
+            }
+            ticket.setComments(comments);
+            tickets.add(ticket);
+        }
+        page = new PageImpl<>(tickets, PageRequest.of(0, PAGE_SIZE), 1000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
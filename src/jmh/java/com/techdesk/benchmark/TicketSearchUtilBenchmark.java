@@ -0,0 +1,63 @@
+package com.techdesk.benchmark;
+
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.utils.TicketSearchUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing the request parameters every ticket search and lookup goes through, for valid and for invalid
+ * input. Invalid input is the path that builds an exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketSearchUtilBenchmark {
+
+    private final String validUuid = UUID.randomUUID().toString();
+    private final String invalidUuid = "not-a-ticket-id";
+    private final String validStatus = "in_progress";
+    private final String invalidStatus = "archived";
+
+    @Benchmark
+    public Optional<UUID> parseValidUuid() {
+        return TicketSearchUtil.parseUuid(validUuid);
+    }
+
+    @Benchmark
+    public Object parseInvalidUuid() {
+        try {
+            return TicketSearchUtil.parseUuid(invalidUuid);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Optional<TicketStatus> parseValidStatus() {
+        return TicketSearchUtil.parseTicketStatus(validStatus);
+    }
+
+    @Benchmark
+    public Object parseInvalidStatus() {
+        try {
+            return TicketSearchUtil.parseTicketStatus(invalidStatus);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.techdesk.loadtest;
+
+import com.techdesk.entities.AppUser;
+import com.techdesk.entities.Comment;
+import com.techdesk.entities.Ticket;
+import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.repositories.AppUserRepository;
+import com.techdesk.utils.PasswordHasher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Fills an empty database with a synthetic dataset for load tests.
+ * <p>
+ * Creates one administrator, {@code agents} IT support agents and {@code employees} employees, then {@code tickets}
+ * tickets with their comments and audit logs. Tickets are spread over employees and agents following a Zipf
+ * distribution with exponent {@code skew}, so a few employees file most tickets and a few agents carry most of the
+ * load, as in production. Ticket ages cover the last year, statuses move along NEW, IN_PROGRESS, RESOLVED and
+ * CLOSED with one audit log per transition, and every comment has its audit log. The same {@code seed} always
+ * produces the same dataset.
+ * </p>
+ * <p>
+ * Runs before the application reports ready, so the agent load index and the full-text index are built from the
+ * generated data. A database that already contains users is left untouched.
+ * </p>
+ */
+@Component
+@Profile("loadtest")
+public class DatasetGenerator implements ApplicationRunner {
+
+    public static final String ADMIN_USERNAME = "loadtest-admin";
+    public static final String AGENT_PREFIX = "loadtest-agent-";
+    public static final String EMPLOYEE_PREFIX = "loadtest-employee-";
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    /**
+     * Tickets persisted per transaction, together with their comments and audit logs.
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    private static final TicketStatus[] LIFECYCLE = {
+            TicketStatus.NEW, TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED, TicketStatus.CLOSED
+    };
+
+    private static final String[] SUBJECTS = {
+            "VPN connection", "Laptop", "Printer", "Email client", "Monitor", "Keyboard", "Shared drive",
+            "Password reset", "Docking station", "Wi-Fi", "Phone", "Software license"
+    };
+
+    private static final String[] PROBLEMS = {
+            "does not work", "is very slow", "keeps disconnecting", "shows an error on startup",
+            "needs to be replaced", "cannot be accessed", "crashes regularly", "needs to be installed"
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AppUserRepository appUserRepository;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
+    private final int agentCount;
+    private final int employeeCount;
+    private final int ticketCount;
+    private final int commentsPerTicket;
+    private final double skew;
+    private final long seed;
+    private final String password;
+
+    /**
+     * Constructs a {@code DatasetGenerator}.
+     *
+     * @param appUserRepository  used to detect a database that is already populated
+     * @param passwordHasher     hashes the password shared by all generated users
+     * @param transactionManager runs each batch in its own transaction
+     * @param agentCount         the number of IT support agents
+     * @param employeeCount      the number of employees
+     * @param ticketCount        the number of tickets
+     * @param commentsPerTicket  the mean number of comments per ticket
+     * @param skew               the Zipf exponent of the ticket distribution over employees and agents
+     * @param seed               the seed of the random generator
+     * @param password           the password of every generated user
+     */
+    public DatasetGenerator(AppUserRepository appUserRepository,
+                            PasswordHasher passwordHasher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${techdesk.loadtest.dataset.agents:25}") int agentCount,
+                            @Value("${techdesk.loadtest.dataset.employees:2000}") int employeeCount,
+                            @Value("${techdesk.loadtest.dataset.tickets:50000}") int ticketCount,
+                            @Value("${techdesk.loadtest.dataset.comments-per-ticket:3}") int commentsPerTicket,
+                            @Value("${techdesk.loadtest.dataset.skew:1.1}") double skew,
+                            @Value("${techdesk.loadtest.dataset.seed:42}") long seed,
+                            @Value("${techdesk.loadtest.dataset.password:LoadTest123}") String password) {
+        if (agentCount < 1 || employeeCount < 1) {
+            throw new IllegalArgumentException("The dataset needs at least one agent and one employee");
+        }
+        this.appUserRepository = appUserRepository;
+        this.passwordHasher = passwordHasher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.agentCount = agentCount;
+        this.employeeCount = employeeCount;
+        this.ticketCount = ticketCount;
+        this.commentsPerTicket = commentsPerTicket;
+        this.skew = skew;
+        this.seed = seed;
+        this.password = password;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (appUserRepository.count() > 0) {
+            logger.info("Database already contains users, skipping dataset generation");
+            return;
+        }
+        long start = System.nanoTime();
+        Random random = new Random(seed);
+        String passwordHash = passwordHasher.hash(password);
+
+        createUsers(ADMIN_USERNAME, 1, Role.ADMIN, passwordHash);
+        List<UUID> agents = createUsers(AGENT_PREFIX, agentCount, Role.IT_SUPPORT, passwordHash);
+        List<UUID> employees = createUsers(EMPLOYEE_PREFIX, employeeCount, Role.EMPLOYEE, passwordHash);
+        ZipfSampler agentSampler = new ZipfSampler(agents.size(), skew);
+        ZipfSampler employeeSampler = new ZipfSampler(employees.size(), skew);
+
+        long[] totals = new long[2];
+        LocalDateTime now = LocalDateTime.now();
+        for (int first = 0; first < ticketCount; first += BATCH_SIZE) {
+            int batch = Math.min(BATCH_SIZE, ticketCount - first);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < batch; i++) {
+                    UUID employeeId = employees.get(employeeSampler.next(random));
+                    UUID agentId = agents.get(agentSampler.next(random));
+                    createTicket(random, now, employeeId, agentId, totals);
+                }
+            });
+        }
+        logger.info("Generated {} agents, {} employees, {} tickets, {} comments and {} audit logs in {} ms",
+                agentCount, employeeCount, ticketCount, totals[0], totals[1], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Creates users named {@code prefix + n}, or just {@code prefix} when a single user is requested.
+     */
+    private List<UUID> createUsers(String prefix, int count, Role role, String passwordHash) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int first = 0; first < count; first += BATCH_SIZE) {
+            int from = first;
+            int to = Math.min(count, first + BATCH_SIZE);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int n = from; n < to; n++) {
+                    AppUser user = AppUser.builder()
+                            .username(count == 1 ? prefix : prefix + (n + 1))
+                            .password(passwordHash)
+                            .role(role)
+                            .build();
+                    entityManager.persist(user);
+                    ids.add(user.getId());
+                }
+            });
+        }
+        return ids;
+    }
+
+    /**
+     * Persists one ticket with its comments and audit logs. {@code totals} counts the comments and audit logs.
+     */
+    private void createTicket(Random random, LocalDateTime now, UUID employeeId, UUID agentId, long[] totals) {
+        AppUser employee = entityManager.getReference(AppUser.class, employeeId);
+        AppUser agent = entityManager.getReference(AppUser.class, agentId);
+        LocalDateTime createdAt = now.minusSeconds(random.nextInt(365 * 24 * 3600));
+        TicketStatus status = LIFECYCLE[random.nextInt(LIFECYCLE.length)];
+        String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+        String problem = PROBLEMS[random.nextInt(PROBLEMS.length)];
+
+        Ticket ticket = Ticket.builder()
+                .title(subject + " " + problem)
+                .description("My " + subject.toLowerCase() + " " + problem + ". Reported from "
+                        + (random.nextBoolean() ? "the office" : "home") + ", please have a look.")
+                .priority(TicketPriority.values()[random.nextInt(TicketPriority.values().length)])
+                .category(TicketCategory.values()[random.nextInt(TicketCategory.values().length)])
+                .status(status)
+                .createdBy(employee)
+                .assignedTo(agent)
+                .createdAt(createdAt)
+                .build();
+        entityManager.persist(ticket);
+
+        LocalDateTime time = createdAt;
+        int comments = commentsPerTicket > 0 ? random.nextInt(2 * commentsPerTicket + 1) : 0;
+        for (int c = 0; c < comments; c++) {
+            time = time.plusMinutes(1 + random.nextInt(24 * 60));
+            String text = "Checked the " + subject.toLowerCase() + ", step " + (c + 1) + " of the usual procedure.";
+            entityManager.persist(Comment.builder()
+                    .text(text)
+                    .createdAt(time)
+                    .ticket(ticket)
+                    .user(agent)
+                    .build());
+            persistLog(ticket, agent, AuditLogType.COMMENT_ADDED, "Comment added: " + text, time);
+            totals[0]++;
+            totals[1]++;
+        }
+        int transitions = Arrays.asList(LIFECYCLE).indexOf(status);
+        for (int t = 1; t <= transitions; t++) {
+            time = time.plusMinutes(1 + random.nextInt(24 * 60));
+            persistLog(ticket, agent, AuditLogType.STATUS_CHANGE,
+                    "Status changed from " + LIFECYCLE[t - 1] + " to " + LIFECYCLE[t], time);
+            totals[1]++;
+        }
+        if (time.isAfter(createdAt)) {
+            ticket.setUpdatedAt(time);
+        }
+    }
+
+    private void persistLog(Ticket ticket, AppUser changedBy, AuditLogType logType, String description,
+                            LocalDateTime timestamp) {
+        entityManager.persist(TicketAuditLog.builder()
+                .ticket(ticket)
+                .changedBy(changedBy)
+                .logType(logType)
+                .description(description)
+                .timestamp(timestamp)
+                .build());
+    }
+
+    /**
+     * Draws indexes in {@code [0, n)} with probability proportional to {@code 1 / (index + 1)^exponent}.
+     */
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.techdesk.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latencies of one endpoint during a load test. Every sample is kept, so the percentiles are exact.
+ */
+final class LatencyRecorder {
+
+    /**
+     * The results of one endpoint. Latencies are in milliseconds, throughput in requests per second.
+     */
+    record Summary(String endpoint, long requests, long errors, double throughput,
+                   double p50, double p99, double p999, double max) {
+    }
+
+    private final String endpoint;
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Records one request.
+     *
+     * @param latencyNanos the time from when the request was due until its response was read
+     * @param success      whether the response had a 2xx status
+     */
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    /**
+     * @param elapsedNanos the length of the measurement period
+     * @return the summary of the requests recorded so far
+     */
+    synchronized Summary summarize(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+        return new Summary(endpoint, count, errors, seconds > 0 ? count / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    /**
+     * Nearest-rank percentile of a sorted array, in milliseconds.
+     */
+    static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
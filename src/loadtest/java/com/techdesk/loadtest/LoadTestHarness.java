@@ -0,0 +1,94 @@
+package com.techdesk.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techdesk.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the load test: starts the application with the {@code loadtest} profile on an in-memory database
+ * filled by {@link DatasetGenerator}, checks the SQL statement budgets of the listings, drives it with
+ * {@link WorkloadDriver} and reports throughput and latency percentiles per endpoint, on the console and as JSON.
+ * <p>
+ * Configured through system properties:
+ * </p>
+ * <ul>
+ *     <li>{@code loadtest.rate}: requests per second (default 200)</li>
+ *     <li>{@code loadtest.warmup} and {@code loadtest.duration}: ISO-8601 durations (default PT10S and PT60S)</li>
+ *     <li>{@code loadtest.result-file}: where the JSON report is written (default target/loadtest-result.json)</li>
+ *     <li>{@code loadtest.base-url}: drive an instance that is already running, whose database was filled by
+ *     {@link DatasetGenerator}, instead of starting one</li>
+ *     <li>{@code techdesk.loadtest.dataset.*}: the dataset volumes, see application-loadtest.yaml</li>
+ * </ul>
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        File resultFile = new File(System.getProperty("loadtest.result-file", "target/loadtest-result.json"));
+        String baseUrl = System.getProperty("loadtest.base-url", "");
+
+        ConfigurableApplicationContext context = null;
+        PropertyResolver properties = new StandardEnvironment();
+        if (baseUrl.isBlank()) {
+            context = new SpringApplicationBuilder(DemoApplication.class).profiles("loadtest").run(args);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            properties = context.getEnvironment();
+        }
+        try {
+            WorkloadDriver driver = new WorkloadDriver(baseUrl,
+                    properties.getProperty("techdesk.loadtest.dataset.password", "LoadTest123"));
+            driver.prepare(properties.getProperty("techdesk.loadtest.dataset.agents", Integer.class, 25),
+                    properties.getProperty("techdesk.loadtest.dataset.employees", Integer.class, 2000));
+            driver.checkStatementBudgets();
+            List<LatencyRecorder.Summary> summaries = driver.run(rate, warmup, duration);
+            print(rate, duration, summaries);
+            write(resultFile, rate, warmup, duration, summaries);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void print(double rate, Duration duration, List<LatencyRecorder.Summary> summaries) {
+        System.out.printf("%nTarget rate %.0f req/s for %ss%n", rate, duration.toSeconds());
+        System.out.printf("%-34s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LatencyRecorder.Summary summary : summaries) {
+            System.out.printf("%-34s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    summary.endpoint(), summary.requests(), summary.errors(), summary.throughput(),
+                    summary.p50(), summary.p99(), summary.p999(), summary.max());
+        }
+    }
+
+    private static void write(File resultFile, double rate, Duration warmup, Duration duration,
+                              List<LatencyRecorder.Summary> summaries) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("targetRate", rate);
+        report.put("warmupSeconds", warmup.toSeconds());
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("endpoints", summaries);
+        File directory = resultFile.getAbsoluteFile().getParentFile();
+        if (directory != null) {
+            directory.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, report);
+        System.out.println("Report written to " + resultFile.getPath());
+    }
+}
@@ -0,0 +1,308 @@
+package com.techdesk.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techdesk.SqlStatementBudget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Replays a fixed mix of ticket, comment and audit log requests against a running instance at a target rate.
+ * <p>
+ * The load is open: requests are started on schedule, each on its own virtual thread, whether or not earlier ones
+ * have completed. Latency is measured from when a request was due rather than from when it was sent, so a server
+ * that falls behind shows up in the percentiles instead of silently lowering the offered rate.
+ * </p>
+ * <p>
+ * Logs in as the users created by {@link DatasetGenerator}: the administrator, up to {@value #MAX_AGENT_SESSIONS}
+ * agents and up to {@value #MAX_EMPLOYEE_SESSIONS} employees, taken from the heaviest ones of the skewed dataset.
+ * </p>
+ */
+final class WorkloadDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadDriver.class);
+
+    private static final int MAX_AGENT_SESSIONS = 10;
+    private static final int MAX_EMPLOYEE_SESSIONS = 50;
+    private static final int TICKET_POOL_SIZE = 500;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] STATUSES = {"NEW", "IN_PROGRESS", "RESOLVED", "CLOSED"};
+
+    /**
+     * The most SQL statements a page of 20 rows of each listing may run; a query per row would exceed them.
+     */
+    private static final int LISTING_STATEMENT_BUDGET = 5;
+
+    /**
+     * One kind of request of the mix, chosen with a probability proportional to its weight.
+     */
+    private record Operation(String endpoint, int weight, Function<Random, HttpRequest> request) {
+    }
+
+    private record EmployeeTicket(String token, UUID ticketId) {
+    }
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String password;
+    private final List<Operation> operations = new ArrayList<>();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final LatencyRecorder overall = new LatencyRecorder("all");
+    private int totalWeight;
+
+    private String adminToken;
+    private final List<String> agentTokens = new ArrayList<>();
+    private final List<String> employeeTokens = new ArrayList<>();
+    private final List<EmployeeTicket> employeeTickets = new ArrayList<>();
+    private final List<UUID> ticketPool = new ArrayList<>();
+
+    WorkloadDriver(String baseUrl, String password) {
+        this.baseUrl = baseUrl;
+        this.password = password;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Logs in the sessions and collects the ticket ids the requests are made against.
+     *
+     * @param agents    the number of agents in the dataset
+     * @param employees the number of employees in the dataset
+     */
+    void prepare(int agents, int employees) throws IOException, InterruptedException {
+        adminToken = login(DatasetGenerator.ADMIN_USERNAME);
+        for (int n = 1; n <= Math.min(agents, MAX_AGENT_SESSIONS); n++) {
+            agentTokens.add(login(DatasetGenerator.AGENT_PREFIX + n));
+        }
+        for (int n = 1; n <= Math.min(employees, MAX_EMPLOYEE_SESSIONS); n++) {
+            String token = login(DatasetGenerator.EMPLOYEE_PREFIX + n);
+            employeeTokens.add(token);
+            for (JsonNode ticket : getJson("/api/tickets/employee?size=50&total=none", token).path("content")) {
+                employeeTickets.add(new EmployeeTicket(token, UUID.fromString(ticket.path("id").asText())));
+            }
+        }
+        for (JsonNode ticket : getJson("/api/tickets/all?size=" + TICKET_POOL_SIZE + "&total=none",
+                agentTokens.get(0)).path("content")) {
+            ticketPool.add(UUID.fromString(ticket.path("id").asText()));
+        }
+        if (ticketPool.isEmpty() || employeeTickets.isEmpty()) {
+            throw new IllegalStateException("The dataset contains no tickets to run the workload against");
+        }
+        defineMix();
+        logger.info("Prepared {} agent and {} employee sessions and {} tickets", agentTokens.size(),
+                employeeTokens.size(), ticketPool.size());
+    }
+
+    /**
+     * Requests one page of each listing that maps associated entities (tickets with their users, comments with
+     * their authors, audit logs with their users) and asserts its SQL statement budget, so that an N+1 query fails
+     * the run before any load is measured.
+     *
+     * @throws AssertionError if a listing runs more statements than its budget
+     */
+    void checkStatementBudgets() throws IOException, InterruptedException {
+        UUID ticketId = ticketPool.get(0);
+        String agentToken = agentTokens.get(0);
+        Map<String, String> listings = new LinkedHashMap<>();
+        listings.put("/api/tickets/all?size=20", agentToken);
+        listings.put("/api/tickets/employee?size=20", employeeTickets.get(0).token());
+        listings.put("/api/tickets/" + ticketId + "/comments?size=20", agentToken);
+        listings.put("/api/logs?size=20", adminToken);
+        listings.put("/api/logs/ticket/" + ticketId + "?size=20", adminToken);
+        for (Map.Entry<String, String> listing : listings.entrySet()) {
+            HttpResponse<Void> response = client.send(get(listing.getKey(), listing.getValue()),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + listing.getKey() + " failed with status "
+                        + response.statusCode());
+            }
+            HttpHeaders headers = new HttpHeaders();
+            response.headers().map().forEach(headers::addAll);
+            try {
+                SqlStatementBudget.assertWithin(LISTING_STATEMENT_BUDGET, headers);
+            } catch (AssertionError e) {
+                throw new AssertionError("GET " + listing.getKey() + ": " + e.getMessage(), e);
+            }
+        }
+        logger.info("{} listings ran within {} SQL statements each", listings.size(), LISTING_STATEMENT_BUDGET);
+    }
+
+    private void defineMix() {
+        add("GET /api/tickets/employee", 15, random ->
+                get("/api/tickets/employee?page=" + random.nextInt(3), pick(random, employeeTokens)));
+        add("GET /api/tickets/employee/{id}", 15, random -> {
+            EmployeeTicket ticket = pick(random, employeeTickets);
+            return get("/api/tickets/employee/" + ticket.ticketId(), ticket.token());
+        });
+        add("POST /api/tickets/create", 5, random -> post("/api/tickets/create", pick(random, employeeTokens),
+                "{\"title\":\"Load test ticket\",\"description\":\"Created by the load-test workload driver.\","
+                        + "\"priority\":\"MEDIUM\",\"category\":\"SOFTWARE\"}"));
+        add("GET /api/tickets/all", 10, random ->
+                get("/api/tickets/all?page=" + random.nextInt(10), pick(random, agentTokens)));
+        add("GET /api/tickets/search", 10, random ->
+                get("/api/tickets/search?size=20&status=" + STATUSES[random.nextInt(STATUSES.length)],
+                        pick(random, agentTokens)));
+        add("PUT /api/tickets/{id}/status", 5, random -> HttpRequest.newBuilder(
+                        uri("/api/tickets/" + pick(random, ticketPool) + "/status"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + pick(random, agentTokens))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(
+                        "{\"status\":\"" + STATUSES[1 + random.nextInt(STATUSES.length - 1)] + "\"}"))
+                .build());
+        add("GET /api/tickets/{id}/comments", 15, random ->
+                get("/api/tickets/" + pick(random, ticketPool) + "/comments", pick(random, agentTokens)));
+        add("POST /api/tickets/{id}/comments", 10, random ->
+                post("/api/tickets/" + pick(random, ticketPool) + "/comments", pick(random, agentTokens),
+                        "{\"text\":\"Looked into it, waiting for the user to confirm.\"}"));
+        add("GET /api/logs/ticket/{id}", 10, random ->
+                get("/api/logs/ticket/" + pick(random, ticketPool), adminToken));
+        add("GET /api/logs", 5, random -> get("/api/logs?page=" + random.nextInt(10), adminToken));
+    }
+
+    private void add(String endpoint, int weight, Function<Random, HttpRequest> request) {
+        operations.add(new Operation(endpoint, weight, request));
+        recorders.put(endpoint, new LatencyRecorder(endpoint));
+        totalWeight += weight;
+    }
+
+    /**
+     * Runs the workload. Requests due during the warm-up are sent but not recorded.
+     *
+     * @param requestsPerSecond the target rate
+     * @param warmup            how long to run before recording
+     * @param duration          how long to record
+     * @return the summary of every endpoint, followed by the summary of all requests
+     */
+    List<LatencyRecorder.Summary> run(double requestsPerSecond, Duration warmup, Duration duration)
+            throws InterruptedException {
+        long interval = (long) (1e9 / requestsPerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        Random random = new Random();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + i * interval;
+                if (due >= end) {
+                    break;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = pick(random);
+                boolean measured = due >= measureFrom;
+                executor.execute(() -> execute(operation, due, measured));
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+                logger.warn("Requests still in flight after the workload ended");
+            }
+        }
+        List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+        for (LatencyRecorder recorder : recorders.values()) {
+            summaries.add(recorder.summarize(duration.toNanos()));
+        }
+        summaries.add(overall.summarize(duration.toNanos()));
+        return summaries;
+    }
+
+    private void execute(Operation operation, long due, boolean measured) {
+        boolean success;
+        try {
+            HttpResponse<Void> response = client.send(operation.request().apply(ThreadLocalRandom.current()),
+                    HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measured) {
+            long latency = System.nanoTime() - due;
+            recorders.get(operation.endpoint()).record(latency, success);
+            overall.record(latency, success);
+        }
+    }
+
+    private Operation pick(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            value -= operation.weight();
+            if (value < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", password));
+        HttpResponse<String> response = client.send(post("/api/auth/login", null, body),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + username + " failed with status " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).path("accessToken").asText();
+    }
+
+    private JsonNode getJson(String path, String token) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get(path, token), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " failed with status " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
@@ -10,4 +10,7 @@ public class AuthResponseDTO {
     private UUID id;
     private String username;
     private String role;
+    private String accessToken;  // Send as "Authorization: Bearer <accessToken>" on subsequent requests
+    private String tokenType;
+    private long expiresIn;      // Seconds until the access token expires
 }
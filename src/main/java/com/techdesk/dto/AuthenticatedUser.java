@@ -0,0 +1,15 @@
+package com.techdesk.dto;
+
+import com.techdesk.entities.enums.Role;
+
+import java.util.UUID;
+
+/**
+ * The caller of a request, as established by its access token (or, for legacy clients, its user id parameter).
+ *
+ * @param id       the identifier of the user
+ * @param username the username of the user
+ * @param role     the role of the user
+ */
+public record AuthenticatedUser(UUID id, String username, Role role) {
+}
@@ -0,0 +1,32 @@
+package com.techdesk.dto;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class BulkTicketResultDTO {
+    private int index;                  // Position of the item in the request
+    private UUID ticketId;
+    private boolean success;
+    private TicketResponseDTO ticket;   // Set for successfully created tickets
+    private String error;               // Set when the item was rejected
+
+    public static BulkTicketResultDTO success(int index, TicketResponseDTO ticket) {
+        BulkTicketResultDTO result = new BulkTicketResultDTO();
+        result.setIndex(index);
+        result.setTicketId(ticket.getId());
+        result.setSuccess(true);
+        result.setTicket(ticket);
+        return result;
+    }
+
+    public static BulkTicketResultDTO failure(int index, UUID ticketId, String error) {
+        BulkTicketResultDTO result = new BulkTicketResultDTO();
+        result.setIndex(index);
+        result.setTicketId(ticketId);
+        result.setSuccess(false);
+        result.setError(error);
+        return result;
+    }
+}
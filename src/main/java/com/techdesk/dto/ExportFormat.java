@@ -0,0 +1,53 @@
+package com.techdesk.dto;
+
+import java.util.Locale;
+
+/**
+ * File format of a streamed export.
+ */
+public enum ExportFormat {
+
+    /**
+     * Comma-separated values with a header line, quoted as described in RFC 4180.
+     */
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    /**
+     * Newline-delimited JSON, one object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parses a format case-insensitively.
+     *
+     * @param value the format name, {@code csv} or {@code ndjson}
+     * @return the parsed format, or {@link #CSV} if the value is null or blank
+     * @throws IllegalArgumentException if the value is not a known format
+     */
+    public static ExportFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format: " + value + " (expected csv or ndjson)");
+        }
+    }
+}
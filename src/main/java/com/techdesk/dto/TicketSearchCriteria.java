@@ -0,0 +1,21 @@
+package com.techdesk.dto;
+
+import lombok.Data;
+
+/**
+ * Optional filters of the ticket search, bound from request parameters. Every value is a string so that malformed
+ * input is reported by {@link com.techdesk.utils.TicketSearchUtil} with a readable message.
+ */
+@Data
+public class TicketSearchCriteria {
+    private String ticketId;
+    private String status;
+    private String priority;
+    private String category;
+    private String assignedToId;
+    private String createdById;
+    private String createdFrom;     // ISO date or date-time, inclusive lower bound
+    private String createdTo;       // ISO date or date-time, exclusive upper bound
+    private String updatedFrom;
+    private String updatedTo;
+}
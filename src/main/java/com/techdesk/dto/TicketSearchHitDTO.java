@@ -0,0 +1,13 @@
+package com.techdesk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchHitDTO {
+    private TicketResponseDTO ticket;
+    private double score;       // Relevance of the ticket to the query; higher is better
+}
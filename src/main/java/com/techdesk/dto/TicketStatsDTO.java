@@ -0,0 +1,24 @@
+package com.techdesk.dto;
+
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketStatsDTO {
+    private long total;
+    private Map<TicketStatus, Long> byStatus;
+    private Map<TicketPriority, Long> byPriority;
+    private Map<TicketCategory, Long> byCategory;
+    private Map<UUID, Map<TicketStatus, Long>> byAssignee;  // Tickets per status of each agent with tickets
+    private LocalDateTime reconciledAt;                    // Last time the counts were recomputed from the database
+}
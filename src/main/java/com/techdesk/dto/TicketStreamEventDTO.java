@@ -0,0 +1,30 @@
+package com.techdesk.dto;
+
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketStreamEventDTO {
+    public static final String TICKET_CREATED = "ticket-created";
+    public static final String STATUS_CHANGED = "status-changed";
+    public static final String COMMENT_ADDED = "comment-added";
+
+    private String type;                    // One of the constants above, also used as the SSE event name
+    private UUID ticketId;
+    private String title;                   // Null for comment-added
+    private TicketStatus status;            // Null for comment-added
+    private TicketStatus previousStatus;    // Only set for status-changed
+    private TicketPriority priority;        // Null for comment-added
+    private UUID assignedToId;
+    private UUID commentId;                 // Only set for comment-added
+    private String commentText;             // Only set for comment-added
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,56 @@
+package com.techdesk.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A page that also reports how its total was determined, serialized as {@code totalMode}.
+ *
+ * @param <T> the type of the page content
+ */
+public class TotalAwarePage<T> extends PageImpl<T> {
+
+    private final TotalCountMode totalMode;
+
+    public TotalAwarePage(List<T> content, Pageable pageable, long total, TotalCountMode totalMode) {
+        super(content, pageable, total);
+        this.totalMode = totalMode;
+    }
+
+    /**
+     * @return {@link TotalCountMode#EXACT} if the total was counted or is implied by the page, otherwise the mode
+     * that was applied
+     */
+    public TotalCountMode getTotalMode() {
+        return totalMode;
+    }
+
+    /**
+     * Replaces the content of this page, keeping its pagination and total.
+     *
+     * @param content the new content, in the same order
+     * @return a page with the given content
+     */
+    public <U> TotalAwarePage<U> withContent(List<U> content) {
+        return new TotalAwarePage<>(content, getPageable(), getTotalElements(), totalMode);
+    }
+
+    @Override
+    public <U> TotalAwarePage<U> map(Function<? super T, ? extends U> converter) {
+        return withContent(getContent().stream().<U>map(converter).toList());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof TotalAwarePage<?> other && totalMode == other.totalMode && super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), totalMode);
+    }
+}
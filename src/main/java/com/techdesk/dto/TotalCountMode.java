@@ -0,0 +1,42 @@
+package com.techdesk.dto;
+
+import java.util.Locale;
+
+/**
+ * How the total number of elements of a paged response is determined.
+ */
+public enum TotalCountMode {
+
+    /**
+     * The total is counted by the database, unless the page itself shows where the result ends.
+     */
+    EXACT,
+
+    /**
+     * A recently counted total is reused if one is cached; otherwise the total is counted.
+     */
+    ESTIMATED,
+
+    /**
+     * No total is counted; the reported total only tells whether a following page exists.
+     */
+    NONE;
+
+    /**
+     * Parses a mode case-insensitively.
+     *
+     * @param value the mode name, e.g. {@code exact}, {@code estimated} or {@code none}
+     * @return the parsed mode, or null if the value is null or blank
+     * @throws IllegalArgumentException if the value is not a known mode
+     */
+    public static TotalCountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid total mode: " + value + " (expected exact, estimated or none)");
+        }
+    }
+}
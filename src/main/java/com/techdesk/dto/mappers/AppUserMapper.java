@@ -5,9 +5,13 @@ import com.techdesk.dto.AuthResponseDTO;
 import com.techdesk.dto.RegisterRequestDTO;
 import com.techdesk.entities.AppUser;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface AppUserMapper {
     AppUser toEntity(RegisterRequestDTO dto);
+    @Mapping(target = "accessToken", ignore = true)
+    @Mapping(target = "tokenType", ignore = true)
+    @Mapping(target = "expiresIn", ignore = true)
     AuthResponseDTO toResponseDto(AppUser appUser);
 }
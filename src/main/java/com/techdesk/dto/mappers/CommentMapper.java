@@ -3,6 +3,7 @@ package com.techdesk.dto.mappers;
 import com.techdesk.dto.CommentRequestDTO;
 import com.techdesk.dto.CommentResponseDTO;
 import com.techdesk.entities.Comment;
+import com.techdesk.repositories.projections.CommentView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -13,4 +14,12 @@ public interface CommentMapper {
 
     @Mapping(source = "user.username", target = "authorUsername")
     CommentResponseDTO commentToCommentResponseDTO(Comment comment);
+
+    @Mapping(target = "id", source = "comment.id")
+    @Mapping(target = "text", source = "comment.text")
+    @Mapping(target = "createdAt", source = "comment.createdAt")
+    @Mapping(target = "authorUsername", source = "authorUsername")
+    CommentResponseDTO commentToCommentResponseDTO(Comment comment, String authorUsername);
+
+    CommentResponseDTO commentViewToCommentResponseDTO(CommentView commentView);
 }
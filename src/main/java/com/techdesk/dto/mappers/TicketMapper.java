@@ -4,10 +4,19 @@ package com.techdesk.dto.mappers;
 import com.techdesk.dto.CreateTicketDTO;
 import com.techdesk.dto.TicketResponseDTO;
 import com.techdesk.entities.Ticket;
+import com.techdesk.repositories.projections.TicketView;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface TicketMapper {
     Ticket createTicketDTOToTicket(CreateTicketDTO dto);
     TicketResponseDTO ticketToTicketResponseDTO(Ticket ticket);
+
+    // Leaves the lazy comments collection untouched; list endpoints attach comments in one batched query.
+    @Mapping(target = "comments", ignore = true)
+    TicketResponseDTO ticketToTicketSummaryDTO(Ticket ticket);
+
+    @Mapping(target = "comments", ignore = true)
+    TicketResponseDTO ticketViewToTicketResponseDTO(TicketView ticketView);
 }
\ No newline at end of file
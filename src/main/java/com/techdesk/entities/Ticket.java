@@ -16,7 +16,17 @@ import java.util.UUID;
 
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        // Keyset order of the cursor-based listings
+        @Index(name = "idx_tickets_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tickets_created_by_created_at", columnList = "created_by, created_at, id"),
+        // Ticket search: one index per leading filter, ending with the default newest-first order
+        @Index(name = "idx_tickets_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_tickets_priority_created_at", columnList = "priority, created_at, id"),
+        @Index(name = "idx_tickets_category_created_at", columnList = "category, created_at, id"),
+        @Index(name = "idx_tickets_assigned_to_status", columnList = "assigned_to, status, created_at, id"),
+        @Index(name = "idx_tickets_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -63,6 +73,13 @@ public class Ticket {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Set only through TicketRepository.markResponseBreached and markResolutionBreached
+    @Column(name = "response_breached_at", insertable = false, updatable = false)
+    private LocalDateTime responseBreachedAt;
+
+    @Column(name = "resolution_breached_at", insertable = false, updatable = false)
+    private LocalDateTime resolutionBreachedAt;
+
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Comment> comments;
 
@@ -14,7 +14,9 @@ import java.util.UUID;
 
 
 @Entity
-@Table(name = "ticket_audit_logs")
+@Table(name = "ticket_audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_timestamp_id", columnList = "timestamp, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,8 +33,11 @@ public class TicketAuditLog {
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Ticket ticket;
 
+    /**
+     * The user who made the change, or null for entries written by the application itself, such as SLA breaches.
+     */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "changed_by", nullable = false)
+    @JoinColumn(name = "changed_by")
     private AppUser changedBy;
 
     @Enumerated(EnumType.STRING)
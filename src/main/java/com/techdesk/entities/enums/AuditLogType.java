@@ -3,5 +3,6 @@ package com.techdesk.entities.enums;
 
 public enum AuditLogType {
     STATUS_CHANGE,
-    COMMENT_ADDED
+    COMMENT_ADDED,
+    SLA_BREACH
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.techdesk.entities.enums;
+
+public enum SlaKind {
+    RESPONSE,
+    RESOLUTION
+}
@@ -0,0 +1,19 @@
+package com.techdesk.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when a support agent adds a comment to a ticket.
+ *
+ * @param ticketId           the ticket the comment was added to
+ * @param ticketCreatedById  the employee who created the ticket
+ * @param ticketAssignedToId the support agent the ticket is assigned to, or null
+ * @param commentId          the identifier of the new comment
+ * @param authorId           the support agent who wrote the comment
+ * @param text               the comment text
+ * @param createdAt          when the comment was written
+ */
+public record CommentAddedEvent(UUID ticketId, UUID ticketCreatedById, UUID ticketAssignedToId, UUID commentId,
+                                UUID authorId, String text, LocalDateTime createdAt) {
+}
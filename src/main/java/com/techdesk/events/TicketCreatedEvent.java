@@ -0,0 +1,9 @@
+package com.techdesk.events;
+
+/**
+ * Published when a ticket has been created and assigned.
+ *
+ * @param ticket the ticket state right after creation
+ */
+public record TicketCreatedEvent(TicketSnapshot ticket) {
+}
@@ -0,0 +1,9 @@
+package com.techdesk.events;
+
+/**
+ * Published when a ticket is deleted, together with its comments and audit logs.
+ *
+ * @param ticket the ticket state at the time of deletion
+ */
+public record TicketDeletedEvent(TicketSnapshot ticket) {
+}
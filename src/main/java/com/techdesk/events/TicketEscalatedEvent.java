@@ -0,0 +1,17 @@
+package com.techdesk.events;
+
+import com.techdesk.entities.enums.SlaKind;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Published when a ticket misses one of its SLA targets.
+ *
+ * @param ticket   the ticket state at the time of the breach
+ * @param kind     the target that was missed
+ * @param target   the time the ticket had to meet the target, counted from its creation
+ * @param deadline the moment the target was missed
+ */
+public record TicketEscalatedEvent(TicketSnapshot ticket, SlaKind kind, Duration target, LocalDateTime deadline) {
+}
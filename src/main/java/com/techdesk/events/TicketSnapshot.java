@@ -0,0 +1,57 @@
+package com.techdesk.events;
+
+import com.techdesk.entities.Ticket;
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.repositories.projections.TicketView;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a ticket's state carried by ticket events.
+ * <p>
+ * Listeners often run after the transaction that produced the event has committed, when the originating
+ * {@link Ticket} entity is detached; the snapshot keeps only plain values so it is safe to read at any time.
+ * </p>
+ */
+public record TicketSnapshot(UUID id,
+                             String title,
+                             String description,
+                             TicketStatus status,
+                             TicketPriority priority,
+                             TicketCategory category,
+                             UUID createdById,
+                             UUID assignedToId,
+                             LocalDateTime createdAt,
+                             LocalDateTime updatedAt) {
+
+    public static TicketSnapshot of(Ticket ticket) {
+        return new TicketSnapshot(
+                ticket.getId(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getStatus(),
+                ticket.getPriority(),
+                ticket.getCategory(),
+                ticket.getCreatedBy() == null ? null : ticket.getCreatedBy().getId(),
+                ticket.getAssignedTo() == null ? null : ticket.getAssignedTo().getId(),
+                ticket.getCreatedAt(),
+                ticket.getUpdatedAt());
+    }
+
+    public static TicketSnapshot of(TicketView ticket) {
+        return new TicketSnapshot(
+                ticket.getId(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getStatus(),
+                ticket.getPriority(),
+                ticket.getCategory(),
+                ticket.getCreatedById(),
+                ticket.getAssignedToId(),
+                ticket.getCreatedAt(),
+                ticket.getUpdatedAt());
+    }
+}
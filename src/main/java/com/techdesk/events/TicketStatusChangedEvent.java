@@ -0,0 +1,15 @@
+package com.techdesk.events;
+
+import com.techdesk.entities.enums.TicketStatus;
+
+import java.util.UUID;
+
+/**
+ * Published when an IT support agent changes the status of a ticket.
+ *
+ * @param ticket      the ticket state after the change
+ * @param oldStatus   the status before the change
+ * @param changedById the identifier of the user who made the change
+ */
+public record TicketStatusChangedEvent(TicketSnapshot ticket, TicketStatus oldStatus, UUID changedById) {
+}
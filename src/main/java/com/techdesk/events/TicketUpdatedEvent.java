@@ -0,0 +1,10 @@
+package com.techdesk.events;
+
+/**
+ * Published when the creator of a ticket edits its title, description, priority or category.
+ *
+ * @param ticket   the ticket state after the update
+ * @param previous the ticket state before the update
+ */
+public record TicketUpdatedEvent(TicketSnapshot ticket, TicketSnapshot previous) {
+}
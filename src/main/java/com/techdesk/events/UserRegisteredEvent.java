@@ -0,0 +1,15 @@
+package com.techdesk.events;
+
+import com.techdesk.entities.enums.Role;
+
+import java.util.UUID;
+
+/**
+ * Published when a new user account is registered.
+ *
+ * @param userId   the identifier of the new user
+ * @param username the username of the new user
+ * @param role     the role granted to the new user
+ */
+public record UserRegisteredEvent(UUID userId, String username, Role role) {
+}
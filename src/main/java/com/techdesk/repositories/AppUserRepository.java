@@ -3,6 +3,10 @@ package com.techdesk.repositories;
 import com.techdesk.entities.AppUser;
 import com.techdesk.entities.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,5 +15,13 @@ import java.util.UUID;
 public interface AppUserRepository extends JpaRepository<AppUser, UUID> {
     Optional<AppUser> findByUsername(String username);
     List<AppUser> findByRole(Role role);
+
+    @Query("select u.id from AppUser u where u.role = :role")
+    List<UUID> findIdsByRole(@Param("role") Role role);
     Optional<AppUser> findById(UUID id);
+
+    @Transactional
+    @Modifying
+    @Query("update AppUser u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
 }
@@ -2,16 +2,64 @@ package com.techdesk.repositories;
 
 import com.techdesk.entities.TicketAuditLog;
 import com.techdesk.entities.Ticket;
+import com.techdesk.repositories.projections.AuditLogExportView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface AuditLogRepository extends JpaRepository<TicketAuditLog, UUID> {
     Page<TicketAuditLog> findByTicket(Ticket ticket, Pageable pageable);
 
-    void deleteByTicket(Ticket ticket);
+    Slice<TicketAuditLog> findSliceByTicket(Ticket ticket, Pageable pageable);
+
+    long countByTicket(Ticket ticket);
+
+    Slice<TicketAuditLog> findSliceBy(Pageable pageable);
+
+    /**
+     * Streams the audit logs written in the given optional time range, oldest first, joined to the username of the
+     * user who made the change. The stream must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select l.id as id, l.ticket.id as ticketId, u.id as changedById, u.username as changedByUsername, "
+            + "l.logType as logType, l.description as description, l.timestamp as timestamp "
+            + "from TicketAuditLog l left join l.changedBy u "
+            + "where (:from is null or l.timestamp >= :from) and (:to is null or l.timestamp < :to) "
+            + "order by l.timestamp, l.id")
+    Stream<AuditLogExportView> streamExportViews(@Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    /**
+     * Reads the oldest audit logs written before the cutoff, in the same shape and order as the export.
+     */
+    @Query("select l.id as id, l.ticket.id as ticketId, u.id as changedById, u.username as changedByUsername, "
+            + "l.logType as logType, l.description as description, l.timestamp as timestamp "
+            + "from TicketAuditLog l left join l.changedBy u "
+            + "where l.timestamp < :cutoff order by l.timestamp, l.id")
+    List<AuditLogExportView> findExpired(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("delete from TicketAuditLog l where l.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from TicketAuditLog l where l.ticket.id in :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
 
 }
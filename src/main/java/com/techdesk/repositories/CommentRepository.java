@@ -2,12 +2,37 @@ package com.techdesk.repositories;
 
 import com.techdesk.entities.Comment;
 import com.techdesk.entities.Ticket;
+import com.techdesk.repositories.projections.CommentTextView;
+import com.techdesk.repositories.projections.CommentView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
     Page<Comment> findByTicket(Ticket ticket, Pageable pageable);
+
+    Slice<Comment> findSliceByTicket(Ticket ticket, Pageable pageable);
+
+    long countByTicket(Ticket ticket);
+
+    @Query("select c.ticket.id as ticketId, c.id as id, c.text as text, c.createdAt as createdAt, "
+            + "u.username as authorUsername from Comment c join c.user u "
+            + "where c.ticket.id in :ticketIds order by c.createdAt asc")
+    List<CommentView> findViewsByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
+
+    @Query("select c.ticket.id as ticketId, c.id as id, c.text as text from Comment c "
+            + "where c.id > :afterId order by c.id")
+    List<CommentTextView> findTextViewsAfterId(@Param("afterId") UUID afterId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Comment c where c.ticket.id in :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<UUID> ticketIds);
 }
@@ -1,23 +1,115 @@
 package com.techdesk.repositories;
 
-import com.techdesk.entities.AppUser;
 import com.techdesk.entities.Ticket;
 import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.repositories.projections.AgentLoadView;
+import com.techdesk.repositories.projections.TicketCountView;
+import com.techdesk.repositories.projections.TicketSlaView;
+import com.techdesk.repositories.projections.TicketView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, JpaSpecificationExecutor<Ticket>,
+        TicketSearchRepository {
+
+    String TICKET_VIEW_SELECT = "select t.id as id, t.title as title, t.description as description, "
+            + "t.priority as priority, t.category as category, t.status as status, t.createdAt as createdAt, "
+            + "t.updatedAt as updatedAt, t.createdBy.id as createdById, t.assignedTo.id as assignedToId "
+            + "from Ticket t";
 
-public interface TicketRepository extends JpaRepository<Ticket, UUID>, JpaSpecificationExecutor<Ticket> {
     Page<Ticket> findByCreatedById(UUID createdById, Pageable pageable);
 
-    int countByAssignedToAndStatusNotIn(AppUser assignedTo, List<TicketStatus> statuses);
+    @Query("select t.assignedTo.id as agentId, count(t) as openTickets from Ticket t "
+            + "where t.assignedTo is not null and t.status not in :closedStatuses group by t.assignedTo.id")
+    List<AgentLoadView> countOpenTicketsByAssignee(@Param("closedStatuses") Collection<TicketStatus> closedStatuses);
+
+    @Query("select t.status as status, t.priority as priority, t.category as category, "
+            + "t.assignedTo.id as assigneeId, count(t) as tickets from Ticket t "
+            + "group by t.status, t.priority, t.category, t.assignedTo.id")
+    List<TicketCountView> countByDimensions();
+
+    @Query("select t.id as id, t.status as status, t.priority as priority, t.createdAt as createdAt, "
+            + "t.responseBreachedAt as responseBreachedAt, t.resolutionBreachedAt as resolutionBreachedAt "
+            + "from Ticket t where t.status not in :closedStatuses")
+    List<TicketSlaView> findSlaViews(@Param("closedStatuses") Collection<TicketStatus> closedStatuses);
+
+    /**
+     * Records that the ticket missed its response target, unless that is already recorded.
+     *
+     * @return 1 if the breach was recorded by this call, 0 otherwise
+     */
+    @Modifying
+    @Query("update Ticket t set t.responseBreachedAt = :breachedAt "
+            + "where t.id = :id and t.responseBreachedAt is null")
+    int markResponseBreached(@Param("id") UUID id, @Param("breachedAt") LocalDateTime breachedAt);
+
+    /**
+     * Records that the ticket missed its resolution target, unless that is already recorded.
+     *
+     * @return 1 if the breach was recorded by this call, 0 otherwise
+     */
+    @Modifying
+    @Query("update Ticket t set t.resolutionBreachedAt = :breachedAt "
+            + "where t.id = :id and t.resolutionBreachedAt is null")
+    int markResolutionBreached(@Param("id") UUID id, @Param("breachedAt") LocalDateTime breachedAt);
 
     Page<Ticket> findByStatus(TicketStatus status, Pageable pageable);
 
     Optional<Ticket> findById(UUID uuid);
+
+    @Query(TICKET_VIEW_SELECT + " where t.id = :id")
+    Optional<TicketView> findViewById(@Param("id") UUID id);
+
+    @Query(value = TICKET_VIEW_SELECT,
+            countQuery = "select count(t) from Ticket t")
+    Page<TicketView> findAllViews(Pageable pageable);
+
+    @Query(TICKET_VIEW_SELECT)
+    Slice<TicketView> sliceAllViews(Pageable pageable);
+
+    @Query(value = TICKET_VIEW_SELECT + " where t.createdBy.id = :createdById",
+            countQuery = "select count(t) from Ticket t where t.createdBy.id = :createdById")
+    Page<TicketView> findViewsByCreatedById(@Param("createdById") UUID createdById, Pageable pageable);
+
+    @Query(TICKET_VIEW_SELECT + " where t.createdBy.id = :createdById")
+    Slice<TicketView> sliceViewsByCreatedById(@Param("createdById") UUID createdById, Pageable pageable);
+
+    long countByCreatedById(UUID createdById);
+
+    @Query(TICKET_VIEW_SELECT + " where t.id > :afterId order by t.id")
+    List<TicketView> findViewsAfterId(@Param("afterId") UUID afterId, Pageable pageable);
+
+    @Query(TICKET_VIEW_SELECT + " where t.id in :ids")
+    List<TicketView> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(TICKET_VIEW_SELECT + " where (:status is null or t.status = :status) "
+            + "and (:createdFrom is null or t.createdAt >= :createdFrom) "
+            + "and (:createdTo is null or t.createdAt < :createdTo) order by t.createdAt, t.id")
+    Stream<TicketView> streamViews(@Param("status") TicketStatus status,
+                                   @Param("createdFrom") LocalDateTime createdFrom,
+                                   @Param("createdTo") LocalDateTime createdTo);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Ticket t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,22 @@
+package com.techdesk.repositories;
+
+import com.techdesk.entities.Ticket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Custom repository fragment for ticket searches that do not need a total count.
+ */
+public interface TicketSearchRepository {
+
+    /**
+     * Returns one slice of the tickets matching the specification. Fetches one row more than the page size to
+     * find out whether a following slice exists, instead of running a COUNT query.
+     *
+     * @param spec the filters to apply
+     * @param pageable the slice to fetch and its sort order
+     * @return the matching tickets of the requested slice
+     */
+    Slice<Ticket> findSlice(Specification<Ticket> spec, Pageable pageable);
+}
@@ -0,0 +1,11 @@
+package com.techdesk.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * Number of open tickets assigned to one agent, as returned by a grouped count over {@code tickets}.
+ */
+public interface AgentLoadView {
+    UUID getAgentId();
+    Long getOpenTickets();
+}
@@ -0,0 +1,20 @@
+package com.techdesk.repositories.projections;
+
+import com.techdesk.entities.enums.AuditLogType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of an audit log row joined to the user who made the change, as written by the audit export
+ * and the audit archive.
+ */
+public interface AuditLogExportView {
+    UUID getId();
+    UUID getTicketId();
+    UUID getChangedById();
+    String getChangedByUsername();
+    AuditLogType getLogType();
+    String getDescription();
+    LocalDateTime getTimestamp();
+}
@@ -0,0 +1,12 @@
+package com.techdesk.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a comment's text, keyed by the ticket it belongs to.
+ */
+public interface CommentTextView {
+    UUID getTicketId();
+    UUID getId();
+    String getText();
+}
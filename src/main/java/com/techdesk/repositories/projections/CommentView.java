@@ -0,0 +1,15 @@
+package com.techdesk.repositories.projections;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a comment joined to its author's username, keyed by the ticket it belongs to.
+ */
+public interface CommentView {
+    UUID getTicketId();
+    UUID getId();
+    String getText();
+    LocalDateTime getCreatedAt();
+    String getAuthorUsername();
+}
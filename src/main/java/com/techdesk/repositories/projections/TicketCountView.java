@@ -0,0 +1,19 @@
+package com.techdesk.repositories.projections;
+
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+
+import java.util.UUID;
+
+/**
+ * Number of tickets with one combination of status, priority, category and assignee, as returned by a grouped
+ * count over {@code tickets}.
+ */
+public interface TicketCountView {
+    TicketStatus getStatus();
+    TicketPriority getPriority();
+    TicketCategory getCategory();
+    UUID getAssigneeId();
+    Long getTickets();
+}
@@ -0,0 +1,27 @@
+package com.techdesk.repositories.projections;
+
+import com.techdesk.entities.enums.SlaKind;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns of a ticket its SLA deadlines are computed from, and the targets it has already missed.
+ */
+public interface TicketSlaView {
+    UUID getId();
+    TicketStatus getStatus();
+    TicketPriority getPriority();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getResponseBreachedAt();
+    LocalDateTime getResolutionBreachedAt();
+
+    default boolean isBreached(SlaKind kind) {
+        return switch (kind) {
+            case RESPONSE -> getResponseBreachedAt() != null;
+            case RESOLUTION -> getResolutionBreachedAt() != null;
+        };
+    }
+}
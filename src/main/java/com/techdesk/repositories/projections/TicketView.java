@@ -0,0 +1,28 @@
+package com.techdesk.repositories.projections;
+
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of the {@code tickets} columns needed to build a {@link com.techdesk.dto.TicketResponseDTO}.
+ * <p>
+ * Queries returning this view select plain columns, including the creator and assignee foreign keys,
+ * so no {@link com.techdesk.entities.Ticket} or {@link com.techdesk.entities.AppUser} entity is ever hydrated.
+ * </p>
+ */
+public interface TicketView {
+    UUID getId();
+    String getTitle();
+    String getDescription();
+    TicketPriority getPriority();
+    TicketCategory getCategory();
+    TicketStatus getStatus();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    UUID getCreatedById();
+    UUID getAssignedToId();
+}
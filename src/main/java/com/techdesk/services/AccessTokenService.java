@@ -0,0 +1,38 @@
+package com.techdesk.services;
+
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.entities.AppUser;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Service interface for issuing and verifying access tokens.
+ *
+ * Tokens are self-contained: they carry the user's id, username and role and are signed by the server,
+ * so verifying one needs no database access.
+ */
+public interface AccessTokenService {
+
+    /**
+     * Issues an access token for the specified user.
+     *
+     * @param user the authenticated user
+     * @return the signed token, to be sent back as {@code Authorization: Bearer <token>}
+     */
+    String issueToken(AppUser user);
+
+    /**
+     * Verifies an access token.
+     *
+     * @param token the token presented by the client
+     * @return the user the token was issued to, or an empty Optional if the token is malformed, has an invalid
+     * signature or has expired
+     */
+    Optional<AuthenticatedUser> verifyToken(String token);
+
+    /**
+     * @return how long issued tokens remain valid
+     */
+    Duration getTokenTtl();
+}
@@ -0,0 +1,33 @@
+package com.techdesk.services;
+
+import com.techdesk.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for exporting audit logs in bulk, e.g. for compliance extracts.
+ *
+ * Logs are read through a single forward-only query and written as they arrive, so memory use does not depend on
+ * the size of the exported range.
+ */
+public interface AuditLogExportService {
+
+    /**
+     * Writes all audit logs in the given time range, oldest first.
+     *
+     * The range is parsed and checked by the caller before the response is committed, as errors raised while
+     * streaming can no longer change the response status.
+     *
+     * @param from the inclusive start of the range, or null for no lower bound
+     * @param to the exclusive end of the range, or null for no upper bound
+     * @param format the output format
+     * @param gzip whether to gzip-compress the output
+     * @param out the stream to write to; it is flushed but not closed
+     * @return the number of exported audit logs
+     * @throws IOException if writing to the stream fails, for instance because the client disconnected
+     */
+    long exportLogs(LocalDateTime from, LocalDateTime to, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException;
+}
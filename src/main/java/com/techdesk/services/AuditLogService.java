@@ -1,11 +1,17 @@
 package com.techdesk.services;
 
+import com.techdesk.dto.TotalCountMode;
 import com.techdesk.entities.Ticket;
 import com.techdesk.entities.AppUser;
 import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.SlaKind;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+
 /**
  * Service interface for audit logging related to ticket changes.
  *
@@ -34,21 +40,34 @@ public interface AuditLogService {
     void logCommentAdded(Ticket ticket, AppUser changedBy, String commentText);
 
     /**
-     * Retrieves a paginated list of audit logs for the specified ticket.
+     * Logs that the specified ticket missed one of its SLA targets. The entry has no user.
+     *
+     * @param ticket the ticket that missed the target
+     * @param kind the target that was missed
+     * @param target the time the ticket had to meet the target, counted from its creation
+     */
+    void logSlaBreach(Ticket ticket, SlaKind kind, Duration target);
+
+    /**
+     * Retrieves a paginated list of audit logs for the specified ticket, newest first unless the pageable is
+     * sorted. Pages reaching past the logs still in the table continue with archived logs.
      *
      * @param ticket the ticket for which to retrieve audit logs
      * @param pageable pagination and sorting information
+     * @param totalMode how the total is determined, or null for the configured default
      * @return a page of TicketAuditLog objects for the given ticket
      */
-    Page<TicketAuditLog> getLogsForTicket(Ticket ticket, Pageable pageable);
+    Page<TicketAuditLog> getLogsForTicket(Ticket ticket, Pageable pageable, TotalCountMode totalMode);
 
     /**
-     * Retrieves a paginated list of all audit logs.
+     * Retrieves a paginated list of all audit logs, newest first unless the pageable is sorted. Pages reaching
+     * past the logs still in the table continue with archived logs.
      *
      * @param pageable pagination and sorting information
+     * @param totalMode how the total is determined, or null for the configured default
      * @return a page of all TicketAuditLog objects
      */
-    Page<TicketAuditLog> getAllLogs(Pageable pageable);
+    Page<TicketAuditLog> getAllLogs(Pageable pageable, TotalCountMode totalMode);
 
     /**
      * Deletes all audit logs associated with the specified ticket.
@@ -59,4 +78,12 @@ public interface AuditLogService {
      * @param ticket the ticket whose audit logs should be deleted
      */
     void deleteLogsForTicket(Ticket ticket);
+
+    /**
+     * Deletes all audit logs associated with the specified tickets with a single bulk statement.
+     *
+     * @param ticketIds the unique identifiers of the tickets whose audit logs should be deleted
+     * @return the number of deleted audit logs
+     */
+    int deleteLogsForTickets(Collection<UUID> ticketIds);
 }
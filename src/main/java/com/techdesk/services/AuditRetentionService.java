@@ -0,0 +1,19 @@
+package com.techdesk.services;
+
+/**
+ * Service interface for audit log retention.
+ *
+ * Audit logs older than the configured retention age are moved from the {@code ticket_audit_logs} table into
+ * compressed archive segments on local disk. Archived logs stay readable through {@link AuditLogService} and the
+ * audit export.
+ */
+public interface AuditRetentionService {
+
+    /**
+     * Moves every audit log older than the retention age into the archive, one chunk per segment.
+     * Does nothing when retention is disabled.
+     *
+     * @return the number of archived audit logs
+     */
+    int archiveExpiredLogs();
+}
@@ -16,7 +16,7 @@ public interface AuthService {
      * Authenticates a user based on the provided login credentials.
      *
      * @param loginRequest the login request containing username and password
-     * @return an AuthResponseDTO containing authentication details if login is successful
+     * @return an AuthResponseDTO containing the user details and an access token if login is successful
      * @throws com.techdesk.web.errors.InvalidCredentialsException if the provided credentials are invalid
      */
     AuthResponseDTO login(LoginRequestDTO loginRequest);
@@ -25,7 +25,7 @@ public interface AuthService {
      * Registers a new user using the provided registration details.
      *
      * @param registerRequest the registration request containing user details
-     * @return an AuthResponseDTO containing the details of the newly registered user
+     * @return an AuthResponseDTO containing the details of the newly registered user and an access token
      * @throws com.techdesk.web.errors.UserAlreadyExistsException if a user with the given username already exists
      */
     AuthResponseDTO register(RegisterRequestDTO registerRequest);
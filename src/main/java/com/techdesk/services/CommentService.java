@@ -1,10 +1,15 @@
 package com.techdesk.services;
 
+import com.techdesk.dto.AuthenticatedUser;
 import com.techdesk.dto.CommentRequestDTO;
 import com.techdesk.dto.CommentResponseDTO;
+import com.techdesk.dto.TotalCountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -19,23 +24,36 @@ public interface CommentService {
      *
      * @param ticketId the unique identifier of the ticket to which the comment is added
      * @param commentRequestDTO the data transfer object containing the comment details
-     * @param supportUserId the unique identifier of the support user adding the comment
+     * @param supportUser the authenticated support user adding the comment
      * @return a CommentResponseDTO representing the newly added comment
-     * @throws com.techdesk.web.errors.SupportUserNotFoundException if the support user is not found
      * @throws com.techdesk.web.errors.UnauthorizedAccessException if the user is not authorized to add comments
      * @throws com.techdesk.web.errors.TicketNotFoundException if the ticket is not found
      */
-    CommentResponseDTO addCommentToTicket(UUID ticketId, CommentRequestDTO commentRequestDTO, UUID supportUserId);
+    CommentResponseDTO addCommentToTicket(UUID ticketId, CommentRequestDTO commentRequestDTO,
+                                          AuthenticatedUser supportUser);
 
     /**
      * Retrieves a paginated list of comments for the specified ticket.
      *
      * @param ticketId the unique identifier of the ticket
      * @param pageable pagination and sorting information
+     * @param totalMode how the total is determined, or null for the configured default
      * @return a page of CommentResponseDTO objects associated with the ticket
      * @throws com.techdesk.web.errors.TicketNotFoundException if the ticket is not found
      */
-    Page<CommentResponseDTO> getCommentsForTicket(UUID ticketId, Pageable pageable);
+    Page<CommentResponseDTO> getCommentsForTicket(UUID ticketId, Pageable pageable, TotalCountMode totalMode);
+
+    /**
+     * Retrieves the comments of several tickets at once, grouped by ticket.
+     *
+     * Comments and their authors are loaded with one query per chunk of ticket ids, so decorating a page of
+     * tickets costs a fixed number of statements regardless of the page size.
+     *
+     * @param ticketIds the unique identifiers of the tickets
+     * @param maxPerTicket the maximum number of most recent comments kept per ticket, or 0 for no limit
+     * @return a map from each requested ticket id to its comments in creation order (empty if it has none)
+     */
+    Map<UUID, List<CommentResponseDTO>> getCommentsForTickets(Collection<UUID> ticketIds, int maxPerTicket);
 
     /**
      * Deletes the comment with the specified identifier.
@@ -46,4 +64,14 @@ public interface CommentService {
      * @param commentId the unique identifier of the comment to delete
      */
     void deleteComment(UUID commentId);
+
+    /**
+     * Deletes all comments of the specified tickets with a single bulk statement.
+     *
+     * Like {@link #deleteComment(UUID)}, this must run before the tickets themselves are deleted.
+     *
+     * @param ticketIds the unique identifiers of the tickets whose comments should be deleted
+     * @return the number of deleted comments
+     */
+    int deleteCommentsForTickets(Collection<UUID> ticketIds);
 }
@@ -0,0 +1,135 @@
+package com.techdesk.services.Impl;
+
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.entities.AppUser;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.services.AccessTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementation of the {@link AccessTokenService} interface.
+ * <p>
+ * A token is {@code base64url(payload) + "." + base64url(HMAC-SHA256(base64url(payload)))}, where the payload is
+ * {@code v1|userId|role|expiresAtEpochSeconds|username}. The key comes from {@code techdesk.auth.token-secret};
+ * if none is configured a random key is generated, so tokens do not survive a restart.
+ * </p>
+ */
+@Service
+public class AccessTokenServiceImpl implements AccessTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenServiceImpl.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration tokenTtl;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Constructs an {@code AccessTokenServiceImpl}.
+     *
+     * @param secret   the signing secret, at least 32 bytes; blank to generate a random one
+     * @param tokenTtl how long issued tokens remain valid
+     * @throws IllegalArgumentException if the secret is too short
+     */
+    public AccessTokenServiceImpl(@Value("${techdesk.auth.token-secret:}") String secret,
+                                  @Value("${techdesk.auth.token-ttl:PT8H}") Duration tokenTtl) {
+        byte[] secretBytes;
+        if (secret == null || secret.isBlank()) {
+            secretBytes = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(secretBytes);
+            logger.warn("techdesk.auth.token-secret is not set; access tokens are signed with a random key "
+                    + "and will not survive a restart");
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (secretBytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalArgumentException(
+                        "techdesk.auth.token-secret must be at least " + MIN_SECRET_BYTES + " bytes");
+            }
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.tokenTtl = tokenTtl;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String issueToken(AppUser user) {
+        long expiresAt = Instant.now().plus(tokenTtl).getEpochSecond();
+        String payload = String.join("|", VERSION, user.getId().toString(), user.getRole().name(),
+                Long.toString(expiresAt), user.getUsername());
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AuthenticatedUser> verifyToken(String token) {
+        int separator = token == null ? -1 : token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        String encodedPayload = token.substring(0, separator);
+        try {
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(encodedPayload), signature)) {
+                return Optional.empty();
+            }
+            String[] fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split("\\|", 5);
+            if (fields.length != 5 || !VERSION.equals(fields[0])) {
+                return Optional.empty();
+            }
+            if (Instant.now().getEpochSecond() >= Long.parseLong(fields[3])) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(UUID.fromString(fields[1]), fields[4], Role.valueOf(fields[2])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Duration getTokenTtl() {
+        return tokenTtl;
+    }
+
+    private byte[] sign(String encodedPayload) {
+        return macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
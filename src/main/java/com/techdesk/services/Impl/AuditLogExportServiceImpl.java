@@ -0,0 +1,219 @@
+package com.techdesk.services.Impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techdesk.dto.ExportFormat;
+import com.techdesk.repositories.AuditLogRepository;
+import com.techdesk.repositories.projections.AuditLogExportView;
+import com.techdesk.services.AuditLogExportService;
+import com.techdesk.utils.AuditArchive;
+import com.techdesk.utils.AuditJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of the {@link AuditLogExportService} interface.
+ * <p>
+ * Rows are read as {@link AuditLogExportView} projections from one read-only query that joins the username, so
+ * neither the ticket nor the user entity is loaded per row; archived logs in the range are written before them.
+ * When the {@link AuditJournal} is the audit store, the logs are read from it instead.
+ * Output goes through a 64 KiB buffer, optionally compressed, and is flushed every {@value #FLUSH_EVERY} rows.
+ * </p>
+ */
+@Service
+public class AuditLogExportServiceImpl implements AuditLogExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogExportServiceImpl.class);
+
+    static final int FLUSH_EVERY = 1000;
+
+    static final String CSV_HEADER = "id,ticketId,changedBy,logType,description,timestamp";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditArchive auditArchive;
+    private final AuditJournal auditJournal;
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Constructs an {@code AuditLogExportServiceImpl} with the required dependencies.
+     *
+     * @param auditLogRepository the repository for managing TicketAuditLog entities
+     * @param auditArchive       the archive of audit logs moved out of the table by the retention job
+     * @param auditJournal       the audit journal, present only when it is the configured audit store
+     * @param objectMapper       the application's JSON mapper, whose factory writes the NDJSON lines
+     */
+    public AuditLogExportServiceImpl(AuditLogRepository auditLogRepository, AuditArchive auditArchive,
+                                     ObjectProvider<AuditJournal> auditJournal, ObjectMapper objectMapper) {
+        this.auditLogRepository = auditLogRepository;
+        this.auditArchive = auditArchive;
+        this.auditJournal = auditJournal.getIfAvailable();
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportLogs(LocalDateTime from, LocalDateTime to, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        long exported;
+        long start = System.nanoTime();
+        OutputStream target = new NonClosingOutputStream(out);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     gzip ? new GZIPOutputStream(target, BUFFER_SIZE) : target, StandardCharsets.UTF_8),
+                     BUFFER_SIZE);
+             JsonGenerator generator = format == ExportFormat.NDJSON ? createGenerator(writer) : null) {
+            RowWriter rows = new RowWriter(writer, generator);
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write("\r\n");
+            }
+            if (auditJournal != null) {
+                auditJournal.forEach(from, to, rows::write);
+            } else {
+                // Archived logs are older than every row still in the table, so they come first.
+                auditArchive.forEach(from, to, rows::write);
+                try (Stream<AuditLogExportView> logs = auditLogRepository.streamExportViews(from, to)) {
+                    Iterator<AuditLogExportView> iterator = logs.iterator();
+                    while (iterator.hasNext()) {
+                        rows.write(iterator.next());
+                    }
+                }
+            }
+            rows.flush();
+            exported = rows.count;
+        }
+        logger.info("Exported {} audit logs as {}{} in {} ms", exported, format, gzip ? " (gzip)" : "",
+                (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+
+    private JsonGenerator createGenerator(Writer writer) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are terminated explicitly; the default separator would put a space between objects.
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private static void writeCsvRow(Writer writer, AuditLogExportView log) throws IOException {
+        writer.write(String.valueOf(log.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(log.getTicketId()));
+        writer.write(',');
+        writeCsvField(writer, log.getChangedByUsername());
+        writer.write(',');
+        writer.write(log.getLogType() == null ? "" : log.getLogType().name());
+        writer.write(',');
+        writeCsvField(writer, log.getDescription());
+        writer.write(',');
+        writer.write(log.getTimestamp() == null ? "" : log.getTimestamp().toString());
+        writer.write("\r\n");
+    }
+
+    /**
+     * Writes a free-text field, quoting it when it contains a separator, a quote or a line break.
+     */
+    static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeJsonRow(JsonGenerator generator, AuditLogExportView log) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", String.valueOf(log.getId()));
+        generator.writeStringField("ticketId", String.valueOf(log.getTicketId()));
+        generator.writeStringField("changedByUsername", log.getChangedByUsername());
+        generator.writeStringField("logType", log.getLogType() == null ? null : log.getLogType().name());
+        generator.writeStringField("description", log.getDescription());
+        generator.writeStringField("timestamp", log.getTimestamp() == null ? null : log.getTimestamp().toString());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Writes rows in the export format, counting them and flushing every {@value #FLUSH_EVERY} rows.
+     */
+    private static final class RowWriter {
+
+        private final Writer writer;
+        private final JsonGenerator generator;
+        private long count;
+
+        RowWriter(Writer writer, JsonGenerator generator) {
+            this.writer = writer;
+            this.generator = generator;
+        }
+
+        void write(AuditLogExportView log) throws IOException {
+            if (generator == null) {
+                writeCsvRow(writer, log);
+            } else {
+                writeJsonRow(generator, log);
+            }
+            if (++count % FLUSH_EVERY == 0) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (generator != null) {
+                generator.flush();
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * Passes writes through but only flushes on close: the servlet container owns the response stream, while the
+     * writers stacked on top of it must be closed to finish the gzip trailer.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -1,41 +1,92 @@
 package com.techdesk.services.Impl;
 
+import com.techdesk.dto.TotalAwarePage;
+import com.techdesk.dto.TotalCountMode;
 import com.techdesk.entities.Ticket;
 import com.techdesk.entities.TicketAuditLog;
 import com.techdesk.entities.AppUser;
 import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.entities.enums.SlaKind;
 import com.techdesk.repositories.AuditLogRepository;
 import com.techdesk.services.AuditLogService;
+import com.techdesk.utils.AuditArchive;
+import com.techdesk.utils.AuditLogWriter;
+import com.techdesk.utils.AuditLogWriter.PendingAuditLog;
+import com.techdesk.utils.TotalCountCache;
+import com.techdesk.utils.TotalCountCache.CountKey;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 /**
  * Implementation of the {@link AuditLogService} interface.
  * <p>
  * This class provides methods to log audit events such as status changes and comment additions on tickets,
- * and to retrieve audit logs from the underlying data repository.
+ * and to retrieve audit logs from the underlying data repository. It is the default store, used unless
+ * {@code techdesk.audit.store} selects the {@link JournalAuditLogServiceImpl}.
+ * </p>
+ * <p>
+ * When {@code techdesk.audit.async-enabled} is set, new entries are handed to the {@link AuditLogWriter} after the
+ * business transaction commits instead of being inserted inside it.
+ * </p>
+ * <p>
+ * Paged reads also cover the {@link AuditArchive}. Archived logs are older than every row in the table, so they
+ * follow the table when sorted newest first (the default) and precede it when sorted oldest first. Any other sort
+ * cannot be merged with the archive and only lists the table.
  * </p>
  */
 @Service
+@Timed("techdesk.service")
+@ConditionalOnProperty(name = "techdesk.audit.store", havingValue = "database", matchIfMissing = true)
 public class AuditLogServiceImpl implements AuditLogService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditLogServiceImpl.class);
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+
+    /**
+     * Where the archived rows go in a sorted listing.
+     */
+    private enum ArchivePosition { AFTER, BEFORE, NONE }
+
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final TotalCountCache totalCountCache;
+    private final AuditArchive auditArchive;
 
     /**
      * Constructs an {@code AuditLogServiceImpl} with the required {@link AuditLogRepository}.
      *
      * @param auditLogRepository the repository used to manage ticket audit logs
+     * @param auditLogWriter     the asynchronous writer used when asynchronous audit logging is enabled
+     * @param totalCountCache    the cache of recently counted page totals
+     * @param auditArchive       the archive of audit logs moved out of the table by the retention job
      */
-    public AuditLogServiceImpl(AuditLogRepository auditLogRepository) {
+    public AuditLogServiceImpl(AuditLogRepository auditLogRepository, AuditLogWriter auditLogWriter,
+                               TotalCountCache totalCountCache, AuditArchive auditArchive) {
         this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.totalCountCache = totalCountCache;
+        this.auditArchive = auditArchive;
     }
 
     /**
@@ -50,9 +101,9 @@ public class AuditLogServiceImpl implements AuditLogService {
                 .description("Status changed from " + oldStatus + " to " + newStatus)
                 .timestamp(LocalDateTime.now())
                 .build();
-        auditLogRepository.save(log);
+        write(log);
         logger.info("Audit log created: Ticket {} status changed from {} to {} by user {}",
-                ticket.getId(), oldStatus, newStatus, changedBy.getUsername());
+                ticket.getId(), oldStatus, newStatus, changedBy.getId());
     }
 
     /**
@@ -67,33 +118,204 @@ public class AuditLogServiceImpl implements AuditLogService {
                 .description("Comment added: " + commentText)
                 .timestamp(LocalDateTime.now())
                 .build();
-        auditLogRepository.save(log);
+        write(log);
         logger.info("Audit log created: Comment added to Ticket {} by user {}",
-                ticket.getId(), changedBy.getUsername());
+                ticket.getId(), changedBy.getId());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void logSlaBreach(Ticket ticket, SlaKind kind, Duration target) {
+        TicketAuditLog log = TicketAuditLog.builder()
+                .ticket(ticket)
+                .logType(AuditLogType.SLA_BREACH)
+                .description(slaBreachPrefix(kind) + " target of " + target + " missed")
+                .timestamp(LocalDateTime.now())
+                .build();
+        write(log);
+        logger.info("Audit log created: Ticket {} missed its {} target of {}", ticket.getId(), kind, target);
+    }
+
+    /**
+     * @return the start of the description of SLA breach logs of the given kind, e.g. "SLA breached: RESPONSE"
+     */
+    static String slaBreachPrefix(SlaKind kind) {
+        return "SLA breached: " + kind;
+    }
+
+    /**
+     * Persists an audit log, either directly or through the asynchronous writer.
+     *
+     * @param log the audit log to persist
+     */
+    private void write(TicketAuditLog log) {
+        if (!auditLogWriter.isEnabled()) {
+            auditLogRepository.save(log);
+            return;
+        }
+        UUID changedById = log.getChangedBy() == null ? null : log.getChangedBy().getId();
+        auditLogWriter.submitAfterCommit(new PendingAuditLog(log.getTicket().getId(), changedById,
+                log.getLogType(), log.getDescription(), log.getTimestamp()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<TicketAuditLog> getLogsForTicket(Ticket ticket, Pageable pageable) {
-        return auditLogRepository.findByTicket(ticket, pageable);
+    public Page<TicketAuditLog> getLogsForTicket(Ticket ticket, Pageable pageable, TotalCountMode totalMode) {
+        return withArchived(newestFirstByDefault(pageable), ticket.getId(),
+                sorted -> totalCountCache.page(
+                        CountKey.of(TotalCountCache.AUDIT_LOGS, "ticket", ticket.getId()), totalMode, sorted,
+                        page -> auditLogRepository.findByTicket(ticket, page),
+                        page -> auditLogRepository.findSliceByTicket(ticket, page),
+                        () -> auditLogRepository.countByTicket(ticket)),
+                page -> auditLogRepository.findSliceByTicket(ticket, page),
+                () -> auditLogRepository.countByTicket(ticket));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<TicketAuditLog> getAllLogs(Pageable pageable) {
-        return auditLogRepository.findAll(pageable);
+    public Page<TicketAuditLog> getAllLogs(Pageable pageable, TotalCountMode totalMode) {
+        return withArchived(newestFirstByDefault(pageable), null,
+                sorted -> totalCountCache.page(CountKey.of(TotalCountCache.AUDIT_LOGS, "all"), totalMode, sorted,
+                        auditLogRepository::findAll, auditLogRepository::findSliceBy, auditLogRepository::count),
+                auditLogRepository::findSliceBy, auditLogRepository::count);
+    }
+
+    private static Pageable newestFirstByDefault(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST);
+    }
+
+    /**
+     * Tells where archived rows go for a sort: after the table when it starts with a descending timestamp, before it
+     * when it starts with an ascending one. Only a tie-break on the id in the same direction is allowed, as the
+     * archive keeps rows in timestamp and id order.
+     */
+    private static ArchivePosition archivePosition(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty() || !"timestamp".equals(orders.get(0).getProperty())) {
+            return ArchivePosition.NONE;
+        }
+        Sort.Direction direction = orders.get(0).getDirection();
+        for (Sort.Order order : orders.subList(1, orders.size())) {
+            if (!"id".equals(order.getProperty()) || order.getDirection() != direction) {
+                return ArchivePosition.NONE;
+            }
+        }
+        return direction.isDescending() ? ArchivePosition.AFTER : ArchivePosition.BEFORE;
+    }
+
+    /**
+     * Adds the archived rows to a page of rows from the table: they count towards the total, and the page is filled
+     * from the archive where it overlaps the archived rows. Unpaged requests and sorts the archive cannot follow
+     * only see the table.
+     *
+     * @param pageable  the requested page
+     * @param ticketId  the ticket whose logs are listed, or null for all logs
+     * @param hotPage   reads a page from the table, with its total
+     * @param hotSlice  reads a page from the table without counting
+     * @param hotCount  counts the rows in the table, used when the page does not tell where the table ends
+     */
+    private Page<TicketAuditLog> withArchived(Pageable pageable, UUID ticketId,
+                                              Function<Pageable, TotalAwarePage<TicketAuditLog>> hotPage,
+                                              Function<Pageable, Slice<TicketAuditLog>> hotSlice,
+                                              LongSupplier hotCount) {
+        ArchivePosition position = pageable.isUnpaged() ? ArchivePosition.NONE : archivePosition(pageable.getSort());
+        long archived = position == ArchivePosition.NONE ? 0 : auditArchive.count(ticketId);
+        if (archived == 0) {
+            return hotPage.apply(pageable);
+        }
+        if (position == ArchivePosition.BEFORE) {
+            return archivedFirst(pageable, ticketId, archived, hotSlice, hotCount);
+        }
+        TotalAwarePage<TicketAuditLog> hot = hotPage.apply(pageable);
+        if (hot.getNumberOfElements() == pageable.getPageSize()) {
+            return new TotalAwarePage<>(hot.getContent(), pageable, hot.getTotalElements() + archived,
+                    hot.getTotalMode());
+        }
+        // A partial page is the last one of the table, so its total is exact unless the page is past the end.
+        boolean exact = hot.hasContent() || pageable.getOffset() == 0 || hot.getTotalMode() == TotalCountMode.EXACT;
+        long hotTotal = exact ? hot.getTotalElements() : hotCount.getAsLong();
+        List<TicketAuditLog> content = new ArrayList<>(hot.getContent());
+        content.addAll(auditArchive.read(ticketId, Math.max(0, pageable.getOffset() - hotTotal),
+                pageable.getPageSize() - hot.getNumberOfElements()));
+        return new TotalAwarePage<>(content, pageable, hotTotal + archived, TotalCountMode.EXACT);
+    }
+
+    /**
+     * Reads an oldest-first page: the archived rows come first, then the table continues at the page offset minus
+     * the archived rows. That offset is not a multiple of the page size, so the table is read as up to two aligned
+     * slices. The total is always counted.
+     */
+    private Page<TicketAuditLog> archivedFirst(Pageable pageable, UUID ticketId, long archived,
+                                               Function<Pageable, Slice<TicketAuditLog>> hotSlice,
+                                               LongSupplier hotCount) {
+        int size = pageable.getPageSize();
+        long offset = pageable.getOffset();
+        List<TicketAuditLog> content = new ArrayList<>(size);
+        if (offset < archived) {
+            content.addAll(auditArchive.read(ticketId, offset, (int) Math.min(size, archived - offset), false));
+        }
+        long hotOffset = Math.max(0, offset - archived);
+        int pageNumber = (int) (hotOffset / size);
+        int skip = (int) (hotOffset % size);
+        while (content.size() < size) {
+            Slice<TicketAuditLog> slice = hotSlice.apply(PageRequest.of(pageNumber++, size, pageable.getSort()));
+            List<TicketAuditLog> rows = slice.getContent();
+            int from = Math.min(skip, rows.size());
+            content.addAll(rows.subList(from, Math.min(rows.size(), from + size - content.size())));
+            if (!slice.hasNext()) {
+                break;
+            }
+            skip = 0;
+        }
+        return new TotalAwarePage<>(content, pageable, archived + hotCount.getAsLong(), TotalCountMode.EXACT);
     }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @Transactional
     public void deleteLogsForTicket(Ticket ticket) {
-        auditLogRepository.deleteByTicket(ticket);
+        deleteLogsForTickets(List.of(ticket.getId()));
         logger.info("Deleted audit logs for Ticket {}", ticket.getId());
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Archived logs of the tickets are hidden once the transaction commits, or right away without a transaction.
+     * </p>
+     */
+    @Override
+    @Transactional
+    public int deleteLogsForTickets(Collection<UUID> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = auditLogRepository.deleteByTicketIdIn(ticketIds);
+        forgetArchivedAfterCommit(List.copyOf(ticketIds));
+        return deleted;
+    }
+
+    private void forgetArchivedAfterCommit(List<UUID> ticketIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditArchive.forgetTickets(ticketIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditArchive.forgetTickets(ticketIds);
+            }
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.techdesk.services.Impl;
+
+import com.techdesk.repositories.AuditLogRepository;
+import com.techdesk.repositories.projections.AuditLogExportView;
+import com.techdesk.services.AuditRetentionService;
+import com.techdesk.utils.AuditArchive;
+import com.techdesk.utils.AuditArchive.PendingSegment;
+import com.techdesk.utils.TotalCountCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of the {@link AuditRetentionService} interface.
+ * <p>
+ * Each chunk of at most {@code chunk-size} expired rows, oldest first, is written to a new archive segment under a
+ * temporary name, then deleted from the hot table in one transaction, and only then committed to the archive. If
+ * the delete fails the segment is discarded; if the application stops in between, {@link AuditArchive#recover}
+ * settles the segment at the next start.
+ * </p>
+ */
+@Service
+public class AuditRetentionServiceImpl implements AuditRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditRetentionServiceImpl.class);
+
+    /**
+     * Ids per DELETE statement; stays below Oracle's limit of 1000 IN-list elements after parameter padding.
+     */
+    static final int DELETE_BATCH_SIZE = 500;
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditArchive auditArchive;
+    private final TotalCountCache totalCountCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int chunkSize;
+
+    /**
+     * Constructs an {@code AuditRetentionServiceImpl} with the required dependencies.
+     *
+     * @param auditLogRepository the repository for managing TicketAuditLog entities
+     * @param auditArchive       the archive receiving the expired rows
+     * @param totalCountCache    the cache of page totals, invalidated after every chunk
+     * @param transactionManager the transaction manager; every chunk is deleted in its own transaction
+     * @param enabled            whether expired rows are archived at all
+     * @param maxAge             how long audit logs stay in the hot table
+     * @param chunkSize          the maximum number of rows per archive segment
+     */
+    public AuditRetentionServiceImpl(AuditLogRepository auditLogRepository, AuditArchive auditArchive,
+                                     TotalCountCache totalCountCache, PlatformTransactionManager transactionManager,
+                                     @Value("${techdesk.audit.retention.enabled:false}") boolean enabled,
+                                     @Value("${techdesk.audit.retention.max-age:P180D}") Duration maxAge,
+                                     @Value("${techdesk.audit.retention.chunk-size:5000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("techdesk.audit.retention.chunk-size must be positive");
+        }
+        this.auditLogRepository = auditLogRepository;
+        this.auditArchive = auditArchive;
+        this.totalCountCache = totalCountCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Settles segments left behind by a previous run that was interrupted between writing and committing them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverArchive() {
+        if (auditArchive.recover(auditLogRepository::existsById) > 0) {
+            totalCountCache.invalidate(TotalCountCache.AUDIT_LOGS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${techdesk.audit.retention.interval:PT1H}",
+            initialDelayString = "${techdesk.audit.retention.interval:PT1H}")
+    public int archiveExpiredLogs() {
+        if (!enabled) {
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+        long start = System.nanoTime();
+        int archived = 0;
+        List<AuditLogExportView> chunk;
+        do {
+            chunk = auditLogRepository.findExpired(cutoff, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            archiveChunk(chunk);
+            archived += chunk.size();
+        } while (chunk.size() == chunkSize);
+        if (archived > 0) {
+            logger.info("Archived {} audit logs older than {} in {} ms", archived, cutoff,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return archived;
+    }
+
+    private void archiveChunk(List<AuditLogExportView> chunk) {
+        PendingSegment segment = auditArchive.write(chunk);
+        List<UUID> ids = chunk.stream().map(AuditLogExportView::getId).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < ids.size(); from += DELETE_BATCH_SIZE) {
+                    auditLogRepository.deleteByIdIn(ids.subList(from, Math.min(from + DELETE_BATCH_SIZE, ids.size())));
+                }
+            });
+        } catch (RuntimeException e) {
+            segment.discard();
+            throw e;
+        }
+        segment.commit();
+        totalCountCache.invalidate(TotalCountCache.AUDIT_LOGS);
+    }
+}
@@ -5,15 +5,18 @@ import com.techdesk.dto.LoginRequestDTO;
 import com.techdesk.dto.RegisterRequestDTO;
 import com.techdesk.dto.mappers.AppUserMapper;
 import com.techdesk.entities.AppUser;
+import com.techdesk.events.UserRegisteredEvent;
 import com.techdesk.repositories.AppUserRepository;
+import com.techdesk.services.AccessTokenService;
 import com.techdesk.services.AuthService;
+import com.techdesk.services.UserService;
+import com.techdesk.utils.PasswordHasher;
 import com.techdesk.web.errors.InvalidCredentialsException;
 import com.techdesk.web.errors.UserAlreadyExistsException;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
-import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 
 
@@ -21,6 +24,8 @@ import org.springframework.transaction.annotation.Transactional;
  * Implementation of the {@link AuthService} interface.
  * <p>
  * This class provides the logic for user login and registration, including password hashing and validation.
+ * Hashing runs on the bounded {@link PasswordHasher} pool. Stored hashes whose BCrypt cost differs from the
+ * configured one are replaced on the next successful login.
  * </p>
  */
 @Service
@@ -29,17 +34,31 @@ public class AuthServiceImpl implements AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
 
     private final AppUserRepository appUserRepository;
+    private final UserService userService;
     private final AppUserMapper appUserMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccessTokenService accessTokenService;
+    private final PasswordHasher passwordHasher;
 
     /**
      * Constructs an {@code AuthServiceImpl} with the required dependencies.
      *
-     * @param appUserRepository the repository for managing AppUser entities
-     * @param appUserMapper     the mapper for converting between AppUser entities and DTOs
+     * @param appUserRepository  the repository for managing AppUser entities
+     * @param userService        the service for cached user lookups
+     * @param appUserMapper      the mapper for converting between AppUser entities and DTOs
+     * @param eventPublisher     the publisher for user registration events
+     * @param accessTokenService the service issuing access tokens
+     * @param passwordHasher     the bounded pool computing password hashes
      */
-    public AuthServiceImpl(AppUserRepository appUserRepository, AppUserMapper appUserMapper) {
+    public AuthServiceImpl(AppUserRepository appUserRepository, UserService userService, AppUserMapper appUserMapper,
+                           ApplicationEventPublisher eventPublisher, AccessTokenService accessTokenService,
+                           PasswordHasher passwordHasher) {
         this.appUserRepository = appUserRepository;
+        this.userService = userService;
         this.appUserMapper = appUserMapper;
+        this.eventPublisher = eventPublisher;
+        this.accessTokenService = accessTokenService;
+        this.passwordHasher = passwordHasher;
     }
 
     /**
@@ -47,34 +66,66 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public AuthResponseDTO login(LoginRequestDTO loginRequest) {
-        AppUser user = appUserRepository.findByUsername(loginRequest.getUsername())
+        AppUser user = userService.findByUsername(loginRequest.getUsername())
                 .orElseThrow(() -> {
                     logger.warn("Login failed: Invalid credentials for username '{}'", loginRequest.getUsername());
                     return new InvalidCredentialsException("Invalid credentials");
                 });
-        if (!BCrypt.checkpw(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.getPassword())) {
             logger.warn("Login failed: Invalid credentials for username '{}'", loginRequest.getUsername());
             throw new InvalidCredentialsException("Invalid credentials");
         }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            rehash(user, loginRequest.getPassword());
+        }
         logger.info("User '{}' logged in successfully", loginRequest.getUsername());
-        return appUserMapper.toResponseDto(user);
+        return withAccessToken(user);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional
     public AuthResponseDTO register(RegisterRequestDTO registerRequest) {
         if (appUserRepository.findByUsername(registerRequest.getUsername()).isPresent()) {
             logger.warn("Registration failed: Username '{}' already exists", registerRequest.getUsername());
             throw new UserAlreadyExistsException("Username already exists");
         }
         AppUser user = appUserMapper.toEntity(registerRequest);
-        String hashedPassword = BCrypt.hashpw(registerRequest.getPassword(), BCrypt.gensalt());
-        user.setPassword(hashedPassword);
+        user.setPassword(passwordHasher.hash(registerRequest.getPassword()));
         AppUser savedUser = appUserRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(savedUser.getId(), savedUser.getUsername(), savedUser.getRole()));
         logger.info("User '{}' registered successfully", registerRequest.getUsername());
-        return appUserMapper.toResponseDto(savedUser);
+        return withAccessToken(savedUser);
+    }
+
+    /**
+     * Replaces a stored hash computed with another cost factor. A failure only delays the upgrade to the next login.
+     *
+     * @param user        the user who just logged in
+     * @param rawPassword the verified password
+     */
+    private void rehash(AppUser user, String rawPassword) {
+        try {
+            appUserRepository.updatePassword(user.getId(), passwordHasher.hash(rawPassword));
+            userService.evictUser(user.getId());
+            logger.info("Rehashed password of user '{}' with the configured cost", user.getUsername());
+        } catch (RuntimeException e) {
+            logger.warn("Could not rehash password of user '{}': {}", user.getUsername(), e.getMessage());
+        }
+    }
+
+    /**
+     * Maps the user to a response carrying a freshly issued access token.
+     *
+     * @param user the authenticated user
+     * @return the response DTO including the access token
+     */
+    private AuthResponseDTO withAccessToken(AppUser user) {
+        AuthResponseDTO response = appUserMapper.toResponseDto(user);
+        response.setAccessToken(accessTokenService.issueToken(user));
+        response.setTokenType("Bearer");
+        response.setExpiresIn(accessTokenService.getTokenTtl().toSeconds());
+        return response;
     }
 }
\ No newline at end of file
@@ -1,21 +1,28 @@
 package com.techdesk.services.Impl;
 
+import com.techdesk.dto.AuthenticatedUser;
 import com.techdesk.dto.CommentRequestDTO;
 import com.techdesk.dto.CommentResponseDTO;
+import com.techdesk.dto.TotalCountMode;
 import com.techdesk.dto.mappers.CommentMapper;
 import com.techdesk.entities.AppUser;
 import com.techdesk.entities.Comment;
 import com.techdesk.entities.Ticket;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.events.CommentAddedEvent;
 import com.techdesk.repositories.AppUserRepository;
 import com.techdesk.repositories.CommentRepository;
 import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.CommentView;
 import com.techdesk.services.AuditLogService;
 import com.techdesk.services.CommentService;
 import com.techdesk.services.TicketService;
-import com.techdesk.services.UserService;
-import com.techdesk.web.errors.SupportUserNotFoundException;
+import com.techdesk.utils.TotalCountCache;
+import com.techdesk.utils.TotalCountCache.CountKey;
 import com.techdesk.web.errors.TicketNotFoundException;
 import com.techdesk.web.errors.UnauthorizedAccessException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +32,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 
@@ -37,39 +49,51 @@ import java.util.UUID;
  * </p>
  */
 @Service
+@Timed("techdesk.service")
 public class CommentServiceImpl implements CommentService {
 
     private static final Logger logger = LoggerFactory.getLogger(CommentServiceImpl.class);
 
+    /**
+     * Oracle rejects IN lists with more than 1000 expressions, so batched lookups are split into chunks of this size.
+     */
+    private static final int MAX_IN_CLAUSE_SIZE = 1000;
+
+    private final AppUserRepository appUserRepository;
     private final TicketService ticketService;
-    private final UserService userService;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
     private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TotalCountCache totalCountCache;
 
     /**
      * Constructs a {@code CommentServiceImpl} with the required dependencies.
      *
      * @param ticketRepository the repository for managing tickets (not directly used here)
-     * @param appUserRepository the repository for managing AppUser entities (not directly used here)
+     * @param appUserRepository the repository providing the author references of new comments
      * @param ticketService the service for handling ticket operations
-     * @param userService the service for handling user operations
      * @param commentRepository the repository for managing comments
      * @param commentMapper the mapper for converting between Comment entities and DTOs
      * @param auditLogService the service for logging audit events
+     * @param eventPublisher the publisher for comment events
+     * @param totalCountCache the cache of recently counted page totals
      */
     public CommentServiceImpl(TicketRepository ticketRepository,
                               AppUserRepository appUserRepository,
                               @Lazy TicketService ticketService,
-                              UserService userService,
                               CommentRepository commentRepository,
                               CommentMapper commentMapper,
-                              AuditLogService auditLogService) {
+                              AuditLogService auditLogService,
+                              ApplicationEventPublisher eventPublisher,
+                              TotalCountCache totalCountCache) {
+        this.appUserRepository = appUserRepository;
         this.ticketService = ticketService;
-        this.userService = userService;
         this.commentRepository = commentRepository;
         this.commentMapper = commentMapper;
         this.auditLogService = auditLogService;
+        this.eventPublisher = eventPublisher;
+        this.totalCountCache = totalCountCache;
     }
 
     /**
@@ -77,37 +101,71 @@ public class CommentServiceImpl implements CommentService {
      */
     @Override
     @Transactional
-    public CommentResponseDTO addCommentToTicket(UUID ticketId, CommentRequestDTO commentRequestDTO, UUID supportUserId) {
-        AppUser supportUser = userService.findById(supportUserId)
-                .orElseThrow(() -> new SupportUserNotFoundException("Support user not found"));
-        if (!"IT_SUPPORT".equals(supportUser.getRole().name())) {
+    public CommentResponseDTO addCommentToTicket(UUID ticketId, CommentRequestDTO commentRequestDTO,
+                                                 AuthenticatedUser supportUser) {
+        if (supportUser.role() != Role.IT_SUPPORT) {
             throw new UnauthorizedAccessException("Only IT support agents can add comments");
         }
         Ticket ticket = ticketService.findById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException("Ticket not found"));
+        AppUser author = appUserRepository.getReferenceById(supportUser.id());
         Comment comment = commentMapper.commentRequestDTOToComment(commentRequestDTO);
         comment.setTicket(ticket);
-        comment.setUser(supportUser);
+        comment.setUser(author);
         comment.setCreatedAt(LocalDateTime.now());
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new CommentAddedEvent(ticket.getId(),
+                ticket.getCreatedBy() == null ? null : ticket.getCreatedBy().getId(),
+                ticket.getAssignedTo() == null ? null : ticket.getAssignedTo().getId(),
+                savedComment.getId(), supportUser.id(), savedComment.getText(), savedComment.getCreatedAt()));
 
-        auditLogService.logCommentAdded(ticket, supportUser, comment.getText());
-        logger.info("Support user '{}' added a comment to ticket '{}'", supportUser.getUsername(), ticket.getId());
+        auditLogService.logCommentAdded(ticket, author, comment.getText());
+        logger.info("Support user '{}' added a comment to ticket '{}'", supportUser.username(), ticket.getId());
 
-        return commentMapper.commentToCommentResponseDTO(savedComment);
+        return commentMapper.commentToCommentResponseDTO(savedComment, supportUser.username());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<CommentResponseDTO> getCommentsForTicket(UUID ticketId, Pageable pageable) {
+    public Page<CommentResponseDTO> getCommentsForTicket(UUID ticketId, Pageable pageable, TotalCountMode totalMode) {
         Ticket ticket = ticketService.findById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException("Ticket not found"));
-        return commentRepository.findByTicket(ticket, pageable)
+        return totalCountCache.<Comment>page(
+                        CountKey.of(TotalCountCache.COMMENTS, "ticket", ticket.getId()), totalMode, pageable,
+                        page -> commentRepository.findByTicket(ticket, page),
+                        page -> commentRepository.findSliceByTicket(ticket, page),
+                        () -> commentRepository.countByTicket(ticket))
                 .map(commentMapper::commentToCommentResponseDTO);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, List<CommentResponseDTO>> getCommentsForTickets(Collection<UUID> ticketIds, int maxPerTicket) {
+        Map<UUID, List<CommentResponseDTO>> commentsByTicket = new LinkedHashMap<>();
+        for (UUID ticketId : ticketIds) {
+            commentsByTicket.put(ticketId, new ArrayList<>());
+        }
+        List<UUID> ids = new ArrayList<>(commentsByTicket.keySet());
+        for (int from = 0; from < ids.size(); from += MAX_IN_CLAUSE_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + MAX_IN_CLAUSE_SIZE, ids.size()));
+            for (CommentView comment : commentRepository.findViewsByTicketIdIn(chunk)) {
+                commentsByTicket.get(comment.getTicketId())
+                        .add(commentMapper.commentViewToCommentResponseDTO(comment));
+            }
+        }
+        if (maxPerTicket > 0) {
+            commentsByTicket.replaceAll((ticketId, comments) -> comments.size() > maxPerTicket
+                    ? new ArrayList<>(comments.subList(comments.size() - maxPerTicket, comments.size()))
+                    : comments);
+        }
+        return commentsByTicket;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -116,4 +174,16 @@ public class CommentServiceImpl implements CommentService {
     public void deleteComment(UUID commentId) {
         commentRepository.deleteById(commentId);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int deleteCommentsForTickets(Collection<UUID> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        return commentRepository.deleteByTicketIdIn(ticketIds);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.techdesk.services.Impl;
+
+import com.techdesk.dto.TotalCountMode;
+import com.techdesk.entities.AppUser;
+import com.techdesk.entities.Ticket;
+import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.entities.enums.SlaKind;
+import com.techdesk.services.AuditLogService;
+import com.techdesk.services.UserService;
+import com.techdesk.utils.AuditJournal;
+import com.techdesk.utils.AuditLogRecord;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of the {@link AuditLogService} interface that stores audit logs in the {@link AuditJournal}
+ * instead of the {@code ticket_audit_logs} table. Active when {@code techdesk.audit.store} is {@code journal}.
+ * <p>
+ * Entries are appended once the business transaction has committed, so a rolled back change leaves nothing
+ * behind, and the caller returns once the entry is on disk. Totals are always exact, so the requested
+ * {@link TotalCountMode} is ignored. Pages are ordered by timestamp only.
+ * </p>
+ */
+@Service
+@Timed("techdesk.service")
+@ConditionalOnProperty(name = "techdesk.audit.store", havingValue = "journal")
+public class JournalAuditLogServiceImpl implements AuditLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalAuditLogServiceImpl.class);
+
+    private final AuditJournal auditJournal;
+    private final UserService userService;
+
+    /**
+     * Constructs a {@code JournalAuditLogServiceImpl} with the required {@link AuditJournal}.
+     *
+     * @param auditJournal the journal holding the audit logs
+     * @param userService  the service resolving the username of a user passed as a reference
+     */
+    public JournalAuditLogServiceImpl(AuditJournal auditJournal, UserService userService) {
+        this.auditJournal = auditJournal;
+        this.userService = userService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void logStatusChange(Ticket ticket, AppUser changedBy, String oldStatus, String newStatus) {
+        appendAfterCommit(ticket, changedBy, AuditLogType.STATUS_CHANGE,
+                "Status changed from " + oldStatus + " to " + newStatus);
+        logger.info("Audit log created: Ticket {} status changed from {} to {} by user {}",
+                ticket.getId(), oldStatus, newStatus, changedBy.getId());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void logCommentAdded(Ticket ticket, AppUser changedBy, String commentText) {
+        appendAfterCommit(ticket, changedBy, AuditLogType.COMMENT_ADDED, "Comment added: " + commentText);
+        logger.info("Audit log created: Comment added to Ticket {} by user {}",
+                ticket.getId(), changedBy.getId());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void logSlaBreach(Ticket ticket, SlaKind kind, Duration target) {
+        appendAfterCommit(ticket, null, AuditLogType.SLA_BREACH,
+                AuditLogServiceImpl.slaBreachPrefix(kind) + " target of " + target + " missed");
+        logger.info("Audit log created: Ticket {} missed its {} target of {}", ticket.getId(), kind, target);
+    }
+
+    private void appendAfterCommit(Ticket ticket, AppUser changedBy, AuditLogType logType, String description) {
+        AuditLogRecord record = new AuditLogRecord(UUID.randomUUID(), ticket.getId(),
+                changedBy == null ? null : changedBy.getId(), usernameOf(changedBy),
+                logType, description, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditJournal.append(record);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditJournal.append(record);
+            }
+        });
+    }
+
+    /**
+     * Returns the username stored with a record. Callers usually pass the user as an uninitialized reference, whose
+     * username is taken from the user cache rather than by loading the reference.
+     */
+    private String usernameOf(AppUser changedBy) {
+        if (changedBy == null) {
+            return null;
+        }
+        if (Hibernate.isInitialized(changedBy)) {
+            return changedBy.getUsername();
+        }
+        return userService.findById(changedBy.getId()).map(AppUser::getUsername).orElse(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<TicketAuditLog> getLogsForTicket(Ticket ticket, Pageable pageable, TotalCountMode totalMode) {
+        return auditJournal.page(ticket.getId(), pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<TicketAuditLog> getAllLogs(Pageable pageable, TotalCountMode totalMode) {
+        return auditJournal.page(null, pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteLogsForTicket(Ticket ticket) {
+        deleteLogsForTickets(List.of(ticket.getId()));
+        logger.info("Deleted audit logs for Ticket {}", ticket.getId());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Like new entries, the logs are removed once the caller's transaction has committed, so a rolled back delete
+     * keeps them, and right away without a transaction. The returned count is that of the logs held when the
+     * delete was requested.
+     * </p>
+     */
+    @Override
+    public int deleteLogsForTickets(Collection<UUID> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        List<UUID> tickets = List.copyOf(ticketIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return auditJournal.deleteTickets(tickets);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                auditJournal.deleteTickets(tickets);
+            }
+        });
+        return auditJournal.count(tickets);
+    }
+}
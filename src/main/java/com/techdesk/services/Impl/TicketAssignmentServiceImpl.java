@@ -4,71 +4,165 @@ import com.techdesk.entities.AppUser;
 import com.techdesk.entities.Ticket;
 import com.techdesk.entities.enums.Role;
 import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.events.TicketDeletedEvent;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.events.UserRegisteredEvent;
 import com.techdesk.repositories.AppUserRepository;
 import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.AgentLoadView;
 import com.techdesk.services.TicketAssignmentService;
+import com.techdesk.utils.AgentLoadIndex;
 import com.techdesk.web.errors.NoSupportAgentAvailableException;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Implementation of the {@link TicketAssignmentService} interface.
  * <p>
- * This class assigns tickets to support agents by finding the agent with the fewest open tickets.
+ * This class assigns tickets to the support agent with the fewest open tickets. Open ticket counts are kept in an
+ * {@link AgentLoadIndex} that is seeded with a single grouped query, kept current from ticket events and
+ * periodically resynchronized with the database, so an assignment never queries the ticket table.
  * If no support agent is available, a {@link com.techdesk.web.errors.NoSupportAgentAvailableException} is thrown.
  * </p>
  */
 @Service
+@Timed("techdesk.service")
 public class TicketAssignmentServiceImpl implements TicketAssignmentService {
 
     private static final Logger logger = LoggerFactory.getLogger(TicketAssignmentServiceImpl.class);
 
+    private static final List<TicketStatus> CLOSED_STATUSES = List.of(TicketStatus.RESOLVED, TicketStatus.CLOSED);
+
     private final AppUserRepository appUserRepository;
     private final TicketRepository ticketRepository;
+    private final AgentLoadIndex agentLoadIndex;
 
     /**
      * Constructs a {@code TicketAssignmentServiceImpl} with the required repositories.
      *
      * @param appUserRepository the repository for managing AppUser entities
      * @param ticketRepository  the repository for managing Ticket entities
+     * @param agentLoadIndex    the in-memory index of open tickets per support agent
      */
-    public TicketAssignmentServiceImpl(AppUserRepository appUserRepository, TicketRepository ticketRepository) {
+    public TicketAssignmentServiceImpl(AppUserRepository appUserRepository, TicketRepository ticketRepository,
+                                       AgentLoadIndex agentLoadIndex) {
         this.appUserRepository = appUserRepository;
         this.ticketRepository = ticketRepository;
+        this.agentLoadIndex = agentLoadIndex;
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The selected agent's load is incremented immediately. If the surrounding transaction rolls back,
+     * the reservation is released again.
+     * </p>
      */
     @Override
     public AppUser assignTicket(Ticket ticket) {
-        List<AppUser> supportAgents = appUserRepository.findByRole(Role.IT_SUPPORT);
-        if (supportAgents.isEmpty()) {
-            throw new NoSupportAgentAvailableException("No IT support agents available for assignment");
+        if (!agentLoadIndex.isSeeded()) {
+            resyncLoadIndex();
         }
+        UUID agentId = reserveAgent();
+        logger.info("Assigning ticket {} to support agent {} with {} open tickets",
+                ticket.getId(), agentId, agentLoadIndex.openTicketsOf(agentId) - 1);
+        return appUserRepository.getReferenceById(agentId);
+    }
 
-        List<TicketStatus> closedStatuses = Arrays.asList(TicketStatus.RESOLVED, TicketStatus.CLOSED);
-        AppUser leastLoadedAgent = null;
-        int minTicketCount = Integer.MAX_VALUE;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AppUser> assignTickets(List<Ticket> tickets) {
+        if (!agentLoadIndex.isSeeded()) {
+            resyncLoadIndex();
+        }
+        List<AppUser> agents = new ArrayList<>(tickets.size());
+        for (int i = 0; i < tickets.size(); i++) {
+            agents.add(appUserRepository.getReferenceById(reserveAgent()));
+        }
+        logger.info("Assigned {} tickets across {} support agents", tickets.size(), agentLoadIndex.size());
+        return agents;
+    }
 
-        for (AppUser agent : supportAgents) {
-            int openTicketCount = ticketRepository.countByAssignedToAndStatusNotIn(agent, closedStatuses);
-            if (openTicketCount < minTicketCount) {
-                minTicketCount = openTicketCount;
-                leastLoadedAgent = agent;
-            }
+    private UUID reserveAgent() {
+        UUID agentId = agentLoadIndex.reserveLeastLoaded()
+                .orElseThrow(() -> new NoSupportAgentAvailableException("No IT support agents available for assignment"));
+        releaseOnRollback(agentId);
+        return agentId;
+    }
+
+    /**
+     * Rebuilds the load index from the database: one query for the support agents and one grouped count
+     * of their open tickets. Runs at startup and then periodically to correct any drift.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${techdesk.assignment.resync-interval:PT5M}",
+            initialDelayString = "${techdesk.assignment.resync-interval:PT5M}")
+    public void resyncLoadIndex() {
+        Map<UUID, Integer> openTicketsByAgent = new HashMap<>();
+        for (UUID agentId : appUserRepository.findIdsByRole(Role.IT_SUPPORT)) {
+            openTicketsByAgent.put(agentId, 0);
         }
+        for (AgentLoadView load : ticketRepository.countOpenTicketsByAssignee(CLOSED_STATUSES)) {
+            openTicketsByAgent.computeIfPresent(load.getAgentId(), (agentId, none) -> load.getOpenTickets().intValue());
+        }
+        agentLoadIndex.reset(openTicketsByAgent);
+        logger.info("Agent load index resynchronized for {} support agents", openTicketsByAgent.size());
+    }
 
-        if (leastLoadedAgent == null) {
-            throw new NoSupportAgentAvailableException("No available support agent found");
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        boolean wasOpen = isOpen(event.oldStatus());
+        boolean isOpen = isOpen(event.ticket().status());
+        if (wasOpen != isOpen) {
+            agentLoadIndex.adjust(event.ticket().assignedToId(), isOpen ? 1 : -1);
         }
+    }
 
-        logger.info("Assigning ticket {} to support agent {} with {} open tickets",
-                ticket.getId(), leastLoadedAgent.getUsername(), minTicketCount);
-        return leastLoadedAgent;
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketDeleted(TicketDeletedEvent event) {
+        if (isOpen(event.ticket().status())) {
+            agentLoadIndex.adjust(event.ticket().assignedToId(), -1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        if (event.role() == Role.IT_SUPPORT) {
+            agentLoadIndex.addAgent(event.userId());
+        }
+    }
+
+    private static boolean isOpen(TicketStatus status) {
+        return !CLOSED_STATUSES.contains(status);
+    }
+
+    private void releaseOnRollback(UUID agentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    agentLoadIndex.adjust(agentId, -1);
+                }
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.techdesk.services.Impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techdesk.dto.TicketResponseDTO;
+import com.techdesk.dto.mappers.TicketMapper;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.TicketView;
+import com.techdesk.services.TicketExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the {@link TicketExportService} interface.
+ * <p>
+ * Tickets are read as {@link TicketView} projections, which never enter the persistence context, from a read-only
+ * query with a JDBC fetch size of 500. Each row is serialized as soon as it is read and the output is flushed every
+ * {@value #FLUSH_EVERY} rows, so the heap only ever holds one fetch batch.
+ * </p>
+ */
+@Service
+public class TicketExportServiceImpl implements TicketExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketExportServiceImpl.class);
+
+    static final int FLUSH_EVERY = 1000;
+
+    private final TicketRepository ticketRepository;
+    private final TicketMapper ticketMapper;
+    private final ObjectWriter ticketWriter;
+
+    /**
+     * Constructs a {@code TicketExportServiceImpl} with the required dependencies.
+     *
+     * @param ticketRepository the repository for managing Ticket entities
+     * @param ticketMapper     the mapper for converting ticket projections to DTOs
+     * @param objectMapper     the application's JSON mapper
+     */
+    public TicketExportServiceImpl(TicketRepository ticketRepository, TicketMapper ticketMapper,
+                                   ObjectMapper objectMapper) {
+        this.ticketRepository = ticketRepository;
+        this.ticketMapper = ticketMapper;
+        // Lines are terminated explicitly; the default separator would put a space between root values.
+        this.ticketWriter = objectMapper.writerFor(TicketResponseDTO.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTickets(TicketStatus status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                              OutputStream out) throws IOException {
+        long exported = 0;
+        long start = System.nanoTime();
+        try (Stream<TicketView> tickets = ticketRepository.streamViews(status, createdFrom, createdTo);
+             JsonGenerator generator = ticketWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<TicketView> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                ticketWriter.writeValue(generator, ticketMapper.ticketViewToTicketResponseDTO(iterator.next()));
+                generator.writeRaw('\n');
+                if (++exported % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        logger.info("Exported {} tickets in {} ms", exported, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+}
@@ -3,29 +3,52 @@ package com.techdesk.services.Impl;
 import com.techdesk.dto.*;
 import com.techdesk.dto.mappers.TicketMapper;
 import com.techdesk.entities.AppUser;
-import com.techdesk.entities.Comment;
 import com.techdesk.entities.Ticket;
+import com.techdesk.entities.enums.Role;
 import com.techdesk.entities.enums.TicketCategory;
 import com.techdesk.entities.enums.TicketPriority;
 import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketDeletedEvent;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.events.TicketUpdatedEvent;
+import com.techdesk.repositories.AppUserRepository;
 import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.TicketView;
 import com.techdesk.services.*;
+import com.techdesk.utils.TicketCursor;
 import com.techdesk.utils.TicketSearchUtil;
-import com.techdesk.web.errors.SupportUserNotFoundException;
+import com.techdesk.utils.TotalCountCache;
+import com.techdesk.utils.TotalCountCache.CountKey;
 import com.techdesk.web.errors.TicketNotFoundException;
 import com.techdesk.web.errors.UnauthorizedAccessException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -38,34 +61,69 @@ import java.util.stream.Collectors;
  * </p>
  */
 @Service
+@Timed("techdesk.service")
 public class TicketServiceImpl implements TicketService {
 
     private final TicketRepository ticketRepository;
+    private final AppUserRepository appUserRepository;
     private final TicketMapper ticketMapper;
     private final TicketAssignmentService ticketAssignmentService;
     private final AuditLogService auditLogService;
     private final UserService userService;
     private final CommentService commentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TotalCountCache totalCountCache;
     private static final Logger logger = LoggerFactory.getLogger(TicketServiceImpl.class);
 
+    /**
+     * Largest page accepted by the cursor-based listings.
+     */
+    static final int MAX_SCROLL_SIZE = 100;
+
+    /**
+     * Largest number of tickets accepted by a single bulk creation request.
+     */
+    static final int MAX_BULK_SIZE = 500;
+
+    /**
+     * Keyset order of the cursor-based listings; must match the comparison in {@link #seekAfter(TicketCursor)}.
+     */
+    private static final Sort SCROLL_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    @Value("${techdesk.tickets.max-comments-per-ticket:0}")
+    private int maxCommentsPerTicket;
+
     /**
      * Constructs a {@code TicketServiceImpl} with the required dependencies.
      *
      * @param ticketRepository       the repository for managing Ticket entities
+     * @param appUserRepository      the repository providing user references for audit logs
      * @param ticketMapper           the mapper for converting between Ticket entities and DTOs
      * @param ticketAssignmentService the service for assigning tickets to support agents
      * @param auditLogService        the service for logging audit events related to tickets
      * @param userService            the service for managing user operations
+     * @param commentService         the service for managing ticket comments
+     * @param eventPublisher         the publisher for ticket change events
+     * @param validator              the bean validator used to check the items of bulk requests
+     * @param totalCountCache        the cache of recently counted page totals
      */
-    public TicketServiceImpl(TicketRepository ticketRepository, TicketMapper ticketMapper,
+    public TicketServiceImpl(TicketRepository ticketRepository, AppUserRepository appUserRepository,
+                             TicketMapper ticketMapper,
                              TicketAssignmentService ticketAssignmentService, AuditLogService auditLogService,
-                             UserService userService, CommentService commentService) {
+                             UserService userService, CommentService commentService,
+                             ApplicationEventPublisher eventPublisher, Validator validator,
+                             TotalCountCache totalCountCache) {
         this.ticketRepository = ticketRepository;
+        this.appUserRepository = appUserRepository;
         this.ticketMapper = ticketMapper;
         this.ticketAssignmentService = ticketAssignmentService;
         this.auditLogService = auditLogService;
         this.userService = userService;
         this.commentService = commentService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.totalCountCache = totalCountCache;
     }
 
     /**
@@ -83,11 +141,89 @@ public class TicketServiceImpl implements TicketService {
         AppUser assignedAgent = ticketAssignmentService.assignTicket(ticket);
         ticket.setAssignedTo(assignedAgent);
         Ticket savedTicket = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(new TicketCreatedEvent(TicketSnapshot.of(savedTicket)));
         logger.info("Ticket {} created by employee {} and assigned to support agent {}",
-                savedTicket.getId(), employee.getUsername(), assignedAgent.getUsername());
+                savedTicket.getId(), employee.getUsername(), assignedAgent.getId());
         return ticketMapper.ticketToTicketResponseDTO(savedTicket);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The employee is looked up once, agents are reserved for all valid tickets in a single pass and the tickets
+     * are written with one {@code saveAll}, which Hibernate sends as JDBC batches ({@code hibernate.jdbc.batch_size}).
+     * </p>
+     */
+    @Override
+    @Transactional
+    public List<BulkTicketResultDTO> createTickets(List<CreateTicketDTO> createTicketDTOs, UUID employeeId) {
+        if (createTicketDTOs == null || createTicketDTOs.isEmpty()) {
+            throw new IllegalArgumentException("At least one ticket is required");
+        }
+        if (createTicketDTOs.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("A bulk request may contain at most " + MAX_BULK_SIZE + " tickets");
+        }
+        AppUser employee = userService.findById(employeeId)
+                .orElseThrow(() -> new IllegalArgumentException("Employee not found"));
+
+        BulkTicketResultDTO[] results = new BulkTicketResultDTO[createTicketDTOs.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Ticket> tickets = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < createTicketDTOs.size(); i++) {
+            CreateTicketDTO createTicketDTO = createTicketDTOs.get(i);
+            String error = validate(createTicketDTO);
+            if (error != null) {
+                results[i] = BulkTicketResultDTO.failure(i, null, error);
+                continue;
+            }
+            Ticket ticket = ticketMapper.createTicketDTOToTicket(createTicketDTO);
+            ticket.setCreatedBy(employee);
+            ticket.setStatus(TicketStatus.NEW);
+            ticket.setCreatedAt(now);
+            tickets.add(ticket);
+            validIndexes.add(i);
+        }
+
+        if (!tickets.isEmpty()) {
+            List<AppUser> agents = ticketAssignmentService.assignTickets(tickets);
+            for (int i = 0; i < tickets.size(); i++) {
+                tickets.get(i).setAssignedTo(agents.get(i));
+            }
+            List<Ticket> savedTickets = ticketRepository.saveAll(tickets);
+            ticketRepository.flush();
+            for (int i = 0; i < savedTickets.size(); i++) {
+                eventPublisher.publishEvent(new TicketCreatedEvent(TicketSnapshot.of(savedTickets.get(i))));
+                int index = validIndexes.get(i);
+                results[index] = BulkTicketResultDTO.success(index,
+                        ticketMapper.ticketToTicketSummaryDTO(savedTickets.get(i)));
+            }
+        }
+        logger.info("Bulk request by employee {} created {} of {} tickets",
+                employee.getUsername(), tickets.size(), createTicketDTOs.size());
+        return List.of(results);
+    }
+
+    /**
+     * Validates a single item of a bulk request.
+     *
+     * @param createTicketDTO the item to validate
+     * @return the validation messages joined together, or null if the item is valid
+     */
+    private String validate(CreateTicketDTO createTicketDTO) {
+        if (createTicketDTO == null) {
+            return "Ticket details are required";
+        }
+        Set<ConstraintViolation<CreateTicketDTO>> violations = validator.validate(createTicketDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -111,27 +247,40 @@ public class TicketServiceImpl implements TicketService {
     /**
      * {@inheritDoc}
      */
-    public Page<TicketResponseDTO> getTicketsForEmployee(UUID employeeId, Pageable pageable) {
-        Page<Ticket> tickets = ticketRepository.findByCreatedById(employeeId, pageable);
-        return tickets.map(ticket -> {
-            TicketResponseDTO dto = ticketMapper.ticketToTicketResponseDTO(ticket);
-            Page<CommentResponseDTO> commentPage = commentService.getCommentsForTicket(
-                    ticket.getId(), PageRequest.of(0, Integer.MAX_VALUE));
-            dto.setComments(commentPage.getContent());
-            return dto;
-        });
+    @Transactional(readOnly = true)
+    public Page<TicketResponseDTO> getTicketsForEmployee(UUID employeeId, Pageable pageable,
+                                                         TotalCountMode totalMode) {
+        TotalAwarePage<TicketView> tickets = totalCountCache.page(
+                CountKey.of(TotalCountCache.TICKETS, "createdBy", employeeId), totalMode, pageable,
+                page -> ticketRepository.findViewsByCreatedById(employeeId, page),
+                page -> ticketRepository.sliceViewsByCreatedById(employeeId, page),
+                () -> ticketRepository.countByCreatedById(employeeId));
+        return toResponsePageWithComments(tickets);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TicketResponseDTO> scrollTicketsForEmployee(UUID employeeId, String cursor, int size) {
+        Specification<Ticket> createdByEmployee = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("createdBy").get("id"), employeeId);
+        return scroll(createdByEmployee, cursor, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
     public TicketResponseDTO getTicketByIdForEmployee(UUID ticketId, UUID employeeId) {
-        Ticket ticket = getTicketEntityById(ticketId);
-        if (!ticket.getCreatedBy().getId().equals(employeeId)) {
+        TicketView ticket = ticketRepository.findViewById(ticketId)
+                .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id " + ticketId));
+        if (!ticket.getCreatedById().equals(employeeId)) {
             throw new IllegalArgumentException("Access denied");
         }
-        return ticketMapper.ticketToTicketResponseDTO(ticket);
+        return attachComments(List.of(ticketMapper.ticketViewToTicketResponseDTO(ticket))).get(0);
     }
 
     // IT Support operations
@@ -140,21 +289,92 @@ public class TicketServiceImpl implements TicketService {
      * {@inheritDoc}
      */
     @Override
-    public Page<TicketResponseDTO> getAllTickets(Pageable pageable) {
-        // Fetch tickets with pagination
-        Page<Ticket> tickets = ticketRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<TicketResponseDTO> getAllTickets(Pageable pageable, TotalCountMode totalMode) {
+        TotalAwarePage<TicketView> tickets = totalCountCache.page(
+                CountKey.of(TotalCountCache.TICKETS, "all"), totalMode, pageable,
+                ticketRepository::findAllViews, ticketRepository::sliceAllViews, ticketRepository::count);
+        return toResponsePageWithComments(tickets);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TicketResponseDTO> scrollAllTickets(String cursor, int size) {
+        return scroll(Specification.where(null), cursor, size);
+    }
 
-        // Map tickets to TicketResponseDTO and include comments
-        return tickets.map(ticket -> {
-            TicketResponseDTO dto = ticketMapper.ticketToTicketResponseDTO(ticket);
+    /**
+     * Runs a keyset-paginated query: fetches one row more than requested to detect a following page,
+     * and never issues a count query.
+     *
+     * @param filter the filters to apply before the keyset condition
+     * @param cursor the cursor of the previous page, or null/empty for the first page
+     * @param size the maximum number of tickets to return
+     * @return a cursor page of {@link TicketResponseDTO} objects including their comments
+     * @throws IllegalArgumentException if the cursor is malformed or the size is out of range
+     */
+    private CursorPageDTO<TicketResponseDTO> scroll(Specification<Ticket> filter, String cursor, int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        Optional<TicketCursor> after = TicketCursor.decode(cursor);
+        Specification<Ticket> spec = after.isPresent() ? filter.and(seekAfter(after.get())) : filter;
+
+        List<Ticket> rows = ticketRepository.findBy(spec, query -> query.sortBy(SCROLL_SORT).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<Ticket> tickets = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? TicketCursor.of(tickets.get(tickets.size() - 1)).encode() : null;
+        List<TicketResponseDTO> content = attachComments(tickets.stream()
+                .map(ticketMapper::ticketToTicketSummaryDTO)
+                .toList());
+        return new CursorPageDTO<>(content, size, hasNext, nextCursor);
+    }
 
-            // Fetch comments for the ticket
-            Page<CommentResponseDTO> commentPage = commentService.getCommentsForTicket(
-                    ticket.getId(), PageRequest.of(0, Integer.MAX_VALUE)); // Fetch all comments
-            dto.setComments(commentPage.getContent());
+    /**
+     * Builds the keyset condition selecting the tickets that come after the cursor in {@link #SCROLL_SORT} order.
+     *
+     * @param cursor the position of the last ticket of the previous page
+     * @return a specification matching tickets strictly after the cursor
+     */
+    private Specification<Ticket> seekAfter(TicketCursor cursor) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.<LocalDateTime>get("createdAt"), cursor.createdAt()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("createdAt"), cursor.createdAt()),
+                        criteriaBuilder.lessThan(root.<UUID>get("id"), cursor.id())));
+    }
 
-            return dto;
-        });
+    /**
+     * Maps a page of ticket projections to DTOs and attaches their comments.
+     *
+     * @param tickets the page of ticket projections to map
+     * @return a page of {@link TicketResponseDTO} objects including their comments
+     */
+    private Page<TicketResponseDTO> toResponsePageWithComments(TotalAwarePage<TicketView> tickets) {
+        return tickets.withContent(attachComments(tickets.getContent().stream()
+                .map(ticketMapper::ticketViewToTicketResponseDTO)
+                .toList()));
+    }
+
+    /**
+     * Attaches comments to already mapped tickets.
+     * <p>
+     * Comments for all tickets are fetched through a single batched lookup instead of one query per ticket.
+     * </p>
+     *
+     * @param tickets the mapped tickets
+     * @return the same tickets, in the same order, with their comments set
+     */
+    private List<TicketResponseDTO> attachComments(List<TicketResponseDTO> tickets) {
+        List<UUID> ticketIds = tickets.stream().map(TicketResponseDTO::getId).toList();
+        Map<UUID, List<CommentResponseDTO>> commentsByTicket =
+                commentService.getCommentsForTickets(ticketIds, maxCommentsPerTicket);
+        tickets.forEach(dto -> dto.setComments(commentsByTicket.getOrDefault(dto.getId(), Collections.emptyList())));
+        return tickets;
     }
 
     /**
@@ -162,21 +382,24 @@ public class TicketServiceImpl implements TicketService {
      */
     @Override
     @Transactional
-    public TicketResponseDTO updateTicketStatus(UUID ticketId, UUID supportUserId, UpdateTicketStatusDTO updateDTO) {
-        AppUser supportUser = userService.findById(supportUserId)
-                .orElseThrow(() -> new SupportUserNotFoundException("Support user not found"));
-        if (!supportUser.getRole().name().equals("IT_SUPPORT")) {
+    public TicketResponseDTO updateTicketStatus(UUID ticketId, AuthenticatedUser supportUser,
+                                                UpdateTicketStatusDTO updateDTO) {
+        if (supportUser.role() != Role.IT_SUPPORT) {
             throw new UnauthorizedAccessException("Only IT support can update ticket status");
         }
         Ticket ticket = getTicketEntityById(ticketId);
-        String oldStatus = ticket.getStatus().name();
+        TicketStatus previousStatus = ticket.getStatus();
+        String oldStatus = previousStatus.name();
         ticket.setStatus(updateDTO.getStatus());
         ticket.setUpdatedAt(LocalDateTime.now());
         Ticket updatedTicket = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(new TicketStatusChangedEvent(
+                TicketSnapshot.of(updatedTicket), previousStatus, supportUser.id()));
 
-        auditLogService.logStatusChange(ticket, supportUser, oldStatus, updateDTO.getStatus().name());
+        auditLogService.logStatusChange(ticket, appUserRepository.getReferenceById(supportUser.id()), oldStatus,
+                updateDTO.getStatus().name());
         logger.info("Ticket {} status updated from {} to {} by support user {}",
-                ticket.getId(), oldStatus, updateDTO.getStatus().name(), supportUser.getUsername());
+                ticket.getId(), oldStatus, updateDTO.getStatus().name(), supportUser.username());
 
         return ticketMapper.ticketToTicketResponseDTO(updatedTicket);
     }
@@ -193,12 +416,14 @@ public class TicketServiceImpl implements TicketService {
         if (!ticket.getStatus().equals(TicketStatus.NEW)) {
             throw new IllegalArgumentException("Ticket can only be updated if its status is NEW");
         }
+        TicketSnapshot previous = TicketSnapshot.of(ticket);
         ticket.setTitle(updateDTO.getTitle());
         ticket.setDescription(updateDTO.getDescription());
         ticket.setPriority(TicketPriority.valueOf(updateDTO.getPriority()));
         ticket.setCategory(TicketCategory.valueOf(updateDTO.getCategory()));
         ticket.setUpdatedAt(LocalDateTime.now());
         Ticket updatedTicket = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(new TicketUpdatedEvent(TicketSnapshot.of(updatedTicket), previous));
         logger.info("Ticket {} updated by employee {}",
                 ticket.getId(), ticket.getCreatedBy().getUsername());
         return ticketMapper.ticketToTicketResponseDTO(updatedTicket);
@@ -206,62 +431,234 @@ public class TicketServiceImpl implements TicketService {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Comments, audit logs and the ticket are each removed with one bulk statement keyed by ticket id.
+     * </p>
      */
     @Override
     @Transactional
-    public void deleteTicket(UUID ticketId, UUID userId) {
-        Ticket ticket = getTicketEntityById(ticketId);
-        AppUser user = userService.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found with id " + userId));
+    public void deleteTicket(UUID ticketId, AuthenticatedUser user) {
+        TicketView ticket = ticketRepository.findViewById(ticketId)
+                .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id " + ticketId));
 
-        if (!user.getRole().name().equals("IT_SUPPORT")) {
-            if (!ticket.getCreatedBy().getId().equals(userId)) {
-                throw new UnauthorizedAccessException("Employee is not the creator of this ticket");
+        checkCanDelete(ticket, user);
+        deleteAll(List.of(ticket));
+        logger.info("Ticket {} deleted by user {}", ticket.getId(), user.username());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public List<BulkTicketResultDTO> deleteTickets(List<UUID> ticketIds, AuthenticatedUser user) {
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one ticket id is required");
+        }
+        if (ticketIds.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("A bulk request may contain at most " + MAX_BULK_SIZE + " tickets");
+        }
+        Map<UUID, TicketView> ticketsById = new LinkedHashMap<>();
+        for (TicketView ticket : ticketRepository.findViewsByIdIn(ticketIds)) {
+            ticketsById.put(ticket.getId(), ticket);
+        }
+
+        List<BulkTicketResultDTO> results = new ArrayList<>(ticketIds.size());
+        Map<UUID, TicketView> deletable = new LinkedHashMap<>();
+        for (int i = 0; i < ticketIds.size(); i++) {
+            UUID ticketId = ticketIds.get(i);
+            TicketView ticket = ticketId == null ? null : ticketsById.get(ticketId);
+            if (ticket == null) {
+                results.add(BulkTicketResultDTO.failure(i, ticketId, "Ticket not found with id " + ticketId));
+                continue;
             }
-            if (ticket.getStatus().equals(TicketStatus.IN_PROGRESS)) {
-                throw new IllegalArgumentException("Cannot delete a ticket that is in progress");
+            try {
+                checkCanDelete(ticket, user);
+            } catch (UnauthorizedAccessException | IllegalArgumentException e) {
+                results.add(BulkTicketResultDTO.failure(i, ticketId, e.getMessage()));
+                continue;
             }
+            deletable.put(ticketId, ticket);
+            BulkTicketResultDTO deleted = new BulkTicketResultDTO();
+            deleted.setIndex(i);
+            deleted.setTicketId(ticketId);
+            deleted.setSuccess(true);
+            results.add(deleted);
         }
 
-        if (ticket.getComments() != null && !ticket.getComments().isEmpty()) {
-            for (Comment comment : ticket.getComments()) {
-                commentService.deleteComment(comment.getId());
-            }
+        deleteAll(deletable.values());
+        logger.info("Bulk request by user {} deleted {} of {} tickets",
+                user.username(), deletable.size(), ticketIds.size());
+        return results;
+    }
+
+    /**
+     * Checks that the user may delete the ticket: IT support may delete any ticket, employees only their own
+     * tickets that are not in progress.
+     *
+     * @param ticket the ticket to delete
+     * @param user the user requesting the deletion
+     * @throws UnauthorizedAccessException if the employee is not the creator of the ticket
+     * @throws IllegalArgumentException if the ticket is in progress
+     */
+    private void checkCanDelete(TicketView ticket, AuthenticatedUser user) {
+        if (user.role() == Role.IT_SUPPORT) {
+            return;
+        }
+        if (!ticket.getCreatedById().equals(user.id())) {
+            throw new UnauthorizedAccessException("Employee is not the creator of this ticket");
+        }
+        if (ticket.getStatus().equals(TicketStatus.IN_PROGRESS)) {
+            throw new IllegalArgumentException("Cannot delete a ticket that is in progress");
         }
+    }
+
+    /**
+     * Deletes the given tickets together with their comments and audit logs, using one bulk statement per table
+     * regardless of how many rows are involved, and publishes a {@link TicketDeletedEvent} for each ticket.
+     *
+     * @param tickets the tickets to delete
+     */
+    private void deleteAll(Collection<TicketView> tickets) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        List<UUID> ticketIds = tickets.stream().map(TicketView::getId).toList();
+        commentService.deleteCommentsForTickets(ticketIds);
+        auditLogService.deleteLogsForTickets(ticketIds);
+        ticketRepository.deleteByIdIn(ticketIds);
+        tickets.forEach(ticket -> eventPublisher.publishEvent(new TicketDeletedEvent(TicketSnapshot.of(ticket))));
+    }
 
-        auditLogService.deleteLogsForTicket(ticket);
 
-        ticketRepository.delete(ticket);
-        logger.info("Ticket {} deleted by user {}", ticket.getId(), user.getUsername());
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TicketResponseDTO> searchTickets(TicketSearchCriteria criteria, Pageable pageable,
+                                                 TotalCountMode totalMode) {
+        Specification<Ticket> spec = buildSearchSpecification(criteria);
+        TotalAwarePage<Ticket> tickets = totalCountCache.page(
+                CountKey.of(TotalCountCache.TICKETS, "search", criteria == null ? null : criteria.toString()),
+                totalMode, withDefaultSort(pageable),
+                page -> ticketRepository.findAll(spec, page),
+                page -> ticketRepository.findSlice(spec, page),
+                () -> ticketRepository.count(spec));
+        return tickets.withContent(attachComments(tickets.getContent().stream()
+                .map(ticketMapper::ticketToTicketSummaryDTO)
+                .toList()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TicketResponseDTO> sliceSearchTickets(TicketSearchCriteria criteria, Pageable pageable) {
+        Slice<Ticket> tickets = ticketRepository.findSlice(buildSearchSpecification(criteria),
+                withDefaultSort(pageable));
+        List<TicketResponseDTO> content = attachComments(tickets.getContent().stream()
+                .map(ticketMapper::ticketToTicketSummaryDTO)
+                .toList());
+        return new SliceImpl<>(content, tickets.getPageable(), tickets.hasNext());
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Page<TicketResponseDTO> searchTickets(String ticketId, String status, Pageable pageable) {
-        Optional<UUID> ticketUuidOpt = TicketSearchUtil.parseUuid(ticketId);
-        Optional<TicketStatus> statusOpt = TicketSearchUtil.parseTicketStatus(status);
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TicketResponseDTO> scrollSearchTickets(TicketSearchCriteria criteria, String cursor,
+                                                                int size) {
+        return scroll(buildSearchSpecification(criteria), cursor, size);
+    }
 
+    /**
+     * Orders unsorted searches newest first, which every search index on {@code tickets} ends with.
+     *
+     * @param pageable the requested page
+     * @return the requested page, sorted by creation date if no order was given
+     */
+    private static Pageable withDefaultSort(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), SCROLL_SORT);
+    }
+
+    /**
+     * Builds the search filters shared by the offset, slice and cursor-based search.
+     *
+     * @param criteria the filters to apply; null or empty values are ignored
+     * @return a specification combining the provided filters
+     * @throws IllegalArgumentException if a filter value is malformed or a date range is reversed
+     */
+    private Specification<Ticket> buildSearchSpecification(TicketSearchCriteria criteria) {
         Specification<Ticket> spec = Specification.where(null);
+        if (criteria == null) {
+            return spec;
+        }
+
+        Optional<UUID> ticketUuidOpt = TicketSearchUtil.parseUuid(criteria.getTicketId());
+        Optional<TicketStatus> statusOpt = TicketSearchUtil.parseTicketStatus(criteria.getStatus());
+        Optional<TicketPriority> priorityOpt = TicketSearchUtil.parseTicketPriority(criteria.getPriority());
+        Optional<TicketCategory> categoryOpt = TicketSearchUtil.parseTicketCategory(criteria.getCategory());
+        Optional<UUID> assignedToOpt = TicketSearchUtil.parseUuid(criteria.getAssignedToId(), "assignedToId");
+        Optional<UUID> createdByOpt = TicketSearchUtil.parseUuid(criteria.getCreatedById(), "createdById");
 
         if (ticketUuidOpt.isPresent()) {
             spec = spec.and((root, query, criteriaBuilder) ->
                     criteriaBuilder.equal(root.get("id"), ticketUuidOpt.get()));
         }
-
         if (statusOpt.isPresent()) {
             spec = spec.and((root, query, criteriaBuilder) ->
                     criteriaBuilder.equal(root.get("status"), statusOpt.get()));
         }
-
-        Page<Ticket> tickets = ticketRepository.findAll(spec, pageable);
-
-        if (tickets.isEmpty()) {
-            throw new TicketNotFoundException("No tickets found with the provided criteria");
+        if (priorityOpt.isPresent()) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.equal(root.get("priority"), priorityOpt.get()));
+        }
+        if (categoryOpt.isPresent()) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.equal(root.get("category"), categoryOpt.get()));
+        }
+        if (assignedToOpt.isPresent()) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.equal(root.get("assignedTo").get("id"), assignedToOpt.get()));
         }
+        if (createdByOpt.isPresent()) {
+            spec = spec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.equal(root.get("createdBy").get("id"), createdByOpt.get()));
+        }
+        spec = spec.and(dateRange("createdAt", criteria.getCreatedFrom(), "createdFrom",
+                criteria.getCreatedTo(), "createdTo"));
+        spec = spec.and(dateRange("updatedAt", criteria.getUpdatedFrom(), "updatedFrom",
+                criteria.getUpdatedTo(), "updatedTo"));
+        return spec;
+    }
 
-        return tickets.map(ticketMapper::ticketToTicketResponseDTO);
+    /**
+     * Builds a {@code from <= attribute < to} filter; either bound may be omitted.
+     *
+     * @return the range filter, or null if neither bound is given
+     * @throws IllegalArgumentException if a bound is malformed or {@code from} is after {@code to}
+     */
+    private static Specification<Ticket> dateRange(String attribute, String from, String fromName,
+                                                   String to, String toName) {
+        Optional<LocalDateTime> fromOpt = TicketSearchUtil.parseDateTime(from, fromName);
+        Optional<LocalDateTime> toOpt = TicketSearchUtil.parseDateTime(to, toName);
+        TicketSearchUtil.checkDateRange(fromOpt.orElse(null), fromName, toOpt.orElse(null), toName);
+        Specification<Ticket> spec = null;
+        if (fromOpt.isPresent()) {
+            spec = (root, query, criteriaBuilder) ->
+                    criteriaBuilder.greaterThanOrEqualTo(root.<LocalDateTime>get(attribute), fromOpt.get());
+        }
+        if (toOpt.isPresent()) {
+            Specification<Ticket> before = (root, query, criteriaBuilder) ->
+                    criteriaBuilder.lessThan(root.<LocalDateTime>get(attribute), toOpt.get());
+            spec = spec == null ? before : spec.and(before);
+        }
+        return spec;
     }
 }
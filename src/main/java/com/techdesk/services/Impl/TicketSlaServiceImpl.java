@@ -0,0 +1,272 @@
+package com.techdesk.services.Impl;
+
+import com.techdesk.entities.Ticket;
+import com.techdesk.entities.enums.SlaKind;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketDeletedEvent;
+import com.techdesk.events.TicketEscalatedEvent;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.events.TicketUpdatedEvent;
+import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.TicketSlaView;
+import com.techdesk.services.AuditLogService;
+import com.techdesk.services.TicketSlaService;
+import com.techdesk.utils.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementation of the {@link TicketSlaService} interface.
+ * <p>
+ * The deadlines of open tickets are held in a {@link TimingWheel}: they are armed when a ticket is created, moved
+ * when its priority changes, cancelled once its status meets the target and re-armed when it is reopened, all from
+ * the ticket events after their transaction has committed. At startup the wheel is filled from the open tickets,
+ * so the database is read only then and when a deadline actually passes.
+ * </p>
+ * <p>
+ * A passed deadline is checked against the current state of the ticket before the breach is recorded, which
+ * covers a change that committed while the deadline expired. The breach is then marked on the ticket itself, and
+ * only logged and escalated if it was not marked before, so a ticket misses each target once even across
+ * restarts and after its logs were archived. Targets already missed are not armed again at startup. Every
+ * instance with {@code techdesk.sla.enabled} records breaches, so it should be set on one instance only.
+ * </p>
+ */
+@Service
+public class TicketSlaServiceImpl implements TicketSlaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketSlaServiceImpl.class);
+
+    private static final List<TicketStatus> CLOSED_STATUSES = List.of(TicketStatus.RESOLVED, TicketStatus.CLOSED);
+
+    /**
+     * How long a breach that could not be recorded waits before it is tried again.
+     */
+    static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private record SlaTimer(UUID ticketId, SlaKind kind) {
+    }
+
+    private final TicketRepository ticketRepository;
+    private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Map<SlaKind, Map<TicketPriority, Duration>> targets = new EnumMap<>(SlaKind.class);
+    private final TimingWheel<SlaTimer> deadlines;
+
+    /**
+     * Constructs a {@code TicketSlaServiceImpl} with the required dependencies.
+     *
+     * @param ticketRepository   the repository for managing Ticket entities
+     * @param auditLogService    the service recording breaches in the ticket's audit logs
+     * @param eventPublisher     the publisher of the escalation events
+     * @param transactionManager the transaction manager; every breach is recorded in its own transaction
+     * @param enabled            whether deadlines are tracked at all
+     * @param responseTargets    the response target per priority, e.g. {@code LOW=PT24H,...,CRITICAL=PT30M}
+     * @param resolutionTargets  the resolution target per priority, in the same form
+     * @param tick               the resolution of the deadlines and the interval of {@link #checkDeadlines()}
+     */
+    public TicketSlaServiceImpl(TicketRepository ticketRepository, AuditLogService auditLogService,
+                                ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                                @Value("${techdesk.sla.enabled:true}") boolean enabled,
+                                @Value("${techdesk.sla.response-targets:LOW=PT24H,MEDIUM=PT8H,HIGH=PT2H,CRITICAL=PT30M}")
+                                String responseTargets,
+                                @Value("${techdesk.sla.resolution-targets:LOW=P5D,MEDIUM=P3D,HIGH=PT24H,CRITICAL=PT8H}")
+                                String resolutionTargets,
+                                @Value("${techdesk.sla.tick:PT1S}") Duration tick) {
+        this.ticketRepository = ticketRepository;
+        this.auditLogService = auditLogService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.targets.put(SlaKind.RESPONSE, parseTargets("techdesk.sla.response-targets", responseTargets));
+        this.targets.put(SlaKind.RESOLUTION, parseTargets("techdesk.sla.resolution-targets", resolutionTargets));
+        this.deadlines = new TimingWheel<>(tick.toMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * Parses targets of the form {@code PRIORITY=ISO-8601 duration}, separated by commas, one for every priority.
+     */
+    static Map<TicketPriority, Duration> parseTargets(String property, String value) {
+        Map<TicketPriority, Duration> parsed = new EnumMap<>(TicketPriority.class);
+        for (String target : value.split(",")) {
+            String[] parts = target.split("=", 2);
+            try {
+                parsed.put(TicketPriority.valueOf(parts[0].trim()), Duration.parse(parts[1].trim()));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(property + " has an invalid target: " + target);
+            }
+        }
+        if (parsed.size() != TicketPriority.values().length) {
+            throw new IllegalArgumentException(property + " must set a target for every priority");
+        }
+        return parsed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<TicketSlaView> openTickets = ticketRepository.findSlaViews(CLOSED_STATUSES);
+        for (TicketSlaView ticket : openTickets) {
+            arm(ticket.getId(), ticket.getStatus(), ticket.getPriority(), ticket.getCreatedAt());
+            for (SlaKind kind : SlaKind.values()) {
+                if (ticket.isBreached(kind)) {
+                    deadlines.cancel(new SlaTimer(ticket.getId(), kind));
+                }
+            }
+        }
+        logger.info("Armed SLA deadlines of {} open tickets", openTickets.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${techdesk.sla.tick:PT1S}", initialDelayString = "${techdesk.sla.tick:PT1S}")
+    public int checkDeadlines() {
+        if (!enabled) {
+            return 0;
+        }
+        int breaches = 0;
+        for (SlaTimer timer : deadlines.advance(System.currentTimeMillis())) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> escalate(timer)))) {
+                    breaches++;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not record the {} SLA breach of Ticket {}, retrying in {}: {}",
+                        timer.kind(), timer.ticketId(), RETRY_DELAY, e.getMessage());
+                deadlines.schedule(timer, System.currentTimeMillis() + RETRY_DELAY.toMillis());
+            }
+        }
+        return breaches;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketCreated(TicketCreatedEvent event) {
+        arm(event.ticket());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        arm(event.ticket());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketUpdated(TicketUpdatedEvent event) {
+        if (event.ticket().priority() != event.previous().priority()) {
+            arm(event.ticket());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketDeleted(TicketDeletedEvent event) {
+        for (SlaKind kind : SlaKind.values()) {
+            deadlines.cancel(new SlaTimer(event.ticket().id(), kind));
+        }
+    }
+
+    private void arm(TicketSnapshot ticket) {
+        if (enabled) {
+            arm(ticket.id(), ticket.status(), ticket.priority(), ticket.createdAt());
+        }
+    }
+
+    /**
+     * Schedules the deadline of every target the ticket has yet to meet and cancels the others.
+     */
+    private void arm(UUID ticketId, TicketStatus status, TicketPriority priority, LocalDateTime createdAt) {
+        for (SlaKind kind : SlaKind.values()) {
+            SlaTimer timer = new SlaTimer(ticketId, kind);
+            if (isPending(kind, status)) {
+                deadlines.schedule(timer, toMillis(deadline(kind, priority, createdAt)));
+            } else {
+                deadlines.cancel(timer);
+            }
+        }
+    }
+
+    /**
+     * Records the breach of an expired deadline, unless the ticket has met the target or moved its deadline in
+     * the meantime, or the breach is already recorded.
+     *
+     * @return whether a breach was recorded
+     */
+    private boolean escalate(SlaTimer timer) {
+        Optional<Ticket> found = ticketRepository.findById(timer.ticketId());
+        if (found.isEmpty() || !isPending(timer.kind(), found.get().getStatus())) {
+            return false;
+        }
+        Ticket ticket = found.get();
+        LocalDateTime deadline = deadline(timer.kind(), ticket.getPriority(), ticket.getCreatedAt());
+        if (deadline.isAfter(LocalDateTime.now())) {
+            deadlines.schedule(timer, toMillis(deadline));
+            return false;
+        }
+        if (markBreached(ticket.getId(), timer.kind()) == 0) {
+            return false;
+        }
+        Duration target = targets.get(timer.kind()).get(ticket.getPriority());
+        auditLogService.logSlaBreach(ticket, timer.kind(), target);
+        eventPublisher.publishEvent(new TicketEscalatedEvent(TicketSnapshot.of(ticket), timer.kind(), target,
+                deadline));
+        logger.warn("Ticket {} ({}) missed its {} target of {}", ticket.getId(), ticket.getPriority(),
+                timer.kind(), target);
+        return true;
+    }
+
+    /**
+     * Marks the breach on the ticket, unless it is already marked.
+     *
+     * @return the number of tickets marked, 0 if the breach was marked before
+     */
+    private int markBreached(UUID ticketId, SlaKind kind) {
+        LocalDateTime now = LocalDateTime.now();
+        return switch (kind) {
+            case RESPONSE -> ticketRepository.markResponseBreached(ticketId, now);
+            case RESOLUTION -> ticketRepository.markResolutionBreached(ticketId, now);
+        };
+    }
+
+    private static boolean isPending(SlaKind kind, TicketStatus status) {
+        return switch (kind) {
+            case RESPONSE -> status == TicketStatus.NEW;
+            case RESOLUTION -> !CLOSED_STATUSES.contains(status);
+        };
+    }
+
+    private LocalDateTime deadline(SlaKind kind, TicketPriority priority, LocalDateTime createdAt) {
+        return (createdAt == null ? LocalDateTime.now() : createdAt).plus(targets.get(kind).get(priority));
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,128 @@
+package com.techdesk.services.Impl;
+
+import com.techdesk.dto.TicketStatsDTO;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketDeletedEvent;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.events.TicketUpdatedEvent;
+import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.TicketCountView;
+import com.techdesk.services.TicketStatsService;
+import com.techdesk.utils.TicketStatsCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Implementation of the {@link TicketStatsService} interface.
+ * <p>
+ * The counters are loaded with one grouped count at startup and then follow the ticket events published by the
+ * create, status update, employee update and delete paths, after their transaction has committed. A periodic
+ * reconciliation corrects changes that were missed or made outside the application.
+ * </p>
+ * <p>
+ * An event applied while the grouped count runs may or may not be part of its result, so such a count is not
+ * applied: the reconciliation counts again, up to {@value #RECONCILE_ATTEMPTS} times, and otherwise leaves the
+ * counters as they are until the next run.
+ * </p>
+ */
+@Service
+public class TicketStatsServiceImpl implements TicketStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketStatsServiceImpl.class);
+
+    static final int RECONCILE_ATTEMPTS = 3;
+
+    private final TicketRepository ticketRepository;
+    private final TicketStatsCounters counters;
+
+    /**
+     * Constructs a {@code TicketStatsServiceImpl}.
+     *
+     * @param ticketRepository the repository for managing Ticket entities
+     * @param counters         the in-memory ticket counts
+     */
+    public TicketStatsServiceImpl(TicketRepository ticketRepository, TicketStatsCounters counters) {
+        this.ticketRepository = ticketRepository;
+        this.counters = counters;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TicketStatsDTO getStats() {
+        if (!counters.isReconciled()) {
+            reconcile();
+        }
+        return counters.snapshot();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${techdesk.stats.reconcile-interval:PT10M}",
+            initialDelayString = "${techdesk.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            long version = counters.version();
+            List<TicketCountView> counts = ticketRepository.countByDimensions();
+            OptionalLong drift = counters.resetIfUnchanged(counts, version);
+            if (drift.isPresent()) {
+                logReconciled(drift.getAsLong());
+                return;
+            }
+        }
+        if (!counters.isReconciled()) {
+            // Without a first load the counters only hold the events seen so far; the latest count is closer.
+            logReconciled(counters.reset(ticketRepository.countByDimensions()));
+            return;
+        }
+        logger.info("Ticket stats not reconciled, tickets changed during each of {} counts", RECONCILE_ATTEMPTS);
+    }
+
+    private static void logReconciled(long drift) {
+        if (drift != 0) {
+            logger.warn("Ticket stats reconciled, in-memory total was off by {}", drift);
+        } else {
+            logger.info("Ticket stats reconciled");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketCreated(TicketCreatedEvent event) {
+        adjust(event.ticket(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        TicketSnapshot ticket = event.ticket();
+        counters.adjust(event.oldStatus(), ticket.priority(), ticket.category(), ticket.assignedToId(), -1);
+        adjust(ticket, 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketUpdated(TicketUpdatedEvent event) {
+        adjust(event.previous(), -1);
+        adjust(event.ticket(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketDeleted(TicketDeletedEvent event) {
+        adjust(event.ticket(), -1);
+    }
+
+    private void adjust(TicketSnapshot ticket, long delta) {
+        counters.adjust(ticket.status(), ticket.priority(), ticket.category(), ticket.assignedToId(), delta);
+    }
+}
@@ -0,0 +1,259 @@
+package com.techdesk.services.Impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.dto.TicketStreamEventDTO;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.events.CommentAddedEvent;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.services.TicketStreamService;
+import com.techdesk.web.errors.UnauthorizedAccessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the {@link TicketStreamService} interface.
+ * <p>
+ * Ticket events are picked up after their transaction has committed, serialized once and offered to the bounded
+ * queue of every subscriber allowed to see the ticket. Publishing never waits for a client: each queue is drained
+ * by its own virtual thread, started only while the queue has events, so a slow client delays nobody else. A
+ * subscriber whose queue is full has fallen too far behind and is disconnected; its client reconnects and reloads.
+ * </p>
+ * <p>
+ * A heartbeat comment is queued every {@code heartbeat-interval} to keep idle connections open through proxies and
+ * to notice clients that went away. Exposes the meters {@code techdesk.stream.subscribers} and
+ * {@code techdesk.stream.dropped}.
+ * </p>
+ */
+@Service
+public class TicketStreamServiceImpl implements TicketStreamService, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketStreamServiceImpl.class);
+
+    /**
+     * An event serialized once and shared by the queues of all subscribers receiving it.
+     */
+    private record StreamEvent(long id, String name, String data) {
+    }
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Counter dropped;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Constructs a {@code TicketStreamServiceImpl}.
+     *
+     * @param objectMapper  the mapper serializing the events
+     * @param meterRegistry the registry for the stream meters
+     * @param bufferSize    the number of events a subscriber may fall behind before it is disconnected
+     * @param timeout       how long a stream stays open before the client has to reconnect
+     */
+    public TicketStreamServiceImpl(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                   @Value("${techdesk.stream.buffer-size:256}") int bufferSize,
+                                   @Value("${techdesk.stream.timeout:PT30M}") Duration timeout) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("techdesk.stream.buffer-size must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        Gauge.builder("techdesk.stream.subscribers", subscribers, Set::size)
+                .description("Open ticket event streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("techdesk.stream.dropped")
+                .description("Ticket event streams closed because the client fell too far behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SseEmitter subscribe(AuthenticatedUser user, boolean allTickets) {
+        if (allTickets && user.role() != Role.IT_SUPPORT) {
+            throw new UnauthorizedAccessException("Only IT support agents can follow all tickets");
+        }
+        SseEmitter emitter = newEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(user, allTickets, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // Sends the response headers right away instead of with the first event.
+        subscriber.offer(HEARTBEAT);
+        logger.debug("User {} opened a ticket event stream", user.username());
+        return emitter;
+    }
+
+    /**
+     * Creates the emitter of a new stream.
+     *
+     * @param timeoutMillis the stream timeout in milliseconds
+     * @return a new emitter
+     */
+    protected SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${techdesk.stream.heartbeat-interval:PT30S}",
+            initialDelayString = "${techdesk.stream.heartbeat-interval:PT30S}")
+    public void sendHeartbeats() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketCreated(TicketCreatedEvent event) {
+        TicketSnapshot ticket = event.ticket();
+        publish(new TicketStreamEventDTO(TicketStreamEventDTO.TICKET_CREATED, ticket.id(), ticket.title(),
+                ticket.status(), null, ticket.priority(), ticket.assignedToId(), null, null,
+                ticket.createdAt()), ticket.createdById(), ticket.assignedToId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        TicketSnapshot ticket = event.ticket();
+        publish(new TicketStreamEventDTO(TicketStreamEventDTO.STATUS_CHANGED, ticket.id(), ticket.title(),
+                ticket.status(), event.oldStatus(), ticket.priority(), ticket.assignedToId(), null, null,
+                ticket.updatedAt() == null ? LocalDateTime.now() : ticket.updatedAt()),
+                ticket.createdById(), ticket.assignedToId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent event) {
+        publish(new TicketStreamEventDTO(TicketStreamEventDTO.COMMENT_ADDED, event.ticketId(), null, null, null,
+                null, event.ticketAssignedToId(), event.commentId(), event.text(), event.createdAt()),
+                event.ticketCreatedById(), event.ticketAssignedToId());
+    }
+
+    private void publish(TicketStreamEventDTO dto, UUID createdById, UUID assignedToId) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        StreamEvent event;
+        try {
+            event = new StreamEvent(sequence.incrementAndGet(), dto.getType(), objectMapper.writeValueAsString(dto));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize the {} event of ticket {}: {}", dto.getType(), dto.getTicketId(),
+                    e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.receives(createdById, assignedToId)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Closes all open streams; clients reconnect to another instance or once this one is back.
+     */
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    private final class Subscriber {
+
+        private final AuthenticatedUser user;
+        private final boolean allTickets;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(AuthenticatedUser user, boolean allTickets, SseEmitter emitter) {
+            this.user = user;
+            this.allTickets = allTickets;
+            this.emitter = emitter;
+        }
+
+        private boolean receives(UUID createdById, UUID assignedToId) {
+            if (user.role() == Role.IT_SUPPORT) {
+                return allTickets || user.id().equals(assignedToId);
+            }
+            return user.id().equals(createdById);
+        }
+
+        /**
+         * Queues an event without blocking and starts a sender if none is running.
+         */
+        private void offer(StreamEvent event) {
+            if (!queue.offer(event)) {
+                if (subscribers.remove(this)) {
+                    dropped.increment();
+                    logger.warn("Closed the ticket event stream of user {}: more than {} events behind",
+                            user.username(), bufferSize);
+                    emitter.complete();
+                }
+                return;
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        /**
+         * Sends the queued events until the queue is empty. The flag is cleared before the final check so that an
+         * event queued in between either is seen here or starts a new sender.
+         */
+        private void send() {
+            do {
+                StreamEvent event;
+                while ((event = queue.poll()) != null) {
+                    try {
+                        emitter.send(event == HEARTBEAT
+                                ? SseEmitter.event().comment("heartbeat")
+                                : SseEmitter.event().id(Long.toString(event.id())).name(event.name())
+                                        .data(event.data(), MediaType.APPLICATION_JSON));
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away or the stream was closed; the sending flag stays set.
+                        subscribers.remove(this);
+                        return;
+                    }
+                }
+                sending.set(false);
+            } while (!queue.isEmpty() && sending.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.techdesk.services.Impl;
+
+import com.techdesk.dto.TicketSearchHitDTO;
+import com.techdesk.dto.mappers.TicketMapper;
+import com.techdesk.events.CommentAddedEvent;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketDeletedEvent;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.events.TicketUpdatedEvent;
+import com.techdesk.repositories.CommentRepository;
+import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.CommentTextView;
+import com.techdesk.repositories.projections.TicketView;
+import com.techdesk.services.TicketTextSearchService;
+import com.techdesk.utils.TicketSearchUtil;
+import com.techdesk.utils.TicketTextIndex;
+import com.techdesk.utils.TicketTextIndex.CommentDocument;
+import com.techdesk.utils.TicketTextIndex.Document;
+import com.techdesk.utils.TicketTextIndex.Hit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the {@link TicketTextSearchService} interface.
+ * <p>
+ * Keeps the {@link TicketTextIndex} current from ticket and comment events, and rebuilds it from the database in the
+ * background once the application has started. The rebuild reads tickets and comments in keyset-ordered batches and
+ * indexes each batch in parallel while the next one is being fetched.
+ * </p>
+ */
+@Service
+public class TicketTextSearchServiceImpl implements TicketTextSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketTextSearchServiceImpl.class);
+
+    /**
+     * Largest number of results a single search may request.
+     */
+    static final int MAX_RESULTS = 100;
+
+    /**
+     * Starting point of the keyset scans; sorts before every stored id.
+     */
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final TicketTextIndex ticketTextIndex;
+    private final TicketRepository ticketRepository;
+    private final CommentRepository commentRepository;
+    private final TicketMapper ticketMapper;
+
+    @Value("${techdesk.search.rebuild-batch-size:5000}")
+    private int rebuildBatchSize = 5000;
+
+    /**
+     * Constructs a {@code TicketTextSearchServiceImpl} with the required dependencies.
+     *
+     * @param ticketTextIndex   the in-memory full-text index
+     * @param ticketRepository  the repository for managing Ticket entities
+     * @param commentRepository the repository for managing Comment entities
+     * @param ticketMapper      the mapper for converting ticket projections to DTOs
+     */
+    public TicketTextSearchServiceImpl(TicketTextIndex ticketTextIndex, TicketRepository ticketRepository,
+                                       CommentRepository commentRepository, TicketMapper ticketMapper) {
+        this.ticketTextIndex = ticketTextIndex;
+        this.ticketRepository = ticketRepository;
+        this.commentRepository = commentRepository;
+        this.ticketMapper = ticketMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketSearchHitDTO> search(String query, String status, String priority, String category, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        List<Hit> hits = ticketTextIndex.search(query,
+                TicketSearchUtil.parseTicketStatus(status).orElse(null),
+                TicketSearchUtil.parseTicketPriority(priority).orElse(null),
+                TicketSearchUtil.parseTicketCategory(category).orElse(null),
+                limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, TicketView> ticketsById = ticketRepository.findViewsByIdIn(hits.stream().map(Hit::ticketId).toList())
+                .stream()
+                .collect(Collectors.toMap(TicketView::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> ticketsById.containsKey(hit.ticketId()))
+                .map(hit -> new TicketSearchHitDTO(
+                        ticketMapper.ticketViewToTicketResponseDTO(ticketsById.get(hit.ticketId())), hit.score()))
+                .toList();
+    }
+
+    /**
+     * Starts the initial rebuild on a background thread so that startup is not held up by large ticket tables.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuild = new Thread(this::rebuildIndex, "ticket-index-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rebuildIndex() {
+        long start = System.nanoTime();
+        TicketTextIndex.Rebuild rebuild = ticketTextIndex.startRebuild();
+        try {
+            int tickets = load(
+                    afterId -> ticketRepository.findViewsAfterId(afterId, PageRequest.of(0, rebuildBatchSize)),
+                    TicketView::getId,
+                    batch -> rebuild.addTickets(batch.stream().map(TicketTextSearchServiceImpl::viewToDocument).toList()));
+            int comments = load(
+                    afterId -> commentRepository.findTextViewsAfterId(afterId, PageRequest.of(0, rebuildBatchSize)),
+                    CommentTextView::getId,
+                    batch -> rebuild.addComments(batch.stream()
+                            .map(comment -> new CommentDocument(comment.getTicketId(), comment.getId(), comment.getText()))
+                            .toList()));
+            ticketTextIndex.finishRebuild(rebuild);
+            logger.info("Full-text index rebuilt with {} tickets and {} comments in {} ms",
+                    tickets, comments, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            ticketTextIndex.abortRebuild(rebuild);
+            logger.error("Full-text index rebuild failed; keeping the previous index", e);
+        }
+    }
+
+    /**
+     * Reads all rows in batches ordered by id, indexing each batch on the common pool while the next batch is read.
+     *
+     * @return the number of rows read
+     */
+    private <T> int load(Function<UUID, List<T>> fetchAfter, Function<T, UUID> idOf, Consumer<List<T>> index) {
+        int loaded = 0;
+        CompletableFuture<Void> indexing = CompletableFuture.completedFuture(null);
+        List<T> batch = fetchAfter.apply(FIRST_ID);
+        while (!batch.isEmpty()) {
+            List<T> current = batch;
+            indexing.join();
+            indexing = CompletableFuture.runAsync(() -> index.accept(current));
+            loaded += current.size();
+            batch = current.size() < rebuildBatchSize
+                    ? List.of()
+                    : fetchAfter.apply(idOf.apply(current.get(current.size() - 1)));
+        }
+        indexing.join();
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketCreated(TicketCreatedEvent event) {
+        ticketTextIndex.indexTicket(toDocument(event.ticket()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketUpdated(TicketUpdatedEvent event) {
+        ticketTextIndex.indexTicket(toDocument(event.ticket()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        ticketTextIndex.indexTicket(toDocument(event.ticket()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketDeleted(TicketDeletedEvent event) {
+        ticketTextIndex.remove(event.ticket().id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent event) {
+        ticketTextIndex.indexComment(new CommentDocument(event.ticketId(), event.commentId(), event.text()));
+    }
+
+    private static Document toDocument(TicketSnapshot ticket) {
+        return new Document(ticket.id(), ticket.title(), ticket.description(),
+                ticket.status(), ticket.priority(), ticket.category());
+    }
+
+    private static Document viewToDocument(TicketView ticket) {
+        return new Document(ticket.getId(), ticket.getTitle(), ticket.getDescription(),
+                ticket.getStatus(), ticket.getPriority(), ticket.getCategory());
+    }
+}
@@ -2,10 +2,13 @@ package com.techdesk.services.Impl;
 
 
 import com.techdesk.entities.AppUser;
+import com.techdesk.events.UserRegisteredEvent;
 import com.techdesk.repositories.AppUserRepository;
 import com.techdesk.services.UserService;
+import com.techdesk.utils.UserCache;
+import com.techdesk.utils.UserCache.UserSnapshot;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -14,28 +17,53 @@ import java.util.UUID;
  * Implementation of the {@link UserService} interface.
  * <p>
  * This class provides methods to retrieve {@link AppUser} entities using the {@link AppUserRepository}.
+ * Lookups go through a {@link UserCache}, so resolving the user behind a request usually does not touch the
+ * database; every call returns a new detached copy of the cached snapshot.
  * </p>
  */
 @Service
 public class UserServiceImpl implements UserService {
 
     private final AppUserRepository appUserRepository;
+    private final UserCache userCache;
 
     /**
      * Constructs a {@code UserServiceImpl} with the required {@link AppUserRepository}.
      *
      * @param appUserRepository the repository used to perform user operations
+     * @param userCache         the cache of recently loaded users
      */
-    public UserServiceImpl(AppUserRepository appUserRepository) {
+    public UserServiceImpl(AppUserRepository appUserRepository, UserCache userCache) {
         this.appUserRepository = appUserRepository;
+        this.userCache = userCache;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
     public Optional<AppUser> findById(UUID id) {
-        return appUserRepository.findById(id);
+        return userCache.getById(id, appUserRepository::findById).map(UserSnapshot::toAppUser);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<AppUser> findByUsername(String username) {
+        return userCache.getByUsername(username, appUserRepository::findByUsername).map(UserSnapshot::toAppUser);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void evictUser(UUID id) {
+        userCache.evict(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        userCache.evict(event.userId());
     }
 }
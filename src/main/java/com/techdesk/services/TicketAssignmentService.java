@@ -3,6 +3,8 @@ package com.techdesk.services;
 import com.techdesk.entities.AppUser;
 import com.techdesk.entities.Ticket;
 
+import java.util.List;
+
 /**
  * Service interface for assigning tickets to support agents.
  *
@@ -19,4 +21,13 @@ public interface TicketAssignmentService {
      * @throws com.techdesk.web.errors.NoSupportAgentAvailableException if no support agents are available for assignment
      */
     AppUser assignTicket(Ticket ticket);
+
+    /**
+     * Assigns each of the given tickets to a support agent in a single pass, spreading them across agents.
+     *
+     * @param tickets the tickets to assign
+     * @return the support agents assigned to the tickets, in the same order as the tickets
+     * @throws com.techdesk.web.errors.NoSupportAgentAvailableException if no support agents are available for assignment
+     */
+    List<AppUser> assignTickets(List<Ticket> tickets);
 }
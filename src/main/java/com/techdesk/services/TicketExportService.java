@@ -0,0 +1,33 @@
+package com.techdesk.services;
+
+import com.techdesk.entities.enums.TicketStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for exporting tickets in bulk.
+ *
+ * Exports are streamed: rows are read through a forward-only database cursor and written as they arrive,
+ * so memory use does not depend on the number of exported tickets.
+ */
+public interface TicketExportService {
+
+    /**
+     * Writes all tickets matching the given optional filters as newline-delimited JSON, one ticket per line,
+     * oldest first. Comments are not included.
+     *
+     * The filters are parsed and checked by the caller before the response is committed, as errors raised while
+     * streaming can no longer change the response status.
+     *
+     * @param status the ticket status to export, or null for all statuses
+     * @param createdFrom the inclusive lower bound of the creation date, or null
+     * @param createdTo the exclusive upper bound of the creation date, or null
+     * @param out the stream to write to; it is flushed but not closed
+     * @return the number of exported tickets
+     * @throws IOException if writing to the stream fails, for instance because the client disconnected
+     */
+    long exportTickets(TicketStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, OutputStream out)
+            throws IOException;
+}
@@ -1,13 +1,20 @@
 package com.techdesk.services;
 
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.dto.BulkTicketResultDTO;
 import com.techdesk.dto.CreateTicketDTO;
+import com.techdesk.dto.CursorPageDTO;
 import com.techdesk.dto.TicketResponseDTO;
+import com.techdesk.dto.TicketSearchCriteria;
+import com.techdesk.dto.TotalCountMode;
 import com.techdesk.dto.UpdateTicketEmployeeDTO;
 import com.techdesk.dto.UpdateTicketStatusDTO;
 import com.techdesk.entities.Ticket;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,14 +38,28 @@ public interface TicketService {
      */
     TicketResponseDTO createTicket(CreateTicketDTO createTicketDTO, UUID employeeId);
 
+    /**
+     * Creates several tickets for the given employee in a single transaction.
+     *
+     * Each item is validated on its own; invalid items are reported in the result and skipped, while all valid
+     * items are assigned to support agents in one pass and inserted together.
+     *
+     * @param createTicketDTOs the ticket details, one entry per ticket to create
+     * @param employeeId the unique identifier of the employee creating the tickets
+     * @return one result per requested ticket, in request order
+     * @throws IllegalArgumentException if the employee is not found or the batch is empty or too large
+     */
+    List<BulkTicketResultDTO> createTickets(List<CreateTicketDTO> createTicketDTOs, UUID employeeId);
+
     /**
      * Retrieves a paginated list of tickets created by the specified employee.
      *
      * @param employeeId the unique identifier of the employee
      * @param pageable pagination and sorting information
+     * @param totalMode how the total is determined, or null for the configured default
      * @return a page of TicketResponseDTO objects representing the employee's tickets
      */
-    Page<TicketResponseDTO> getTicketsForEmployee(UUID employeeId, Pageable pageable);
+    Page<TicketResponseDTO> getTicketsForEmployee(UUID employeeId, Pageable pageable, TotalCountMode totalMode);
 
     /**
      * Retrieves a ticket by its unique identifier, ensuring that the ticket was created by the specified employee.
@@ -50,41 +71,90 @@ public interface TicketService {
      */
     TicketResponseDTO getTicketByIdForEmployee(UUID ticketId, UUID employeeId);
 
+    /**
+     * Retrieves a page of tickets created by the specified employee using keyset pagination.
+     *
+     * Tickets are returned newest first. Unlike {@link #getTicketsForEmployee(UUID, Pageable)} this neither skips
+     * over an offset nor counts the matching rows, so deep pages cost the same as the first one.
+     *
+     * @param employeeId the unique identifier of the employee
+     * @param cursor the cursor returned with the previous page, or null/empty for the first page
+     * @param size the maximum number of tickets to return
+     * @return a cursor page of TicketResponseDTO objects and the cursor of the following page, if any
+     * @throws IllegalArgumentException if the cursor is malformed or the size is out of range
+     */
+    CursorPageDTO<TicketResponseDTO> scrollTicketsForEmployee(UUID employeeId, String cursor, int size);
+
     // IT Support operations
 
     /**
      * Retrieves a paginated list of all tickets.
      *
      * @param pageable pagination and sorting information
+     * @param totalMode how the total is determined, or null for the configured default
      * @return a page of TicketResponseDTO objects representing all tickets in the system
      */
-    Page<TicketResponseDTO> getAllTickets(Pageable pageable);
+    Page<TicketResponseDTO> getAllTickets(Pageable pageable, TotalCountMode totalMode);
+
+    /**
+     * Retrieves a page of all tickets using keyset pagination, newest first, without a total count.
+     *
+     * @param cursor the cursor returned with the previous page, or null/empty for the first page
+     * @param size the maximum number of tickets to return
+     * @return a cursor page of TicketResponseDTO objects and the cursor of the following page, if any
+     * @throws IllegalArgumentException if the cursor is malformed or the size is out of range
+     */
+    CursorPageDTO<TicketResponseDTO> scrollAllTickets(String cursor, int size);
 
     /**
      * Updates the status of an existing ticket.
      *
      * @param ticketId the unique identifier of the ticket to update
-     * @param supportUserId the unique identifier of the support user performing the update
+     * @param supportUser the authenticated support user performing the update
      * @param updateDTO the data transfer object containing the new status
      * @return a TicketResponseDTO representing the updated ticket
-     * @throws com.techdesk.web.errors.SupportUserNotFoundException if the support user is not found
      * @throws com.techdesk.web.errors.UnauthorizedAccessException if the support user is not authorized to update the ticket status
      */
-    TicketResponseDTO updateTicketStatus(UUID ticketId, UUID supportUserId, UpdateTicketStatusDTO updateDTO);
+    TicketResponseDTO updateTicketStatus(UUID ticketId, AuthenticatedUser supportUser, UpdateTicketStatusDTO updateDTO);
 
     /**
-     * Searches for tickets based on optional ticket ID and status filters.
+     * Searches for tickets matching all of the given optional criteria.
      *
-     * This method uses dynamic filtering via JPA Specifications. If no tickets match the criteria, a
-     * com.techdesk.web.errors.TicketNotFoundException is thrown.
+     * This method uses dynamic filtering via JPA Specifications; how the matching tickets are counted depends on
+     * {@code totalMode}. Unsorted requests are returned newest first. If no tickets match the criteria, an empty
+     * page is returned.
      *
-     * @param ticketId the ticket ID as a string; may be null or empty if not filtering by ticket ID
-     * @param status the status filter as a string; may be null or empty if not filtering by status
+     * @param criteria the filters to apply; empty values are ignored
      * @param pageable pagination and sorting information
+     * @param totalMode how the total is determined, or null for the configured default
      * @return a page of TicketResponseDTO objects matching the search criteria
-     * @throws com.techdesk.web.errors.TicketNotFoundException if no tickets are found with the provided criteria
+     * @throws IllegalArgumentException if a filter value is malformed
      */
-    Page<TicketResponseDTO> searchTickets(String ticketId, String status, Pageable pageable);
+    Page<TicketResponseDTO> searchTickets(TicketSearchCriteria criteria, Pageable pageable,
+                                          TotalCountMode totalMode);
+
+    /**
+     * Searches for tickets like {@link #searchTickets(TicketSearchCriteria, Pageable)}, but returns a slice that only
+     * tells whether more results follow, so no COUNT query is run.
+     *
+     * @param criteria the filters to apply; empty values are ignored
+     * @param pageable pagination and sorting information
+     * @return a slice of TicketResponseDTO objects matching the search criteria; empty if nothing matches
+     * @throws IllegalArgumentException if a filter value is malformed
+     */
+    Slice<TicketResponseDTO> sliceSearchTickets(TicketSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Searches for tickets using the same filters as {@link #searchTickets(TicketSearchCriteria, Pageable)}, but
+     * with keyset pagination, newest first, and without a total count.
+     *
+     * @param criteria the filters to apply; empty values are ignored
+     * @param cursor the cursor returned with the previous page, or null/empty for the first page
+     * @param size the maximum number of tickets to return
+     * @return a cursor page of matching TicketResponseDTO objects; empty if nothing matches
+     * @throws IllegalArgumentException if a filter or the cursor is malformed, or the size is out of range
+     */
+    CursorPageDTO<TicketResponseDTO> scrollSearchTickets(TicketSearchCriteria criteria, String cursor, int size);
 
     /**
      * Retrieves a ticket entity by its unique identifier.
@@ -123,11 +193,24 @@ public interface TicketService {
      * IT support users may also be allowed to delete tickets based on business rules.
      *
      * @param ticketId the unique identifier of the ticket to delete
-     * @param userId the unique identifier of the user (employee or IT support) requesting deletion
+     * @param user the authenticated user (employee or IT support) requesting deletion
      * @throws com.techdesk.web.errors.TicketNotFoundException if the ticket is not found
      * @throws com.techdesk.web.errors.UnauthorizedAccessException if the user is not allowed to delete the ticket
      * @throws IllegalArgumentException if the ticket status is not "NEW" (in the case of employee deletion)
      */
-    void deleteTicket(UUID ticketId, UUID userId);
+    void deleteTicket(UUID ticketId, AuthenticatedUser user);
+
+    /**
+     * Deletes several tickets on behalf of the given user in a single transaction.
+     *
+     * The same rules as {@link #deleteTicket(UUID, AuthenticatedUser)} apply to every ticket; tickets that are not
+     * found or may not be deleted are reported in the result and left in place, while all others are deleted together.
+     *
+     * @param ticketIds the unique identifiers of the tickets to delete
+     * @param user the authenticated user (employee or IT support) requesting deletion
+     * @return one result per requested ticket id, in request order
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    List<BulkTicketResultDTO> deleteTickets(List<UUID> ticketIds, AuthenticatedUser user);
 
 }
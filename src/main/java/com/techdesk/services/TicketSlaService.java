@@ -0,0 +1,23 @@
+package com.techdesk.services;
+
+/**
+ * Service interface for the SLA targets of tickets.
+ *
+ * Every priority has a target time for the first response, met when the ticket leaves NEW, and one for the
+ * resolution, met when the ticket is resolved or closed, both counted from the creation of the ticket. A missed
+ * target is written to the ticket's audit logs and published as an escalation, once per ticket and target.
+ */
+public interface TicketSlaService {
+
+    /**
+     * Re-arms the deadlines of all open tickets from the database.
+     */
+    void rebuild();
+
+    /**
+     * Records a breach for every deadline that has passed since the last check.
+     *
+     * @return the number of recorded breaches
+     */
+    int checkDeadlines();
+}
@@ -0,0 +1,23 @@
+package com.techdesk.services;
+
+import com.techdesk.dto.TicketStatsDTO;
+
+/**
+ * Service interface for the ticket counts shown on dashboards.
+ *
+ * Counts are kept in memory and updated as tickets change, so reading them does not query the database.
+ */
+public interface TicketStatsService {
+
+    /**
+     * Returns the number of tickets by status, priority, category and assignee.
+     *
+     * @return the current counts
+     */
+    TicketStatsDTO getStats();
+
+    /**
+     * Recomputes all counts from the database, correcting any drift of the in-memory counts.
+     */
+    void reconcile();
+}
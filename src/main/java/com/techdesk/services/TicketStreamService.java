@@ -0,0 +1,29 @@
+package com.techdesk.services;
+
+import com.techdesk.dto.AuthenticatedUser;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for pushing ticket changes to connected clients as Server-Sent Events.
+ *
+ * Clients receive ticket-created, status-changed and comment-added events for the tickets they may see, instead
+ * of polling the ticket listings. Events are not replayed: a client that reconnects should reload its listing once.
+ */
+public interface TicketStreamService {
+
+    /**
+     * Opens an event stream for the given user. Employees receive the events of the tickets they created; IT
+     * support agents those of the tickets assigned to them, or of all tickets.
+     *
+     * @param user       the user opening the stream
+     * @param allTickets whether an IT support agent receives the events of all tickets
+     * @return the emitter to return from the controller
+     * @throws com.techdesk.web.errors.UnauthorizedAccessException if all tickets are requested by another role
+     */
+    SseEmitter subscribe(AuthenticatedUser user, boolean allTickets);
+
+    /**
+     * @return the number of open event streams
+     */
+    int getSubscriberCount();
+}
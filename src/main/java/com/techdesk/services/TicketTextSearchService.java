@@ -0,0 +1,32 @@
+package com.techdesk.services;
+
+import com.techdesk.dto.TicketSearchHitDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for full-text search over tickets.
+ *
+ * Searches the title, description and comments of every ticket through an in-memory index that is kept up to date
+ * as tickets are created, updated, commented on and deleted.
+ */
+public interface TicketTextSearchService {
+
+    /**
+     * Searches tickets by free text, best matches first.
+     *
+     * @param query the words to search for; tickets containing any of them are returned
+     * @param status the status to filter by; may be null or empty
+     * @param priority the priority to filter by; may be null or empty
+     * @param category the category to filter by; may be null or empty
+     * @param limit the maximum number of results
+     * @return the matching tickets with their relevance scores, highest score first
+     * @throws IllegalArgumentException if the query is empty, a filter value is invalid or the limit is out of range
+     */
+    List<TicketSearchHitDTO> search(String query, String status, String priority, String category, int limit);
+
+    /**
+     * Rebuilds the whole index from the database. Searches keep using the previous index until the rebuild is done.
+     */
+    void rebuildIndex();
+}
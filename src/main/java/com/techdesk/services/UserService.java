@@ -10,6 +10,9 @@ import java.util.UUID;
  *
  * This interface provides methods for retrieving user information. Implementations should handle
  * fetching user data from the underlying data store.
+ *
+ * Returned users are detached copies: they can be read and used as references from other entities,
+ * but changes made to them are never persisted.
  */
 public interface UserService {
 
@@ -20,4 +23,21 @@ public interface UserService {
      * @return an Optional containing the found AppUser if present, or an empty Optional otherwise
      */
     Optional<AppUser> findById(UUID id);
+
+    /**
+     * Finds an AppUser by its username.
+     *
+     * @param username the username of the user
+     * @return an Optional containing the found AppUser if present, or an empty Optional otherwise
+     */
+    Optional<AppUser> findByUsername(String username);
+
+    /**
+     * Discards any cached copy of the specified user, so that the next lookup reads it from the data store.
+     *
+     * This method must be called after changing a user's username, password or role.
+     *
+     * @param id the unique identifier of the user
+     */
+    void evictUser(UUID id);
 }
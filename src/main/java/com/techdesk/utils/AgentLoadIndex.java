@@ -0,0 +1,106 @@
+package com.techdesk.utils;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * In-memory index of the number of open tickets assigned to each IT support agent.
+ * <p>
+ * Agents are kept ordered by load, so picking the least loaded agent and updating a load are both O(log n).
+ * All operations are atomic: {@link #reserveLeastLoaded()} picks an agent and counts the new ticket against it
+ * in one step, so concurrent ticket creations see each other's reservations and spread across agents instead
+ * of piling onto the same one.
+ * </p>
+ */
+@Component
+public class AgentLoadIndex {
+
+    private record AgentLoad(UUID agentId, int openTickets) {
+    }
+
+    private static final Comparator<AgentLoad> BY_LOAD = Comparator
+            .comparingInt(AgentLoad::openTickets)
+            .thenComparing(AgentLoad::agentId);
+
+    private final Map<UUID, AgentLoad> loadsByAgent = new HashMap<>();
+    private final NavigableSet<AgentLoad> agentsByLoad = new TreeSet<>(BY_LOAD);
+    private boolean seeded;
+
+    /**
+     * Picks the agent with the fewest open tickets and counts one more ticket against it.
+     *
+     * @return the identifier of the selected agent, or an empty Optional if no agent is known
+     */
+    public synchronized Optional<UUID> reserveLeastLoaded() {
+        AgentLoad leastLoaded = agentsByLoad.pollFirst();
+        if (leastLoaded == null) {
+            return Optional.empty();
+        }
+        put(new AgentLoad(leastLoaded.agentId(), leastLoaded.openTickets() + 1));
+        return Optional.of(leastLoaded.agentId());
+    }
+
+    /**
+     * Adds {@code delta} to the open ticket count of an agent. Unknown agents are ignored; they are picked up
+     * by the next {@link #reset(Map)}.
+     *
+     * @param agentId the identifier of the agent, may be null for unassigned tickets
+     * @param delta   the change in open tickets
+     */
+    public synchronized void adjust(UUID agentId, int delta) {
+        AgentLoad current = agentId == null ? null : loadsByAgent.get(agentId);
+        if (current == null) {
+            return;
+        }
+        agentsByLoad.remove(current);
+        put(new AgentLoad(agentId, Math.max(0, current.openTickets() + delta)));
+    }
+
+    /**
+     * Starts tracking an agent with no open tickets, if it is not tracked yet.
+     *
+     * @param agentId the identifier of the agent
+     */
+    public synchronized void addAgent(UUID agentId) {
+        if (!loadsByAgent.containsKey(agentId)) {
+            put(new AgentLoad(agentId, 0));
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given open ticket counts.
+     *
+     * @param openTicketsByAgent the open ticket count of every agent, including agents with none
+     */
+    public synchronized void reset(Map<UUID, Integer> openTicketsByAgent) {
+        loadsByAgent.clear();
+        agentsByLoad.clear();
+        openTicketsByAgent.forEach((agentId, openTickets) -> put(new AgentLoad(agentId, openTickets)));
+        seeded = true;
+    }
+
+    public synchronized int openTicketsOf(UUID agentId) {
+        AgentLoad load = loadsByAgent.get(agentId);
+        return load == null ? 0 : load.openTickets();
+    }
+
+    public synchronized int size() {
+        return loadsByAgent.size();
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    private void put(AgentLoad load) {
+        loadsByAgent.put(load.agentId(), load);
+        agentsByLoad.add(load);
+    }
+}
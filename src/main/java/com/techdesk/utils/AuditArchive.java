@@ -0,0 +1,637 @@
+package com.techdesk.utils;
+
+import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.repositories.projections.AuditLogExportView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only, compressed archive of audit logs moved out of {@code ticket_audit_logs} by the retention job.
+ * <p>
+ * The archive is a directory of immutable segments. Each segment holds one retention chunk in two files:
+ * {@code audit-<sequence>.seg}, the gzip-compressed rows ordered by timestamp, and {@code audit-<sequence>.idx},
+ * a small uncompressed index with the row count, the timestamp range, the first row id and the number of rows per
+ * ticket. The indexes of all segments are kept in memory, so counting archived rows and finding the segments that
+ * hold a ticket's logs never decompresses anything; only the segments a read actually reaches are inflated.
+ * </p>
+ * <p>
+ * Segments are first written under {@code .tmp} names and renamed once the rows have been deleted from the hot
+ * table ({@link PendingSegment#commit()}). {@link #recover} resolves segments left behind by a crash in between.
+ * </p>
+ * <p>
+ * Segments are never rewritten, so the logs of a deleted ticket stay on disk: {@link #forgetTickets} appends the
+ * ticket ids to {@code deleted-tickets.dat}, and every count, read and scan skips their rows from then on.
+ * </p>
+ * <p>
+ * Exposes the gauges {@code techdesk.audit.archive.segments} and {@code techdesk.audit.archive.rows}.
+ * </p>
+ */
+@Component
+public class AuditArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditArchive.class);
+
+    private static final int INDEX_MAGIC = 0x54444149;
+    private static final int FORMAT_VERSION = 1;
+    private static final String PREFIX = "audit-";
+    private static final String DATA_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String DELETED_TICKETS = "deleted-tickets.dat";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The in-memory index of a committed segment. {@code ticketIds} is sorted and {@code ticketCounts} holds the
+     * number of rows of the ticket at the same position; {@code deletedRows} is the number of rows of deleted
+     * tickets.
+     */
+    private record Segment(long sequence, Path data, int rowCount, UUID firstId,
+                           LocalDateTime minTimestamp, LocalDateTime maxTimestamp,
+                           UUID[] ticketIds, int[] ticketCounts, int deletedRows) {
+
+        int count(UUID ticketId, Set<UUID> deletedTickets) {
+            if (ticketId == null) {
+                return rowCount - deletedRows;
+            }
+            if (deletedTickets.contains(ticketId)) {
+                return 0;
+            }
+            int position = Arrays.binarySearch(ticketIds, ticketId);
+            return position < 0 ? 0 : ticketCounts[position];
+        }
+
+        Segment withDeletedTickets(Set<UUID> deletedTickets) {
+            int deleted = 0;
+            for (int i = 0; i < ticketIds.length; i++) {
+                if (deletedTickets.contains(ticketIds[i])) {
+                    deleted += ticketCounts[i];
+                }
+            }
+            return deleted == deletedRows ? this : new Segment(sequence, data, rowCount, firstId, minTimestamp,
+                    maxTimestamp, ticketIds, ticketCounts, deleted);
+        }
+    }
+
+    private final Path directory;
+
+    /**
+     * Committed segments in ascending sequence order, i.e. oldest first. Replaced as a whole on every commit.
+     */
+    private volatile List<Segment> segments = List.of();
+
+    /**
+     * Tickets deleted after some of their logs were archived. Replaced as a whole, before {@link #segments}.
+     */
+    private volatile Set<UUID> deletedTickets = Set.of();
+
+    /**
+     * Segments written but not yet committed or discarded. Guarded by this archive's lock.
+     */
+    private final Set<Segment> pendingSegments = new HashSet<>();
+    private long nextSequence = 1;
+
+    /**
+     * Constructs an {@code AuditArchive} and loads the indexes of the segments already in the directory.
+     *
+     * @param meterRegistry the registry for the segment and row gauges
+     * @param directory     the directory holding the segments; created on the first archive run
+     */
+    public AuditArchive(MeterRegistry meterRegistry,
+                        @Value("${techdesk.audit.retention.directory:data/audit-archive}") Path directory) {
+        this.directory = directory;
+        load();
+        Gauge.builder("techdesk.audit.archive.segments", this, archive -> archive.segments.size())
+                .description("Committed audit archive segments")
+                .register(meterRegistry);
+        Gauge.builder("techdesk.audit.archive.rows", this, archive -> archive.count(null))
+                .description("Audit logs held in the archive")
+                .register(meterRegistry);
+    }
+
+    private synchronized void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Segment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> indexes = Files.newDirectoryStream(directory, PREFIX + "*" + INDEX_SUFFIX)) {
+            deletedTickets = readDeletedTickets();
+            for (Path index : indexes) {
+                loaded.add(readIndex(index).withDeletedTickets(deletedTickets));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the audit archive in " + directory, e);
+        }
+        loaded.sort(Comparator.comparingLong(Segment::sequence));
+        segments = List.copyOf(loaded);
+        if (!loaded.isEmpty()) {
+            nextSequence = loaded.get(loaded.size() - 1).sequence() + 1;
+        }
+        try (DirectoryStream<Path> pending = Files.newDirectoryStream(directory, PREFIX + "*" + TEMP_SUFFIX)) {
+            for (Path file : pending) {
+                nextSequence = Math.max(nextSequence, sequenceOf(file) + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the audit archive in " + directory, e);
+        }
+        logger.info("Audit archive in {} has {} segments with {} rows", directory, loaded.size(), count(null));
+    }
+
+    /**
+     * Resolves segments whose rows were being moved when the application stopped. A segment is committed if its
+     * rows are gone from the hot table (the delete is all-or-nothing, so checking its first row suffices) and
+     * discarded otherwise.
+     *
+     * @param inHotTable tells whether an audit log with the given id is still in the hot table
+     * @return the number of recovered segments
+     */
+    public synchronized int recover(Predicate<UUID> inHotTable) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        List<Path> pendingIndexes = new ArrayList<>();
+        List<Path> orphans = new ArrayList<>();
+        try (DirectoryStream<Path> pending = Files.newDirectoryStream(directory, PREFIX + "*" + TEMP_SUFFIX)) {
+            for (Path file : pending) {
+                (file.getFileName().toString().endsWith(INDEX_SUFFIX + TEMP_SUFFIX) ? pendingIndexes : orphans)
+                        .add(file);
+            }
+            int recovered = 0;
+            for (Path index : pendingIndexes) {
+                Path data = tempPath(directory.resolve(dataName(sequenceOf(index))));
+                orphans.remove(data);
+                Segment segment = readIndex(index);
+                if (Files.exists(data) && !inHotTable.test(segment.firstId())) {
+                    new PendingSegment(segment, data, index).commit();
+                    recovered++;
+                } else {
+                    Files.deleteIfExists(data);
+                    Files.deleteIfExists(index);
+                }
+            }
+            // Data files without an index were still being written; their rows were never deleted.
+            for (Path orphan : orphans) {
+                Files.deleteIfExists(orphan);
+            }
+            if (recovered > 0) {
+                logger.warn("Recovered {} audit archive segments written before a restart", recovered);
+            }
+            return recovered;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover the audit archive in " + directory, e);
+        }
+    }
+
+    /**
+     * Writes rows to a new segment under temporary names. The segment is not visible until it is committed.
+     *
+     * @param rows the rows to archive, ordered by timestamp and id
+     * @return the written segment, to be committed once the rows are deleted from the hot table or discarded
+     * @throws UncheckedIOException if the segment cannot be written
+     */
+    public synchronized PendingSegment write(List<? extends AuditLogExportView> rows) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("An archive segment needs at least one row");
+        }
+        long sequence = nextSequence++;
+        Path data = tempPath(directory.resolve(dataName(sequence)));
+        Path index = tempPath(directory.resolve(indexName(sequence)));
+        Map<UUID, Integer> ticketCounts = new TreeMap<>();
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, BUFFER_SIZE));
+                for (AuditLogExportView row : rows) {
+                    writeRow(out, row);
+                    ticketCounts.merge(row.getTicketId(), 1, Integer::sum);
+                }
+                out.flush();
+                gzip.finish();
+                channel.force(true);
+            }
+            UUID[] ticketIds = ticketCounts.keySet().toArray(UUID[]::new);
+            int[] counts = ticketCounts.values().stream().mapToInt(Integer::intValue).toArray();
+            Segment segment = new Segment(sequence, directory.resolve(dataName(sequence)), rows.size(),
+                    rows.get(0).getId(), rows.get(0).getTimestamp(), rows.get(rows.size() - 1).getTimestamp(),
+                    ticketIds, counts, 0);
+            writeIndex(index, segment);
+            pendingSegments.add(segment);
+            return new PendingSegment(segment, data, index);
+        } catch (IOException e) {
+            deleteQuietly(data);
+            deleteQuietly(index);
+            throw new UncheckedIOException("Cannot write audit archive segment " + sequence, e);
+        }
+    }
+
+    /**
+     * Hides the archived rows of deleted tickets from every count, read and scan. The ids of tickets that have
+     * archived rows, or rows in a segment that is not committed yet, are appended to {@code deleted-tickets.dat}
+     * and synced before they take effect; the rows of a pending segment are hidden as soon as it is committed.
+     *
+     * @param ticketIds the deleted tickets
+     * @return the number of committed archived rows hidden
+     * @throws UncheckedIOException if the ticket ids cannot be recorded
+     */
+    public synchronized long forgetTickets(Collection<UUID> ticketIds) {
+        Set<UUID> forgotten = new LinkedHashSet<>();
+        long hidden = 0;
+        for (UUID ticketId : ticketIds) {
+            if (deletedTickets.contains(ticketId)) {
+                continue;
+            }
+            long archived = count(ticketId);
+            if ((archived > 0 || isPending(ticketId)) && forgotten.add(ticketId)) {
+                hidden += archived;
+            }
+        }
+        if (forgotten.isEmpty()) {
+            return 0;
+        }
+        Path file = directory.resolve(DELETED_TICKETS);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            for (UUID ticketId : forgotten) {
+                writeUuid(out, ticketId);
+            }
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot record deleted tickets in " + file, e);
+        }
+        Set<UUID> updated = new HashSet<>(deletedTickets);
+        updated.addAll(forgotten);
+        deletedTickets = Set.copyOf(updated);
+        segments = segments.stream().map(segment -> segment.withDeletedTickets(deletedTickets)).toList();
+        return hidden;
+    }
+
+    /**
+     * Counts archived rows.
+     *
+     * @param ticketId the ticket whose rows are counted, or null for all rows
+     * @return the number of archived rows
+     */
+    public long count(UUID ticketId) {
+        Set<UUID> deleted = deletedTickets;
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.count(ticketId, deleted);
+        }
+        return total;
+    }
+
+    /**
+     * Reads archived rows newest first, the order in which they continue a newest-first listing of the hot table.
+     *
+     * @param ticketId the ticket whose rows are read, or null for all rows
+     * @param skip     the number of matching rows to skip
+     * @param limit    the maximum number of rows to return
+     * @return the rows, newest first
+     */
+    public List<TicketAuditLog> read(UUID ticketId, long skip, int limit) {
+        return read(ticketId, skip, limit, true);
+    }
+
+    /**
+     * Reads archived rows in timestamp order. Oldest first is the order in which they precede an oldest-first
+     * listing of the hot table.
+     *
+     * @param ticketId    the ticket whose rows are read, or null for all rows
+     * @param skip        the number of matching rows to skip
+     * @param limit       the maximum number of rows to return
+     * @param newestFirst whether to read newest first rather than oldest first
+     * @return the rows, in the requested order
+     */
+    public List<TicketAuditLog> read(UUID ticketId, long skip, int limit, boolean newestFirst) {
+        List<TicketAuditLog> result = new ArrayList<>(Math.min(limit, 1024));
+        Set<UUID> deleted = deletedTickets;
+        List<Segment> current = segments;
+        for (int i = 0; i < current.size() && result.size() < limit; i++) {
+            Segment segment = current.get(newestFirst ? current.size() - 1 - i : i);
+            int matching = segment.count(ticketId, deleted);
+            if (skip >= matching) {
+                skip -= matching;
+                continue;
+            }
+            // Rows are stored oldest first: collect the segment's matching rows, then walk them in either direction.
+            List<AuditLogRecord> rows = new ArrayList<>(matching);
+            scan(segment, row -> {
+                if (ticketId == null ? !deleted.contains(row.ticketId()) : ticketId.equals(row.ticketId())) {
+                    rows.add(row);
+                }
+            });
+            for (int j = (int) skip; j < rows.size() && result.size() < limit; j++) {
+                result.add(rows.get(newestFirst ? rows.size() - 1 - j : j).toEntity());
+            }
+            skip = 0;
+        }
+        return result;
+    }
+
+    /**
+     * Passes the archived rows of a time range to the consumer, oldest first, inflating one segment at a time.
+     *
+     * @param from     the inclusive start of the range, or null
+     * @param to       the exclusive end of the range, or null
+     * @param consumer receives the rows
+     * @return the number of rows passed to the consumer
+     * @throws IOException if the consumer fails
+     */
+    public long forEach(LocalDateTime from, LocalDateTime to, AuditLogRecord.Sink consumer) throws IOException {
+        Set<UUID> deleted = deletedTickets;
+        long passed = 0;
+        for (Segment segment : segments) {
+            if ((from != null && segment.maxTimestamp().isBefore(from))
+                    || (to != null && !segment.minTimestamp().isBefore(to))) {
+                continue;
+            }
+            List<AuditLogRecord> rows = new ArrayList<>(segment.rowCount());
+            scan(segment, row -> {
+                if ((from == null || !row.timestamp().isBefore(from)) && (to == null || row.timestamp().isBefore(to))
+                        && !deleted.contains(row.ticketId())) {
+                    rows.add(row);
+                }
+            });
+            for (AuditLogRecord row : rows) {
+                consumer.accept(row);
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * @return the number of committed segments
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    private void scan(Segment segment, Consumer<AuditLogRecord> consumer) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(segment.data()), BUFFER_SIZE), BUFFER_SIZE))) {
+            for (int i = 0; i < segment.rowCount(); i++) {
+                consumer.accept(readRow(in));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read audit archive segment " + segment.data(), e);
+        }
+    }
+
+    private boolean isPending(UUID ticketId) {
+        for (Segment segment : pendingSegments) {
+            if (segment.count(ticketId, Set.of()) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void publish(Segment segment) {
+        pendingSegments.remove(segment);
+        List<Segment> updated = new ArrayList<>(segments);
+        updated.add(segment.withDeletedTickets(deletedTickets));
+        updated.sort(Comparator.comparingLong(Segment::sequence));
+        segments = List.copyOf(updated);
+    }
+
+    /**
+     * A segment written under temporary names, waiting for the rows it holds to be deleted from the hot table.
+     */
+    public final class PendingSegment {
+
+        private final Segment segment;
+        private final Path tempData;
+        private final Path tempIndex;
+
+        private PendingSegment(Segment segment, Path tempData, Path tempIndex) {
+            this.segment = segment;
+            this.tempData = tempData;
+            this.tempIndex = tempIndex;
+        }
+
+        /**
+         * Makes the segment part of the archive. The index is renamed last, so a segment is only ever loaded
+         * once both of its files are in place.
+         *
+         * @throws UncheckedIOException if the files cannot be renamed
+         */
+        public void commit() {
+            try {
+                Files.move(tempData, segment.data(), StandardCopyOption.ATOMIC_MOVE);
+                Files.move(tempIndex, directory.resolve(indexName(segment.sequence())),
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot commit audit archive segment " + segment.sequence(), e);
+            }
+            publish(segment);
+        }
+
+        /**
+         * Deletes the segment's files, e.g. because deleting its rows from the hot table failed.
+         */
+        public void discard() {
+            synchronized (AuditArchive.this) {
+                pendingSegments.remove(segment);
+            }
+            deleteQuietly(tempData);
+            deleteQuietly(tempIndex);
+        }
+    }
+
+    private static void writeRow(DataOutputStream out, AuditLogExportView row) throws IOException {
+        writeUuid(out, row.getId());
+        writeUuid(out, row.getTicketId());
+        out.writeBoolean(row.getChangedById() != null);
+        if (row.getChangedById() != null) {
+            writeUuid(out, row.getChangedById());
+            writeString(out, row.getChangedByUsername());
+        }
+        writeString(out, row.getLogType().name());
+        writeString(out, row.getDescription());
+        writeTimestamp(out, row.getTimestamp());
+    }
+
+    private static AuditLogRecord readRow(DataInputStream in) throws IOException {
+        UUID id = readUuid(in);
+        UUID ticketId = readUuid(in);
+        UUID changedById = null;
+        String changedByUsername = null;
+        if (in.readBoolean()) {
+            changedById = readUuid(in);
+            changedByUsername = readString(in);
+        }
+        AuditLogType logType = AuditLogType.valueOf(readString(in));
+        return new AuditLogRecord(id, ticketId, changedById, changedByUsername, logType,
+                readString(in), readTimestamp(in));
+    }
+
+    private static void writeIndex(Path index, Segment segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(segment.rowCount());
+            writeUuid(out, segment.firstId());
+            writeTimestamp(out, segment.minTimestamp());
+            writeTimestamp(out, segment.maxTimestamp());
+            out.writeInt(segment.ticketIds().length);
+            for (int i = 0; i < segment.ticketIds().length; i++) {
+                writeUuid(out, segment.ticketIds()[i]);
+                out.writeInt(segment.ticketCounts()[i]);
+            }
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    private Segment readIndex(Path index) throws IOException {
+        long sequence = sequenceOf(index);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(index)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not an audit archive index: " + index);
+            }
+            int rowCount = in.readInt();
+            UUID firstId = readUuid(in);
+            LocalDateTime minTimestamp = readTimestamp(in);
+            LocalDateTime maxTimestamp = readTimestamp(in);
+            int tickets = in.readInt();
+            UUID[] ticketIds = new UUID[tickets];
+            int[] ticketCounts = new int[tickets];
+            for (int i = 0; i < tickets; i++) {
+                ticketIds[i] = readUuid(in);
+                ticketCounts[i] = in.readInt();
+            }
+            return new Segment(sequence, directory.resolve(dataName(sequence)), rowCount, firstId,
+                    minTimestamp, maxTimestamp, ticketIds, ticketCounts, 0);
+        } catch (EOFException e) {
+            throw new IOException("Truncated audit archive index: " + index, e);
+        }
+    }
+
+    /**
+     * Reads the ids appended by {@link #forgetTickets}; an id cut short by a crash during the append is ignored.
+     */
+    private Set<UUID> readDeletedTickets() throws IOException {
+        Path file = directory.resolve(DELETED_TICKETS);
+        if (!Files.exists(file)) {
+            return Set.of();
+        }
+        Set<UUID> deleted = new HashSet<>();
+        long ids = Files.size(file) / 16;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            for (long i = 0; i < ids; i++) {
+                deleted.add(readUuid(in));
+            }
+        }
+        return Set.copyOf(deleted);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes; unlike {@link DataOutputStream#writeUTF} it has no 64 KiB
+     * limit. Null is written as length -1.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static String dataName(long sequence) {
+        return PREFIX + String.format("%012d", sequence) + DATA_SUFFIX;
+    }
+
+    private static String indexName(long sequence) {
+        return PREFIX + String.format("%012d", sequence) + INDEX_SUFFIX;
+    }
+
+    private static Path tempPath(Path path) {
+        return path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.indexOf('.')));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,590 @@
+package com.techdesk.utils;
+
+import com.techdesk.dto.TotalAwarePage;
+import com.techdesk.dto.TotalCountMode;
+import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.AuditLogType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only audit log store backed by memory-mapped segment files, used instead of the
+ * {@code ticket_audit_logs} table when {@code techdesk.audit.store} is {@code journal}.
+ * <p>
+ * Every entry is one binary record: an {@value #HEADER_SIZE}-byte fixed header (length, CRC-32, kind, log type,
+ * ids, timestamp and field lengths) followed by the UTF-8 username and description. Records are appended to the
+ * current segment, a pre-allocated file of {@code segment-size} bytes; when a record does not fit, the segment is
+ * forced to disk and a new one is started. Appends are durable once they return: concurrent appenders share one
+ * {@code force()} per group commit, performed by whichever of them arrives first.
+ * </p>
+ * <p>
+ * A ticket-id &rarr; record-position index and the list of all positions are kept in memory and rebuilt by scanning
+ * the segments at startup; the scan stops at the first zero length or CRC mismatch, which discards a record torn
+ * by a crash. Deleting a ticket's logs appends a tombstone record, drops the ticket from the index and marks its
+ * positions removed in the list of all positions, which is compacted once half of it is removed.
+ * </p>
+ * <p>
+ * Exposes the meters {@code techdesk.audit.journal.records}, {@code techdesk.audit.journal.segments} and
+ * {@code techdesk.audit.journal.group.commit} (duration of each force, with the number of commits as its count).
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "techdesk.audit.store", havingValue = "journal")
+public class AuditJournal implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditJournal.class);
+
+    static final int HEADER_SIZE = 80;
+
+    private static final byte KIND_LOG = 0;
+    private static final byte KIND_TICKET_DELETED = 1;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final int MIN_SEGMENT_SIZE = 1 << 20;
+    private static final AuditLogType[] LOG_TYPES = AuditLogType.values();
+
+    /**
+     * A growable array of record positions; a position is the segment number in the high and the offset in the
+     * low 32 bits, so positions grow in append order. Removed positions are only marked, with a count per block of
+     * {@value #BLOCK} entries to find the n-th remaining one, until half of the array is removed.
+     */
+    private static final class Positions {
+
+        private static final int BLOCK = 1024;
+
+        private long[] values = new long[16];
+        private int size;
+        private BitSet removed;
+        private int[] removedPerBlock;
+        private int removedCount;
+
+        void add(long position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = position;
+        }
+
+        /**
+         * @return the remaining position of the given rank, in append order
+         */
+        long get(int rank) {
+            if (removedCount == 0) {
+                return values[rank];
+            }
+            int block = 0;
+            int remaining;
+            while (rank >= (remaining = Math.min(BLOCK, size - block * BLOCK) - removedIn(block))) {
+                rank -= remaining;
+                block++;
+            }
+            int index = removed.nextClearBit(block * BLOCK);
+            for (; rank > 0; rank--) {
+                index = removed.nextClearBit(index + 1);
+            }
+            return values[index];
+        }
+
+        private int removedIn(int block) {
+            return block < removedPerBlock.length ? removedPerBlock[block] : 0;
+        }
+
+        void remove(long position) {
+            int index = Arrays.binarySearch(values, 0, size, position);
+            if (index < 0 || (removed != null && removed.get(index))) {
+                return;
+            }
+            if (removed == null) {
+                removed = new BitSet();
+                removedPerBlock = new int[size / BLOCK + 1];
+            }
+            int block = index / BLOCK;
+            if (block >= removedPerBlock.length) {
+                removedPerBlock = Arrays.copyOf(removedPerBlock, Math.max(block + 1, removedPerBlock.length * 2));
+            }
+            removed.set(index);
+            removedPerBlock[block]++;
+            if (++removedCount > size / 2) {
+                compact();
+            }
+        }
+
+        private void compact() {
+            long[] kept = new long[Math.max(16, size - removedCount)];
+            int count = 0;
+            for (int index = removed.nextClearBit(0); index < size; index = removed.nextClearBit(index + 1)) {
+                kept[count++] = values[index];
+            }
+            values = kept;
+            size = count;
+            removed = null;
+            removedPerBlock = null;
+            removedCount = 0;
+        }
+
+        long[] toArray() {
+            if (removedCount > 0) {
+                compact();
+            }
+            return Arrays.copyOf(values, size);
+        }
+
+        int size() {
+            return size - removedCount;
+        }
+    }
+
+    private record Segment(Path file, FileChannel channel, MappedByteBuffer buffer) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<UUID, Positions> byTicket = new HashMap<>();
+    private final Positions all = new Positions();
+    private int writeOffset;
+    private long appendedRecords;
+
+    private final Object syncMonitor = new Object();
+    private long durableRecords;
+    private boolean syncing;
+    private final Timer groupCommits;
+    private final Counter recordsWritten;
+
+    /**
+     * Constructs an {@code AuditJournal}, opening the existing segments and rebuilding the index from them.
+     *
+     * @param meterRegistry the registry for the journal meters
+     * @param directory     the directory holding the segment files
+     * @param segmentSize   the size of each segment file in bytes
+     * @param fsync         whether appends wait until their record has been forced to disk
+     */
+    public AuditJournal(MeterRegistry meterRegistry,
+                        @Value("${techdesk.audit.journal.directory:data/audit-journal}") Path directory,
+                        @Value("${techdesk.audit.journal.segment-size:67108864}") int segmentSize,
+                        @Value("${techdesk.audit.journal.fsync:true}") boolean fsync) {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException(
+                    "techdesk.audit.journal.segment-size must be at least " + MIN_SEGMENT_SIZE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the audit journal in " + directory, e);
+        }
+        this.groupCommits = Timer.builder("techdesk.audit.journal.group.commit")
+                .description("Forces of the audit journal to disk")
+                .register(meterRegistry);
+        this.recordsWritten = Counter.builder("techdesk.audit.journal.records")
+                .description("Records appended to the audit journal")
+                .register(meterRegistry);
+        Gauge.builder("techdesk.audit.journal.segments", this, AuditJournal::segmentCount)
+                .description("Audit journal segment files")
+                .register(meterRegistry);
+    }
+
+    private void open() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        long start = System.nanoTime();
+        for (Path file : files) {
+            segments.add(map(file));
+            writeOffset = replay(segments.size() - 1);
+        }
+        if (segments.isEmpty()) {
+            segments.add(map(directory.resolve(segmentName(1))));
+            writeOffset = 0;
+        }
+        durableRecords = appendedRecords;
+        logger.info("Audit journal in {} opened with {} records in {} segments in {} ms", directory, all.size(),
+                segments.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Segment map(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new Segment(file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+    }
+
+    /**
+     * Indexes the valid records of a segment.
+     *
+     * @return the offset after the last valid record
+     */
+    private int replay(int segment) {
+        MappedByteBuffer buffer = segments.get(segment).buffer();
+        int offset = 0;
+        int length;
+        while ((length = validRecordLength(buffer, offset)) > 0) {
+            long position = position(segment, offset);
+            UUID ticketId = new UUID(buffer.getLong(offset + 32), buffer.getLong(offset + 40));
+            if (buffer.get(offset + 8) == KIND_TICKET_DELETED) {
+                unindex(ticketId);
+            } else {
+                index(ticketId, position);
+            }
+            appendedRecords++;
+            offset += length;
+        }
+        return offset;
+    }
+
+    private int validRecordLength(ByteBuffer buffer, int offset) {
+        if (offset + HEADER_SIZE > buffer.capacity()) {
+            return 0;
+        }
+        int length = buffer.getInt(offset);
+        if (length < HEADER_SIZE || offset + length > buffer.capacity()) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset + 8, length - 8));
+        return (int) crc.getValue() == buffer.getInt(offset + 4) ? length : 0;
+    }
+
+    /**
+     * Appends an audit log and, unless fsync is disabled, waits until it is on disk.
+     *
+     * @param record the audit log to append
+     */
+    public void append(AuditLogRecord record) {
+        awaitDurable(write(KIND_LOG, record.ticketId(), record));
+    }
+
+    /**
+     * Removes all audit logs of the given tickets by appending one tombstone per ticket.
+     *
+     * @param ticketIds the tickets whose logs are removed
+     * @return the number of removed audit logs
+     */
+    public int deleteTickets(Collection<UUID> ticketIds) {
+        int removed = 0;
+        long sequence = 0;
+        synchronized (this) {
+            for (UUID ticketId : ticketIds) {
+                if (!byTicket.containsKey(ticketId)) {
+                    continue;
+                }
+                sequence = write(KIND_TICKET_DELETED, ticketId, null);
+                removed += unindex(ticketId);
+            }
+        }
+        if (sequence > 0) {
+            awaitDurable(sequence);
+        }
+        return removed;
+    }
+
+    /**
+     * Encodes and appends a record, rolling over to a new segment when it does not fit.
+     *
+     * @return the sequence number of the record, to wait for with {@link #awaitDurable}
+     */
+    private synchronized long write(byte kind, UUID ticketId, AuditLogRecord record) {
+        byte[] encoded = encode(kind, ticketId, record);
+        if (encoded.length > segmentSize) {
+            throw new IllegalArgumentException(
+                    "Audit log record of " + encoded.length + " bytes exceeds the segment size");
+        }
+        if (writeOffset + encoded.length > segmentSize) {
+            roll();
+        }
+        int segment = segments.size() - 1;
+        segments.get(segment).buffer().put(writeOffset, encoded);
+        if (kind == KIND_LOG) {
+            index(ticketId, position(segment, writeOffset));
+            recordsWritten.increment();
+        }
+        writeOffset += encoded.length;
+        return ++appendedRecords;
+    }
+
+    private void roll() {
+        Segment full = segments.get(segments.size() - 1);
+        full.buffer().force();
+        try {
+            segments.add(map(directory.resolve(segmentName(segments.size() + 1))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create audit journal segment", e);
+        }
+        writeOffset = 0;
+        logger.info("Audit journal rolled over from {} to segment {}", full.file(), segments.size());
+    }
+
+    private void index(UUID ticketId, long position) {
+        byTicket.computeIfAbsent(ticketId, none -> new Positions()).add(position);
+        all.add(position);
+    }
+
+    /**
+     * Drops a ticket from the index and removes its positions from the list of all positions.
+     *
+     * @return the number of removed positions
+     */
+    private int unindex(UUID ticketId) {
+        Positions positions = byTicket.remove(ticketId);
+        if (positions == null) {
+            return 0;
+        }
+        for (int i = 0; i < positions.size(); i++) {
+            all.remove(positions.get(i));
+        }
+        return positions.size();
+    }
+
+    /**
+     * Counts the audit logs of the given tickets.
+     *
+     * @param ticketIds the tickets whose logs are counted
+     * @return the number of audit logs
+     */
+    public synchronized int count(Collection<UUID> ticketIds) {
+        int count = 0;
+        for (UUID ticketId : ticketIds) {
+            Positions positions = byTicket.get(ticketId);
+            count += positions == null ? 0 : positions.size();
+        }
+        return count;
+    }
+
+    /**
+     * Group commit: the first caller forces the current segment on behalf of everyone who appended before it,
+     * later callers wait for that force, or start the next one if their record came too late for it.
+     */
+    private void awaitDurable(long sequence) {
+        if (!fsync) {
+            return;
+        }
+        while (true) {
+            synchronized (syncMonitor) {
+                while (syncing && durableRecords < sequence) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for the audit journal", e);
+                    }
+                }
+                if (durableRecords >= sequence) {
+                    return;
+                }
+                syncing = true;
+            }
+            long target;
+            MappedByteBuffer current;
+            synchronized (this) {
+                target = appendedRecords;
+                current = segments.get(segments.size() - 1).buffer();
+            }
+            boolean forced = false;
+            try {
+                long start = System.nanoTime();
+                current.force();
+                groupCommits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                forced = true;
+            } finally {
+                synchronized (syncMonitor) {
+                    if (forced) {
+                        durableRecords = Math.max(durableRecords, target);
+                    }
+                    syncing = false;
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a page of audit logs, newest first unless the pageable is sorted by ascending timestamp. Other sort
+     * orders are not supported and ignored.
+     *
+     * @param ticketId the ticket whose logs are read, or null for all logs
+     * @param pageable the requested page
+     * @return the page; its total is always exact
+     */
+    public TotalAwarePage<TicketAuditLog> page(UUID ticketId, Pageable pageable) {
+        Sort.Order timestampOrder = pageable.getSort().getOrderFor("timestamp");
+        boolean oldestFirst = timestampOrder != null && timestampOrder.isAscending();
+        long[] selected;
+        int total;
+        synchronized (this) {
+            Positions positions = ticketId == null ? all : byTicket.get(ticketId);
+            total = positions == null ? 0 : positions.size();
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : total;
+            int count = (int) Math.max(0, Math.min(total - offset, limit));
+            selected = new long[count];
+            for (int i = 0; i < count; i++) {
+                int index = (int) offset + i;
+                selected[i] = positions.get(oldestFirst ? index : total - 1 - index);
+            }
+        }
+        List<TicketAuditLog> content = new ArrayList<>(selected.length);
+        for (long position : selected) {
+            content.add(read(position).toEntity());
+        }
+        return new TotalAwarePage<>(content, pageable, total, TotalCountMode.EXACT);
+    }
+
+    /**
+     * Passes the audit logs of a time range to the sink in append order, which is timestamp order.
+     *
+     * @param from the inclusive start of the range, or null
+     * @param to   the exclusive end of the range, or null
+     * @param sink receives the records
+     * @return the number of records passed to the sink
+     * @throws IOException if the sink fails
+     */
+    public long forEach(LocalDateTime from, LocalDateTime to, AuditLogRecord.Sink sink) throws IOException {
+        long[] positions;
+        synchronized (this) {
+            positions = all.toArray();
+        }
+        long passed = 0;
+        for (long position : positions) {
+            AuditLogRecord record = read(position);
+            if ((from == null || !record.timestamp().isBefore(from))
+                    && (to == null || record.timestamp().isBefore(to))) {
+                sink.accept(record);
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * @return the number of audit logs in the journal
+     */
+    public synchronized int size() {
+        return all.size();
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    private AuditLogRecord read(long position) {
+        ByteBuffer buffer;
+        synchronized (this) {
+            buffer = segments.get((int) (position >>> 32)).buffer();
+        }
+        int offset = (int) position;
+        UUID id = new UUID(buffer.getLong(offset + 16), buffer.getLong(offset + 24));
+        UUID ticketId = new UUID(buffer.getLong(offset + 32), buffer.getLong(offset + 40));
+        short usernameLength = buffer.getShort(offset + 10);
+        UUID changedById = usernameLength < 0 ? null
+                : new UUID(buffer.getLong(offset + 48), buffer.getLong(offset + 56));
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(offset + 64), buffer.getInt(offset + 72),
+                ZoneOffset.UTC);
+        int descriptionLength = buffer.getInt(offset + 76);
+        int cursor = offset + HEADER_SIZE;
+        String username = null;
+        if (usernameLength >= 0) {
+            username = string(buffer, cursor, usernameLength);
+            cursor += usernameLength;
+        }
+        return new AuditLogRecord(id, ticketId, changedById, username, LOG_TYPES[buffer.get(offset + 9)],
+                string(buffer, cursor, descriptionLength), timestamp);
+    }
+
+    private static String string(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(byte kind, UUID ticketId, AuditLogRecord record) {
+        byte[] username = record == null || record.changedById() == null ? null
+                : String.valueOf(record.changedByUsername()).getBytes(StandardCharsets.UTF_8);
+        byte[] description = record == null ? new byte[0] : record.description().getBytes(StandardCharsets.UTF_8);
+        if (username != null && username.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Username too long for the audit journal");
+        }
+        int length = HEADER_SIZE + (username == null ? 0 : username.length) + description.length;
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(length);
+        buffer.putInt(0);
+        buffer.put(kind);
+        buffer.put(record == null ? 0 : (byte) record.logType().ordinal());
+        buffer.putShort(username == null ? -1 : (short) username.length);
+        buffer.putInt(0);
+        UUID id = record == null ? new UUID(0, 0) : record.id();
+        buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        buffer.putLong(ticketId.getMostSignificantBits()).putLong(ticketId.getLeastSignificantBits());
+        UUID changedById = record == null || record.changedById() == null ? new UUID(0, 0) : record.changedById();
+        buffer.putLong(changedById.getMostSignificantBits()).putLong(changedById.getLeastSignificantBits());
+        LocalDateTime timestamp = record == null ? LocalDateTime.now() : record.timestamp();
+        buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC)).putInt(timestamp.getNano());
+        buffer.putInt(description.length);
+        if (username != null) {
+            buffer.put(username);
+        }
+        buffer.put(description);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 8, length - 8);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    private static long position(int segment, int offset) {
+        return ((long) segment << 32) | offset;
+    }
+
+    private static String segmentName(int number) {
+        return PREFIX + String.format("%012d", number) + SUFFIX;
+    }
+
+    /**
+     * Forces the current segment and closes all segment files.
+     */
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).buffer().force();
+        }
+        for (Segment segment : segments) {
+            segment.channel().close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.techdesk.utils;
+
+import com.techdesk.entities.AppUser;
+import com.techdesk.entities.Ticket;
+import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.repositories.projections.AuditLogExportView;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An audit log held outside the {@code ticket_audit_logs} table, in the audit archive or the audit journal.
+ */
+public record AuditLogRecord(UUID id, UUID ticketId, UUID changedById, String changedByUsername,
+                             AuditLogType logType, String description, LocalDateTime timestamp)
+        implements AuditLogExportView {
+
+    /**
+     * Receives audit log records; may fail with an {@link IOException} when it writes them somewhere.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void accept(AuditLogRecord record) throws IOException;
+    }
+
+    /**
+     * @return a detached {@link TicketAuditLog} whose ticket and user only carry their id and username
+     */
+    public TicketAuditLog toEntity() {
+        return TicketAuditLog.builder()
+                .id(id)
+                .ticket(Ticket.builder().id(ticketId).build())
+                .changedBy(changedById == null ? null
+                        : AppUser.builder().id(changedById).username(changedByUsername).build())
+                .logType(logType)
+                .description(description)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public UUID getTicketId() {
+        return ticketId;
+    }
+
+    @Override
+    public UUID getChangedById() {
+        return changedById;
+    }
+
+    @Override
+    public String getChangedByUsername() {
+        return changedByUsername;
+    }
+
+    @Override
+    public AuditLogType getLogType() {
+        return logType;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
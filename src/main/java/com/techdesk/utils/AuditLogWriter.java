@@ -0,0 +1,278 @@
+package com.techdesk.utils;
+
+import com.techdesk.entities.enums.AuditLogType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, batching writer for ticket audit logs.
+ * <p>
+ * Entries are queued once the business transaction has committed, so a rolled back change never leaves an audit
+ * row behind and the business transaction no longer pays for the audit INSERT. A background thread drains the
+ * bounded queue and writes up to {@code flush-size} rows per JDBC batch, flushing at least every
+ * {@code flush-interval}. When the queue is full the entry is written synchronously on the caller's thread instead
+ * of being dropped.
+ * </p>
+ * <p>
+ * Exposes the meters {@code techdesk.audit.queue.depth} (entries waiting), {@code techdesk.audit.write.lag}
+ * (time from enqueue to insert) and {@code techdesk.audit.sync.fallback} (entries written synchronously).
+ * </p>
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    static final String INSERT_SQL = "INSERT INTO ticket_audit_logs "
+            + "(id, ticket_id, changed_by, log_type, description, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * An audit row waiting to be written.
+     */
+    public record PendingAuditLog(UUID ticketId, UUID changedById, AuditLogType logType,
+                                  String description, LocalDateTime timestamp) {
+    }
+
+    private record QueuedAuditLog(PendingAuditLog log, long enqueuedAtNanos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int flushSize;
+    private final Duration flushInterval;
+    private final BlockingQueue<QueuedAuditLog> queue;
+    private final Timer writeLag;
+    private final Counter syncFallbacks;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructs an {@code AuditLogWriter}.
+     *
+     * @param jdbcTemplate       the template used for the batched inserts
+     * @param transactionManager the transaction manager; every flush runs in its own transaction
+     * @param meterRegistry      the registry for the queue and lag meters
+     * @param enabled            whether audit logs go through this writer at all
+     * @param queueCapacity      the maximum number of entries waiting to be written
+     * @param flushSize          the maximum number of rows per JDBC batch
+     * @param flushInterval      the maximum time an entry waits for its batch to fill up
+     */
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${techdesk.audit.async-enabled:false}") boolean enabled,
+                          @Value("${techdesk.audit.queue-capacity:10000}") int queueCapacity,
+                          @Value("${techdesk.audit.flush-size:100}") int flushSize,
+                          @Value("${techdesk.audit.flush-interval:PT0.2S}") Duration flushInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.flushSize = flushSize;
+        this.flushInterval = flushInterval;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("techdesk.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit log entries waiting to be written")
+                .register(meterRegistry);
+        this.writeLag = Timer.builder("techdesk.audit.write.lag")
+                .description("Time between enqueueing an audit log entry and writing it")
+                .register(meterRegistry);
+        this.syncFallbacks = Counter.builder("techdesk.audit.sync.fallback")
+                .description("Audit log entries written synchronously because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if audit logs should be submitted to this writer instead of being saved directly
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an audit row once the current transaction commits, or immediately if there is none.
+     * Nothing is written if the transaction rolls back.
+     *
+     * @param log the row to write
+     */
+    public void submitAfterCommit(PendingAuditLog log) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(log);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(log);
+            }
+        });
+    }
+
+    private void enqueue(PendingAuditLog log) {
+        QueuedAuditLog queued = new QueuedAuditLog(log, System.nanoTime());
+        if (!queue.offer(queued)) {
+            syncFallbacks.increment();
+            write(List.of(queued));
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Asynchronous audit log writer started (flush size {}, flush interval {})",
+                flushSize, flushInterval);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(flushInterval.toMillis() + 5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<QueuedAuditLog> batch = new ArrayList<>(flushSize);
+        while (running) {
+            try {
+                QueuedAuditLog first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.enqueuedAtNanos() + flushInterval.toNanos();
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0) {
+                        break;
+                    }
+                    QueuedAuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Audit log writer failed to write {} entries", batch.size(), e);
+                batch.clear();
+            }
+        }
+        write(batch);
+    }
+
+    private void flushRemaining() {
+        List<QueuedAuditLog> batch = new ArrayList<>(flushSize);
+        while (queue.drainTo(batch, flushSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes the given entries as one JDBC batch in a new transaction. If the batch fails, for instance because one
+     * of the tickets was deleted in the meantime, the rows are retried one by one so that only the bad ones are lost.
+     */
+    private void write(List<QueuedAuditLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+        } catch (RuntimeException batchFailure) {
+            if (batch.size() == 1) {
+                logger.warn("Dropping audit log entry for ticket {}: {}",
+                        batch.get(0).log().ticketId(), batchFailure.getMessage());
+                return;
+            }
+            for (QueuedAuditLog queued : batch) {
+                write(List.of(queued));
+            }
+            return;
+        }
+        long now = System.nanoTime();
+        for (QueuedAuditLog queued : batch) {
+            writeLag.record(now - queued.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void insert(List<QueuedAuditLog> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PendingAuditLog log = batch.get(i).log();
+                ps.setBytes(1, toBytes(UUID.randomUUID()));
+                ps.setBytes(2, toBytes(log.ticketId()));
+                ps.setBytes(3, log.changedById() == null ? null : toBytes(log.changedById()));
+                ps.setString(4, log.logType().name());
+                ps.setString(5, log.description());
+                ps.setTimestamp(6, Timestamp.valueOf(log.timestamp()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+    }
+
+    /**
+     * Converts a UUID to the 16 byte form Hibernate stores in the RAW(16) id columns.
+     */
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,162 @@
+package com.techdesk.utils;
+
+import com.techdesk.web.errors.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded pool instead of the request threads.
+ * <p>
+ * The pool has one thread per core by default, so a burst of logins cannot use more CPU than that. At most
+ * {@code hash-queue-capacity} operations wait for a thread; further ones are rejected with a
+ * {@link ServiceOverloadedException}, which is answered with 503 and a {@code Retry-After} header.
+ * </p>
+ * <p>
+ * Exposes the meters {@code techdesk.password.hash} (run time, tagged with {@code operation}),
+ * {@code techdesk.password.queue.wait}, {@code techdesk.password.queue.depth} and {@code techdesk.password.rejected}.
+ * </p>
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final int cost;
+    private final long retryAfterSeconds;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    /**
+     * Constructs a {@code PasswordHasher}.
+     *
+     * @param meterRegistry the registry for the timing and queue meters
+     * @param cost          the BCrypt cost factor (log2 of the number of rounds) for new hashes
+     * @param threads       the number of hashing threads, or 0 for one per available processor
+     * @param queueCapacity the maximum number of operations waiting for a thread
+     * @param retryAfter    the delay suggested to clients whose request was rejected
+     */
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${techdesk.auth.bcrypt-cost:10}") int cost,
+                          @Value("${techdesk.auth.hash-threads:0}") int threads,
+                          @Value("${techdesk.auth.hash-queue-capacity:64}") int queueCapacity,
+                          @Value("${techdesk.auth.hash-retry-after:PT1S}") Duration retryAfter) {
+        if (cost < 4 || cost > 31) {
+            throw new IllegalArgumentException("techdesk.auth.bcrypt-cost must be between 4 and 31");
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.cost = cost;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.hashTimer = Timer.builder("techdesk.password.hash")
+                .description("Time spent computing password hashes")
+                .tag("operation", "hash")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("techdesk.password.hash")
+                .description("Time spent computing password hashes")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("techdesk.password.queue.wait")
+                .description("Time password operations wait for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("techdesk.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password operations waiting for a hashing thread")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("techdesk.password.rejected")
+                .description("Password operations rejected because the hashing queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes a password with the configured cost.
+     *
+     * @param rawPassword the password to hash
+     * @return the BCrypt hash
+     * @throws ServiceOverloadedException if too many hashing operations are already waiting
+     */
+    public String hash(String rawPassword) {
+        return run(hashTimer, () -> BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost)));
+    }
+
+    /**
+     * Checks a password against a stored hash.
+     *
+     * @param rawPassword    the password to check
+     * @param hashedPassword the stored BCrypt hash
+     * @return true if the password matches
+     * @throws ServiceOverloadedException if too many hashing operations are already waiting
+     */
+    public boolean matches(String rawPassword, String hashedPassword) {
+        return run(verifyTimer, () -> BCrypt.checkpw(rawPassword, hashedPassword));
+    }
+
+    /**
+     * @param hashedPassword a stored BCrypt hash
+     * @return true if the hash was not computed with the configured cost
+     */
+    public boolean needsRehash(String hashedPassword) {
+        // BCrypt hashes look like $2a$10$<salt and hash>; the two digits after the version are the cost.
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(3) != '$') {
+            return true;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(4, 6)) != cost;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private <T> T run(Timer timer, Callable<T> operation) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(operation);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Too many concurrent sign-ins, please retry shortly",
+                    retryAfterSeconds);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,102 @@
+package com.techdesk.utils;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Measures the Spring Data repository calls made while a request is being handled, so that the time of each
+ * endpoint can be broken down by repository method.
+ * <p>
+ * Calls are only measured between {@link #begin()} and {@link #end()} on the same thread; repository calls made
+ * elsewhere, for example by scheduled tasks or the asynchronous audit log writer, pass through untouched. Every
+ * repository call is also timed by Spring Boot's own {@code spring.data.repository.invocations} meter.
+ * </p>
+ */
+@Aspect
+@Component
+public class RepositoryCallTracker {
+
+    /**
+     * The calls to one repository method during one request.
+     */
+    public static final class CallStats {
+
+        private long calls;
+        private long nanos;
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    private static final ThreadLocal<Map<String, CallStats>> CURRENT = new ThreadLocal<>();
+
+    private final ConcurrentMap<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    /**
+     * Starts collecting the repository calls of the current thread.
+     */
+    public void begin() {
+        CURRENT.set(new LinkedHashMap<>());
+    }
+
+    /**
+     * Stops collecting the repository calls of the current thread.
+     *
+     * @return the calls made since {@link #begin()}, keyed by {@code Repository.method}
+     */
+    public Map<String, CallStats> end() {
+        Map<String, CallStats> calls = CURRENT.get();
+        CURRENT.remove();
+        return calls != null ? calls : Collections.emptyMap();
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        Map<String, CallStats> calls = CURRENT.get();
+        if (calls == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String name = repositoryName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName();
+            CallStats stats = calls.computeIfAbsent(name, none -> new CallStats());
+            stats.calls++;
+            stats.nanos += elapsed;
+        }
+    }
+
+    /**
+     * Returns the simple name of the application's repository interface implemented by the given repository, so
+     * that inherited methods such as {@code findById} are reported against that repository rather than against
+     * {@code CrudRepository}.
+     */
+    private String repositoryName(Object repository) {
+        return repositoryNames.computeIfAbsent(repository.getClass(), type -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (Repository.class.isAssignableFrom(candidate)
+                        && !candidate.getName().startsWith("org.springframework.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
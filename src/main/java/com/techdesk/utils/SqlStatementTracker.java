@@ -0,0 +1,173 @@
+package com.techdesk.utils;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements and the JDBC execution time of a unit of work, typically one API request.
+ * <p>
+ * Registers itself as Hibernate's {@link StatementInspector}, which sees every statement Hibernate prepares, and
+ * {@link JdbcTimeListener} as a session event listener, which times every JDBC execution. Both only record while
+ * a unit of work is open on the current thread, between {@link #begin()} and {@link #end()}. Statements are also
+ * grouped by shape, the SQL with IN lists of any length collapsed, so that the same query running once per row
+ * (an N+1 pattern) can be told apart from different queries.
+ * </p>
+ */
+@Component
+public class SqlStatementTracker implements StatementInspector, HibernatePropertiesCustomizer {
+
+    /**
+     * The statements of one unit of work.
+     */
+    public static final class Statements {
+
+        private int count;
+        private long jdbcNanos;
+        private final Map<String, Integer> countsByShape = new LinkedHashMap<>();
+
+        /**
+         * @return the number of statements prepared
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the total time spent executing statements and batches over JDBC, in nanoseconds
+         */
+        public long getJdbcNanos() {
+            return jdbcNanos;
+        }
+
+        /**
+         * @return the number of statements of each shape, in the order they first ran
+         */
+        public Map<String, Integer> getCountsByShape() {
+            return Collections.unmodifiableMap(countsByShape);
+        }
+
+        /**
+         * @param threshold the number of executions that is still acceptable
+         * @return the shapes that ran more than {@code threshold} times, with their counts
+         */
+        public Map<String, Integer> repeatedMoreThan(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            countsByShape.forEach((shape, times) -> {
+                if (times > threshold) {
+                    repeated.put(shape, times);
+                }
+            });
+            return repeated;
+        }
+    }
+
+    /**
+     * Adds the duration of every JDBC execution to the unit of work of the current thread. Instantiated by
+     * Hibernate for each session.
+     */
+    public static class JdbcTimeListener implements SessionEventListener {
+
+        private long executeStart;
+        private long batchStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            addJdbcTime(System.nanoTime() - executeStart);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batchStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            addJdbcTime(System.nanoTime() - batchStart);
+        }
+    }
+
+    private static final ThreadLocal<Statements> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Opens a unit of work on the current thread, unless one is already open.
+     *
+     * @return true if a unit of work was opened and must be closed with {@link #end()}, false if the statements
+     * are already being counted by an enclosing unit of work
+     */
+    public static boolean begin() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new Statements());
+        return true;
+    }
+
+    /**
+     * @return the statements of the unit of work open on the current thread, or null if none is open
+     */
+    public static Statements current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Closes the unit of work of the current thread.
+     *
+     * @return its statements, or empty statements if none was open
+     */
+    public static Statements end() {
+        Statements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements != null ? statements : new Statements();
+    }
+
+    private static void addJdbcTime(long nanos) {
+        Statements statements = CURRENT.get();
+        if (statements != null) {
+            statements.jdbcNanos += nanos;
+        }
+    }
+
+    /**
+     * Reduces a statement to its shape: whitespace is normalized and parameter lists such as those of padded IN
+     * clauses are collapsed to a single parameter.
+     *
+     * @param sql the SQL of a prepared statement
+     * @return its shape
+     */
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(shape).replaceAll("?");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Statements statements = CURRENT.get();
+        if (statements != null) {
+            statements.count++;
+            statements.countsByShape.merge(shapeOf(sql), 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimeListener.class.getName());
+    }
+}
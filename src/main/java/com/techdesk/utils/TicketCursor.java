@@ -0,0 +1,52 @@
+package com.techdesk.utils;
+
+import com.techdesk.entities.Ticket;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keyset position used by the cursor-based ticket listings.
+ * <p>
+ * Cursor listings return tickets newest first, ordered by {@code (createdAt, id)}. A cursor identifies the last
+ * ticket of the previous page and is handed to clients as an opaque URL-safe token.
+ * </p>
+ *
+ * @param createdAt the creation timestamp of the last ticket returned
+ * @param id        the identifier of the last ticket returned, used to break ties on {@code createdAt}
+ */
+public record TicketCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static TicketCursor of(Ticket ticket) {
+        return new TicketCursor(ticket.getCreatedAt(), ticket.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<TicketCursor> decode(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Optional.of(new TicketCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,20 +1,58 @@
 package com.techdesk.utils;
 
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
 import com.techdesk.entities.enums.TicketStatus;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Optional;
 import java.util.UUID;
 
 public class TicketSearchUtil {
 
     public static Optional<UUID> parseUuid(String ticketId) {
-        if (ticketId == null || ticketId.trim().isEmpty()) {
+        return parseUuid(ticketId, "ticketId");
+    }
+
+    public static Optional<UUID> parseUuid(String value, String fieldName) {
+        if (value == null || value.trim().isEmpty()) {
             return Optional.empty();
         }
         try {
-            return Optional.of(UUID.fromString(ticketId));
+            return Optional.of(UUID.fromString(value.trim()));
         } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid ticketId format");
+            throw new IllegalArgumentException("Invalid " + fieldName + " format");
+        }
+    }
+
+    /**
+     * Parses an ISO date-time ({@code 2025-02-25T08:15:00}) or date ({@code 2025-02-25}, meaning the start of
+     * that day).
+     */
+    public static Optional<LocalDateTime> parseDateTime(String value, String fieldName) {
+        if (value == null || value.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        String trimmed = value.trim();
+        try {
+            return Optional.of(trimmed.length() == 10
+                    ? LocalDate.parse(trimmed).atStartOfDay()
+                    : LocalDateTime.parse(trimmed));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + fieldName + " format. Expected an ISO date or date-time");
+        }
+    }
+
+    /**
+     * Checks that a date range is not reversed; either bound may be null.
+     *
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     */
+    public static void checkDateRange(LocalDateTime from, String fromName, LocalDateTime to, String toName) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException(fromName + " must not be after " + toName);
         }
     }
 
@@ -28,4 +66,26 @@ public class TicketSearchUtil {
             throw new IllegalArgumentException("Invalid status value");
         }
     }
+
+    public static Optional<TicketPriority> parseTicketPriority(String priority) {
+        if (priority == null || priority.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(TicketPriority.valueOf(priority.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid priority value");
+        }
+    }
+
+    public static Optional<TicketCategory> parseTicketCategory(String category) {
+        if (category == null || category.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(TicketCategory.valueOf(category.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid category value");
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package com.techdesk.utils;
+
+import com.techdesk.dto.TicketStatsDTO;
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.repositories.projections.TicketCountView;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * In-memory ticket counts by status, priority, category and assignee.
+ * <p>
+ * Each dimension is counted separately, so a change to a ticket updates a handful of counters and reading the
+ * counts takes time proportional to the number of enum values and agents, never to the number of tickets.
+ * All operations are atomic with respect to each other.
+ * </p>
+ * <p>
+ * Every {@link #adjust} increments a version, so that a reconciliation can tell whether the counts changed while
+ * it was counting the tickets in the database ({@link #resetIfUnchanged}).
+ * </p>
+ */
+@Component
+public class TicketStatsCounters {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private final long[] byStatus = new long[STATUSES.length];
+    private final long[] byPriority = new long[TicketPriority.values().length];
+    private final long[] byCategory = new long[TicketCategory.values().length];
+    private final Map<UUID, long[]> byAssignee = new HashMap<>();
+    private long total;
+    private long version;
+    private LocalDateTime reconciledAt;
+
+    /**
+     * Adds {@code delta} tickets with the given values to the counts.
+     *
+     * @param status     the status of the tickets
+     * @param priority   the priority of the tickets
+     * @param category   the category of the tickets
+     * @param assigneeId the agent the tickets are assigned to, or null if they are unassigned
+     * @param delta      the number of tickets to add, negative to remove them
+     */
+    public synchronized void adjust(TicketStatus status, TicketPriority priority, TicketCategory category,
+                                    UUID assigneeId, long delta) {
+        add(status, priority, category, assigneeId, delta);
+        version++;
+    }
+
+    private void add(TicketStatus status, TicketPriority priority, TicketCategory category, UUID assigneeId,
+                     long delta) {
+        total += delta;
+        byStatus[status.ordinal()] += delta;
+        byPriority[priority.ordinal()] += delta;
+        byCategory[category.ordinal()] += delta;
+        if (assigneeId != null) {
+            long[] counts = byAssignee.computeIfAbsent(assigneeId, none -> new long[STATUSES.length]);
+            counts[status.ordinal()] += delta;
+            if (isZero(counts)) {
+                byAssignee.remove(assigneeId);
+            }
+        }
+    }
+
+    /**
+     * @return the number of adjustments made so far
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Replaces all counts with the result of a grouped count over the tickets, unless the counts were adjusted
+     * since {@code expectedVersion} was read. An adjustment made while the tickets were being counted may or may not
+     * be part of that count, so the result cannot be trusted then.
+     *
+     * @param counts          the number of tickets per combination of values
+     * @param expectedVersion the {@link #version()} read before the tickets were counted
+     * @return the drift as returned by {@link #reset}, or empty if the counts were adjusted in between
+     */
+    public synchronized OptionalLong resetIfUnchanged(List<TicketCountView> counts, long expectedVersion) {
+        return version == expectedVersion ? OptionalLong.of(reset(counts)) : OptionalLong.empty();
+    }
+
+    /**
+     * Replaces all counts with the result of a grouped count over the tickets.
+     *
+     * @param counts the number of tickets per combination of values
+     * @return the difference between the previous and the new total, as a measure of drift
+     */
+    public synchronized long reset(List<TicketCountView> counts) {
+        long previousTotal = total;
+        total = 0;
+        Arrays.fill(byStatus, 0);
+        Arrays.fill(byPriority, 0);
+        Arrays.fill(byCategory, 0);
+        byAssignee.clear();
+        for (TicketCountView count : counts) {
+            add(count.getStatus(), count.getPriority(), count.getCategory(), count.getAssigneeId(),
+                    count.getTickets());
+        }
+        reconciledAt = LocalDateTime.now();
+        return previousTotal - total;
+    }
+
+    /**
+     * @return whether the counts have been loaded from the database at least once
+     */
+    public synchronized boolean isReconciled() {
+        return reconciledAt != null;
+    }
+
+    /**
+     * @return a copy of the current counts
+     */
+    public synchronized TicketStatsDTO snapshot() {
+        Map<UUID, Map<TicketStatus, Long>> assignees = new HashMap<>();
+        byAssignee.forEach((assigneeId, counts) -> assignees.put(assigneeId, toMap(STATUSES, counts)));
+        return new TicketStatsDTO(total,
+                toMap(STATUSES, byStatus),
+                toMap(TicketPriority.values(), byPriority),
+                toMap(TicketCategory.values(), byCategory),
+                assignees,
+                reconciledAt);
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> toMap(E[] values, long[] counts) {
+        Map<E, Long> map = new EnumMap<>(values[0].getDeclaringClass());
+        for (E value : values) {
+            map.put(value, counts[value.ordinal()]);
+        }
+        return map;
+    }
+
+    private static boolean isZero(long[] counts) {
+        for (long count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,443 @@
+package com.techdesk.utils;
+
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory inverted index over ticket titles, descriptions and comments.
+ * <p>
+ * Tickets are spread over shards by id. Each shard has its own read/write lock, so incremental updates only block
+ * searches on one shard, and a search scores all shards in parallel. Results are ranked with BM25; title terms
+ * count {@value #TITLE_WEIGHT} times. A full rebuild fills a fresh set of shards in parallel and swaps it in
+ * atomically; updates that arrive while it runs are replayed onto the new shards before the swap.
+ * </p>
+ */
+@Component
+public class TicketTextIndex {
+
+    /**
+     * Ticket fields that go into the index.
+     */
+    public record Document(UUID id, String title, String description,
+                           TicketStatus status, TicketPriority priority, TicketCategory category) {
+    }
+
+    /**
+     * A comment that goes into the index of its ticket.
+     */
+    public record CommentDocument(UUID ticketId, UUID commentId, String text) {
+    }
+
+    /**
+     * A ranked search result.
+     */
+    public record Hit(UUID ticketId, double score) {
+    }
+
+    static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it", "of", "on", "or",
+            "that", "the", "this", "to", "was", "with");
+    private static final Comparator<Hit> BY_SCORE = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Hit::ticketId);
+
+    private final int shardCount;
+    private volatile Shard[] shards;
+    private Rebuild rebuild;
+
+    public TicketTextIndex(@Value("${techdesk.search.shards:0}") int shardCount) {
+        this.shardCount = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = newShards(this.shardCount);
+    }
+
+    /**
+     * Adds a ticket or replaces its title, description and filter fields. Comments already indexed are kept.
+     */
+    public void indexTicket(Document document) {
+        apply(shards -> shardOf(shards, document.id()).put(document));
+    }
+
+    /**
+     * Adds a comment to the index of its ticket. Comments already indexed are ignored; comments of a ticket that is
+     * not indexed yet are kept until the ticket is.
+     */
+    public void indexComment(CommentDocument comment) {
+        apply(shards -> shardOf(shards, comment.ticketId()).addComment(comment));
+    }
+
+    /**
+     * Removes a ticket and its comments from the index.
+     */
+    public void remove(UUID ticketId) {
+        apply(shards -> shardOf(shards, ticketId).remove(ticketId));
+    }
+
+    /**
+     * @return the number of indexed tickets
+     */
+    public int size() {
+        return Arrays.stream(shards).mapToInt(Shard::size).sum();
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query    free text; tickets matching any of its terms are returned, best matches first
+     * @param status   only return tickets with this status, or null for any
+     * @param priority only return tickets with this priority, or null for any
+     * @param category only return tickets with this category, or null for any
+     * @param limit    the maximum number of hits
+     * @return the best matching tickets, highest score first
+     */
+    public List<Hit> search(String query, TicketStatus status, TicketPriority priority, TicketCategory category,
+                            int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Shard[] current = shards;
+
+        long documentCount = 0;
+        long totalLength = 0;
+        Map<String, Integer> documentFrequencies = new HashMap<>();
+        for (Shard shard : current) {
+            documentCount += shard.collectStatistics(terms, documentFrequencies);
+            totalLength += shard.totalLength();
+        }
+        if (documentCount == 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+        Map<String, Double> idf = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : documentFrequencies.entrySet()) {
+            int df = entry.getValue();
+            idf.put(entry.getKey(), Math.log(1 + (documentCount - df + 0.5) / (df + 0.5)));
+        }
+        if (idf.isEmpty()) {
+            return List.of();
+        }
+
+        Filter filter = new Filter(status, priority, category);
+        return Arrays.stream(current).parallel()
+                .flatMap(shard -> shard.score(idf, averageLength, filter, limit).stream())
+                .sorted(BY_SCORE.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Starts a full rebuild. Until {@link #finishRebuild(Rebuild)} is called, searches keep using the current
+     * shards and incremental updates are applied to both.
+     *
+     * @return the rebuild to fill with {@link Rebuild#addTickets(List)} and {@link Rebuild#addComments(List)}
+     */
+    public synchronized Rebuild startRebuild() {
+        rebuild = new Rebuild(newShards(shardCount));
+        return rebuild;
+    }
+
+    /**
+     * Replays the updates received during the rebuild onto the new shards and makes them the current ones.
+     */
+    public synchronized void finishRebuild(Rebuild finished) {
+        if (rebuild != finished) {
+            return;
+        }
+        for (Consumer<Shard[]> update : finished.pendingUpdates) {
+            update.accept(finished.shards);
+        }
+        shards = finished.shards;
+        rebuild = null;
+    }
+
+    /**
+     * Discards a failed rebuild; the current shards stay in use.
+     */
+    public synchronized void abortRebuild(Rebuild aborted) {
+        if (rebuild == aborted) {
+            rebuild = null;
+        }
+    }
+
+    private synchronized void apply(Consumer<Shard[]> update) {
+        update.accept(shards);
+        if (rebuild != null) {
+            rebuild.pendingUpdates.add(update);
+        }
+    }
+
+    /**
+     * A full rebuild in progress. Each batch is split by shard and the shards are filled in parallel.
+     */
+    public static final class Rebuild {
+
+        private final Shard[] shards;
+        private final List<Consumer<Shard[]>> pendingUpdates = new ArrayList<>();
+
+        private Rebuild(Shard[] shards) {
+            this.shards = shards;
+        }
+
+        public void addTickets(List<Document> documents) {
+            List<List<Document>> byShard = partition(documents, Document::id);
+            IntStream.range(0, shards.length).parallel()
+                    .forEach(i -> byShard.get(i).forEach(shards[i]::put));
+        }
+
+        public void addComments(List<CommentDocument> comments) {
+            List<List<CommentDocument>> byShard = partition(comments, CommentDocument::ticketId);
+            IntStream.range(0, shards.length).parallel()
+                    .forEach(i -> byShard.get(i).forEach(shards[i]::addComment));
+        }
+
+        private <T> List<List<T>> partition(List<T> items, Function<T, UUID> idOf) {
+            List<List<T>> byShard = new ArrayList<>(shards.length);
+            for (int i = 0; i < shards.length; i++) {
+                byShard.add(new ArrayList<>());
+            }
+            for (T item : items) {
+                byShard.get(shardIndex(shards.length, idOf.apply(item))).add(item);
+            }
+            return byShard;
+        }
+    }
+
+    /**
+     * Splits text into lower-case terms, dropping single characters and common stop words.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private static Map<String, Integer> termFrequencies(String text, int weight, Map<String, Integer> into) {
+        for (String term : tokenize(text)) {
+            into.merge(term, weight, Integer::sum);
+        }
+        return into;
+    }
+
+    private static Shard[] newShards(int count) {
+        Shard[] shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        return shards;
+    }
+
+    private static int shardIndex(int shardCount, UUID ticketId) {
+        return Math.floorMod(ticketId.hashCode(), shardCount);
+    }
+
+    private static Shard shardOf(Shard[] shards, UUID ticketId) {
+        return shards[shardIndex(shards.length, ticketId)];
+    }
+
+    private record Filter(TicketStatus status, TicketPriority priority, TicketCategory category) {
+        boolean matches(Entry entry) {
+            return (status == null || status == entry.status)
+                    && (priority == null || priority == entry.priority)
+                    && (category == null || category == entry.category);
+        }
+    }
+
+    private static final class Entry {
+        TicketStatus status;
+        TicketPriority priority;
+        TicketCategory category;
+        Map<String, Integer> ticketTerms = Map.of();
+        final Map<String, Integer> commentTerms = new HashMap<>();
+        final Set<UUID> commentIds = new HashSet<>();
+        int length;
+    }
+
+    private static final class Shard {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Map<UUID, Integer>> postings = new HashMap<>();
+        private final Map<UUID, Entry> entries = new HashMap<>();
+        private final Map<UUID, List<CommentDocument>> pendingComments = new HashMap<>();
+        private long totalLength;
+
+        void put(Document document) {
+            Map<String, Integer> terms = termFrequencies(document.title(), TITLE_WEIGHT, new HashMap<>());
+            termFrequencies(document.description(), 1, terms);
+            lock.writeLock().lock();
+            try {
+                Entry entry = entries.computeIfAbsent(document.id(), id -> new Entry());
+                addPostings(document.id(), entry, entry.ticketTerms, -1);
+                entry.ticketTerms = terms;
+                addPostings(document.id(), entry, terms, 1);
+                entry.status = document.status();
+                entry.priority = document.priority();
+                entry.category = document.category();
+                List<CommentDocument> pending = pendingComments.remove(document.id());
+                if (pending != null) {
+                    pending.forEach(comment -> addTerms(entry, comment, termFrequencies(comment.text(), 1, new HashMap<>())));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void addComment(CommentDocument comment) {
+            Map<String, Integer> terms = termFrequencies(comment.text(), 1, new HashMap<>());
+            lock.writeLock().lock();
+            try {
+                Entry entry = entries.get(comment.ticketId());
+                if (entry == null) {
+                    pendingComments.computeIfAbsent(comment.ticketId(), id -> new ArrayList<>()).add(comment);
+                    return;
+                }
+                addTerms(entry, comment, terms);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Adds the terms of a comment to its ticket unless the comment is already indexed. Caller holds the write
+         * lock.
+         */
+        private void addTerms(Entry entry, CommentDocument comment, Map<String, Integer> terms) {
+            if (!entry.commentIds.add(comment.commentId())) {
+                return;
+            }
+            terms.forEach((term, tf) -> entry.commentTerms.merge(term, tf, Integer::sum));
+            addPostings(comment.ticketId(), entry, terms, 1);
+        }
+
+        void remove(UUID ticketId) {
+            lock.writeLock().lock();
+            try {
+                pendingComments.remove(ticketId);
+                Entry entry = entries.remove(ticketId);
+                if (entry != null) {
+                    addPostings(ticketId, entry, entry.ticketTerms, -1);
+                    addPostings(ticketId, entry, entry.commentTerms, -1);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Adds ({@code sign = 1}) or removes ({@code sign = -1}) term frequencies of a ticket. Caller holds the
+         * write lock.
+         */
+        private void addPostings(UUID ticketId, Entry entry, Map<String, Integer> terms, int sign) {
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                int delta = sign * term.getValue();
+                postings.compute(term.getKey(), (key, documents) -> {
+                    Map<UUID, Integer> updated = documents == null ? new HashMap<>() : documents;
+                    updated.merge(ticketId, delta, (current, change) -> current + change > 0 ? current + change : null);
+                    return updated.isEmpty() ? null : updated;
+                });
+                entry.length += delta;
+                totalLength += delta;
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long totalLength() {
+            lock.readLock().lock();
+            try {
+                return totalLength;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Adds this shard's document frequencies of the given terms and returns its number of documents.
+         */
+        int collectStatistics(Set<String> terms, Map<String, Integer> documentFrequencies) {
+            lock.readLock().lock();
+            try {
+                for (String term : terms) {
+                    Map<UUID, Integer> documents = postings.get(term);
+                    if (documents != null) {
+                        documentFrequencies.merge(term, documents.size(), Integer::sum);
+                    }
+                }
+                return entries.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Hit> score(Map<String, Double> idf, double averageLength, Filter filter, int limit) {
+            Map<UUID, Double> scores = new HashMap<>();
+            lock.readLock().lock();
+            try {
+                for (Map.Entry<String, Double> term : idf.entrySet()) {
+                    Map<UUID, Integer> documents = postings.get(term.getKey());
+                    if (documents == null) {
+                        continue;
+                    }
+                    for (Map.Entry<UUID, Integer> posting : documents.entrySet()) {
+                        Entry entry = entries.get(posting.getKey());
+                        if (entry == null || !filter.matches(entry)) {
+                            continue;
+                        }
+                        double tf = posting.getValue();
+                        double norm = K1 * (1 - B + B * entry.length / averageLength);
+                        scores.merge(posting.getKey(), term.getValue() * tf * (K1 + 1) / (tf + norm), Double::sum);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BY_SCORE);
+            scores.forEach((ticketId, score) -> {
+                top.add(new Hit(ticketId, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+            return new ArrayList<>(top);
+        }
+    }
+}
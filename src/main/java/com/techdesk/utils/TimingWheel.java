@@ -0,0 +1,185 @@
+package com.techdesk.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel holding one deadline per key.
+ * <p>
+ * Time is divided into ticks of a fixed length. Each level has 64 slots; a slot of level 0 holds the deadlines of
+ * one tick, a slot of level 1 those of 64 ticks, and so on up to six levels, which covers about 2000 years at
+ * one-second ticks. A deadline goes into the lowest level whose range reaches it and moves down a level each time
+ * the wheel enters its slot, so scheduling, cancelling and expiring a deadline are O(1) and advancing the wheel
+ * only touches the slots that are due, whatever the number of pending deadlines.
+ * </p>
+ * <p>
+ * The wheel has no clock of its own: {@link #advance(long)} is given the current time. A deadline expires on the
+ * first tick that starts at or after it, so never early and at most one tick late. All operations are atomic
+ * with respect to each other.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ */
+public class TimingWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 6;
+    private static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private static final class Entry<K> {
+        private final K key;
+        private long deadlineTick;
+        private Entry<K> previous;
+        private Entry<K> next;
+        private int level;
+        private int slot;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+    }
+
+    private final long tickMillis;
+    private final Entry<K>[][] slots;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tickMillis the length of a tick in milliseconds
+     * @param nowMillis  the current time in milliseconds; the first tick starts there
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long nowMillis) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("The tick must be at least one millisecond");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new Entry[LEVELS][SLOTS];
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules a deadline for a key, replacing its previous deadline if it has one. A deadline in the past
+     * expires on the next tick.
+     *
+     * @param key            the key
+     * @param deadlineMillis the deadline in milliseconds
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Entry<K> entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry<>(key);
+            entries.put(key, entry);
+        } else {
+            unlink(entry);
+        }
+        entry.deadlineTick = Math.min(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + MAX_DELAY_TICKS);
+        insert(entry);
+    }
+
+    /**
+     * Removes the deadline of a key.
+     *
+     * @param key the key
+     * @return whether the key had a deadline
+     */
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to the given time and removes the deadlines that have passed.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return the keys whose deadline has passed, in the order of their deadline tick
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        while (currentTick <= targetTick) {
+            if (entries.isEmpty()) {
+                currentTick = targetTick + 1;
+                break;
+            }
+            cascade();
+            Entry<K> entry = slots[0][(int) (currentTick & (SLOTS - 1))];
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                unlink(entry);
+                entries.remove(entry.key);
+                expired.add(entry.key);
+                entry = next;
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    /**
+     * @return the number of pending deadlines
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Moves the entries of the higher level slots the wheel has just entered down to the levels below, highest
+     * level first so that entries moved from one level into a slot being entered on the next level move on too.
+     */
+    private void cascade() {
+        int level = 0;
+        while (level < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+            Entry<K> entry = slots[level][slot];
+            slots[level][slot] = null;
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                insert(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void insert(Entry<K> entry) {
+        long delay = Math.max(0, entry.deadlineTick - currentTick);
+        long tick = Math.max(entry.deadlineTick, currentTick);
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        entry.level = level;
+        entry.slot = (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+        entry.previous = null;
+        entry.next = slots[level][entry.slot];
+        if (entry.next != null) {
+            entry.next.previous = entry;
+        }
+        slots[level][entry.slot] = entry;
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else if (slots[entry.level][entry.slot] == entry) {
+            slots[entry.level][entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+    }
+}
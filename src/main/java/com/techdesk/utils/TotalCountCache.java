@@ -0,0 +1,210 @@
+package com.techdesk.utils;
+
+import com.techdesk.dto.TotalAwarePage;
+import com.techdesk.dto.TotalCountMode;
+import com.techdesk.events.CommentAddedEvent;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketDeletedEvent;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.events.TicketUpdatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of the totals of paged queries, so that paging through a large result does not run the same
+ * COUNT for every page.
+ * <p>
+ * Totals are keyed by the table, the shape of the query and its filter values. Every table has a generation that
+ * is bumped after each committed write to it; a cached total from an older generation or older than
+ * {@code count-ttl} is ignored. Audit logs written by the asynchronous writer do not bump the generation, so their
+ * totals may lag by up to one TTL.
+ * </p>
+ * <p>
+ * {@link #page} always reads one row more than requested unless an exact total is asked for. When that shows the
+ * page is the last one, the total follows from the offset and no COUNT is needed in any mode.
+ * </p>
+ */
+@Component
+public class TotalCountCache {
+
+    public static final String TICKETS = "tickets";
+    public static final String COMMENTS = "comments";
+    public static final String AUDIT_LOGS = "ticket_audit_logs";
+
+    /**
+     * Identifies a count query.
+     *
+     * @param table      the table whose writes invalidate the count
+     * @param query      the name of the query shape, unique per table
+     * @param parameters the filter values, compared by equality
+     */
+    public record CountKey(String table, String query, List<Object> parameters) {
+
+        public static CountKey of(String table, String query, Object... parameters) {
+            return new CountKey(table, query, Arrays.asList(parameters));
+        }
+    }
+
+    private record CachedCount(long total, long generation, long expiresAtNanos) {
+    }
+
+    private final ConcurrentMap<CountKey, CachedCount> counts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final int maxEntries;
+    private final TotalCountMode defaultMode;
+
+    /**
+     * Constructs a {@code TotalCountCache}.
+     *
+     * @param ttl         how long a counted total may be reused
+     * @param maxEntries  the maximum number of cached totals
+     * @param defaultMode the mode used when a request does not choose one
+     */
+    public TotalCountCache(@Value("${techdesk.paging.count-ttl:PT30S}") Duration ttl,
+                           @Value("${techdesk.paging.count-cache-size:10000}") int maxEntries,
+                           @Value("${techdesk.paging.default-total:exact}") String defaultMode) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        TotalCountMode parsedMode = TotalCountMode.parse(defaultMode);
+        this.defaultMode = parsedMode != null ? parsedMode : TotalCountMode.EXACT;
+    }
+
+    /**
+     * Runs a paged query, determining its total according to the requested mode.
+     *
+     * @param key        the key under which the total is cached
+     * @param mode       the requested mode, or null for the configured default
+     * @param pageable   the requested page
+     * @param pageQuery  runs the query together with its count
+     * @param sliceQuery runs the query reading one row ahead, without a count
+     * @param countQuery runs the count alone
+     * @return the page, reporting the mode its total was actually determined with
+     */
+    public <T> TotalAwarePage<T> page(CountKey key, TotalCountMode mode, Pageable pageable,
+                                      Function<Pageable, Page<T>> pageQuery,
+                                      Function<Pageable, Slice<T>> sliceQuery,
+                                      LongSupplier countQuery) {
+        TotalCountMode requested = mode != null ? mode : defaultMode;
+        long generation = generationOf(key.table());
+        if (requested == TotalCountMode.EXACT || pageable.isUnpaged()) {
+            Page<T> page = pageQuery.apply(pageable);
+            put(key, generation, page.getTotalElements());
+            return new TotalAwarePage<>(page.getContent(), page.getPageable(), page.getTotalElements(),
+                    TotalCountMode.EXACT);
+        }
+
+        Slice<T> slice = sliceQuery.apply(pageable);
+        List<T> content = slice.getContent();
+        long seen = pageable.getOffset() + content.size();
+        if (!slice.hasNext() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            put(key, generation, seen);
+            return new TotalAwarePage<>(content, pageable, seen, TotalCountMode.EXACT);
+        }
+        long lowerBound = slice.hasNext() ? seen + 1 : seen;
+        if (requested == TotalCountMode.NONE) {
+            return new TotalAwarePage<>(content, pageable, lowerBound, TotalCountMode.NONE);
+        }
+        OptionalLong cached = get(key);
+        if (cached.isPresent()) {
+            return new TotalAwarePage<>(content, pageable, Math.max(cached.getAsLong(), lowerBound),
+                    TotalCountMode.ESTIMATED);
+        }
+        long total = countQuery.getAsLong();
+        put(key, generation, total);
+        return new TotalAwarePage<>(content, pageable, total, TotalCountMode.EXACT);
+    }
+
+    /**
+     * Discards every cached total of the given tables.
+     *
+     * @param tables the tables that were written to
+     */
+    public void invalidate(String... tables) {
+        for (String table : tables) {
+            generations.computeIfAbsent(table, none -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of cached totals, including ones that are no longer valid
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    private OptionalLong get(CountKey key) {
+        CachedCount cached = counts.get(key);
+        if (cached == null) {
+            return OptionalLong.empty();
+        }
+        if (!isValid(key, cached, System.nanoTime())) {
+            counts.remove(key, cached);
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(cached.total());
+    }
+
+    /**
+     * Caches a total counted while the table was at the given generation. A write that committed while the count
+     * was running has already bumped the generation, so such a total is never served.
+     */
+    private void put(CountKey key, long generation, long total) {
+        if (counts.size() >= maxEntries) {
+            long now = System.nanoTime();
+            counts.entrySet().removeIf(entry -> !isValid(entry.getKey(), entry.getValue(), now));
+            if (counts.size() >= maxEntries) {
+                counts.clear();
+            }
+        }
+        counts.put(key, new CachedCount(total, generation, System.nanoTime() + ttl.toNanos()));
+    }
+
+    private boolean isValid(CountKey key, CachedCount cached, long now) {
+        return cached.generation() == generationOf(key.table()) && now - cached.expiresAtNanos() < 0;
+    }
+
+    private long generationOf(String table) {
+        AtomicLong generation = generations.get(table);
+        return generation == null ? 0 : generation.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketCreated(TicketCreatedEvent event) {
+        invalidate(TICKETS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketUpdated(TicketUpdatedEvent event) {
+        invalidate(TICKETS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketStatusChanged(TicketStatusChangedEvent event) {
+        invalidate(TICKETS, AUDIT_LOGS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketDeleted(TicketDeletedEvent event) {
+        invalidate(TICKETS, COMMENTS, AUDIT_LOGS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent event) {
+        invalidate(COMMENTS, AUDIT_LOGS);
+    }
+}
@@ -0,0 +1,198 @@
+package com.techdesk.utils;
+
+import com.techdesk.entities.AppUser;
+import com.techdesk.entities.enums.Role;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring cache of users by id and by username.
+ * <p>
+ * Only immutable {@link UserSnapshot}s are cached, never entities, so a cached user cannot end up attached to a
+ * persistence context or be modified by a caller. Each lookup map keeps at most {@code max-entries} users and
+ * evicts the least recently used one when full; entries expire {@code ttl} after being loaded. Misses are not
+ * cached.
+ * </p>
+ * <p>
+ * Exposes the meters {@code techdesk.user.cache.requests} (tagged with {@code key} and {@code result}) and
+ * {@code techdesk.user.cache.size}.
+ * </p>
+ */
+@Component
+public class UserCache {
+
+    /**
+     * An immutable copy of a user. {@link #toString()} never includes the password hash.
+     */
+    public record UserSnapshot(UUID id, String username, String passwordHash, Role role) {
+
+        public static UserSnapshot of(AppUser user) {
+            return new UserSnapshot(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+        }
+
+        /**
+         * @return a new, detached {@link AppUser} with the values of this snapshot
+         */
+        public AppUser toAppUser() {
+            return AppUser.builder()
+                    .id(id)
+                    .username(username)
+                    .password(passwordHash)
+                    .role(role)
+                    .build();
+        }
+
+        @Override
+        public String toString() {
+            return "UserSnapshot[id=" + id + ", username=" + username + ", passwordHash=****, role=" + role + "]";
+        }
+    }
+
+    private record CachedUser(UserSnapshot user, long expiresAtNanos) {
+    }
+
+    private final Map<UUID, CachedUser> byId;
+    private final Map<String, CachedUser> byUsername;
+    private final Duration ttl;
+    private final AtomicLong evictions = new AtomicLong();
+    private final Counter idHits;
+    private final Counter idMisses;
+    private final Counter usernameHits;
+    private final Counter usernameMisses;
+
+    /**
+     * Constructs a {@code UserCache}.
+     *
+     * @param meterRegistry the registry for the hit, miss and size meters
+     * @param ttl           how long a loaded user is served from the cache
+     * @param maxEntries    the maximum number of users per lookup map
+     */
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${techdesk.users.cache-ttl:PT5M}") Duration ttl,
+                     @Value("${techdesk.users.cache-size:10000}") int maxEntries) {
+        this.ttl = ttl;
+        this.byId = boundedMap(maxEntries);
+        this.byUsername = boundedMap(maxEntries);
+        Gauge.builder("techdesk.user.cache.size", this, UserCache::size)
+                .description("Users cached by id")
+                .register(meterRegistry);
+        this.idHits = requests(meterRegistry, "id", "hit");
+        this.idMisses = requests(meterRegistry, "id", "miss");
+        this.usernameHits = requests(meterRegistry, "username", "hit");
+        this.usernameMisses = requests(meterRegistry, "username", "miss");
+    }
+
+    private static <K> Map<K, CachedUser> boundedMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedUser> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String key, String result) {
+        return Counter.builder("techdesk.user.cache.requests")
+                .description("User cache lookups")
+                .tag("key", key)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached user with the given id, loading and caching it on a miss.
+     *
+     * @param id     the id of the user
+     * @param loader loads the user from the database
+     * @return the user, or an empty Optional if it does not exist
+     */
+    public Optional<UserSnapshot> getById(UUID id, Function<UUID, Optional<AppUser>> loader) {
+        UserSnapshot cached = lookup(byId, id);
+        if (cached != null) {
+            idHits.increment();
+            return Optional.of(cached);
+        }
+        idMisses.increment();
+        return load(id, loader);
+    }
+
+    /**
+     * Returns the cached user with the given username, loading and caching it on a miss.
+     *
+     * @param username the username of the user
+     * @param loader   loads the user from the database
+     * @return the user, or an empty Optional if it does not exist
+     */
+    public Optional<UserSnapshot> getByUsername(String username, Function<String, Optional<AppUser>> loader) {
+        UserSnapshot cached = lookup(byUsername, username);
+        if (cached != null) {
+            usernameHits.increment();
+            return Optional.of(cached);
+        }
+        usernameMisses.increment();
+        return load(username, loader);
+    }
+
+    /**
+     * Loads a user and caches it, unless an eviction happened while it was being loaded: the loaded values may
+     * then predate the change that caused the eviction.
+     */
+    private <K> Optional<UserSnapshot> load(K key, Function<K, Optional<AppUser>> loader) {
+        long evictionsBefore = evictions.get();
+        Optional<UserSnapshot> loaded = loader.apply(key).map(UserSnapshot::of);
+        loaded.ifPresent(user -> {
+            synchronized (this) {
+                if (evictions.get() == evictionsBefore) {
+                    CachedUser cached = new CachedUser(user, System.nanoTime() + ttl.toNanos());
+                    byId.put(user.id(), cached);
+                    byUsername.put(user.username(), cached);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    private synchronized <K> UserSnapshot lookup(Map<K, CachedUser> map, K key) {
+        CachedUser cached = map.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (System.nanoTime() - cached.expiresAtNanos() >= 0) {
+            map.remove(key);
+            return null;
+        }
+        return cached.user();
+    }
+
+    /**
+     * Removes a user from the cache. Must be called whenever a user's username, password or role changes.
+     *
+     * @param id the id of the user
+     */
+    public synchronized void evict(UUID id) {
+        evictions.incrementAndGet();
+        CachedUser cached = byId.remove(id);
+        if (cached != null) {
+            byUsername.remove(cached.user().username());
+        }
+        byUsername.values().removeIf(user -> user.user().id().equals(id));
+    }
+
+    /**
+     * @return the number of users cached by id
+     */
+    public synchronized int size() {
+        return byId.size();
+    }
+}
@@ -0,0 +1,169 @@
+package com.techdesk.web.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of API requests processed at the same time.
+ * <p>
+ * With platform threads the Tomcat pool size bounds concurrency; with virtual threads it does not, and thousands of
+ * requests would otherwise queue inside Hikari for a handful of connections. The limit defaults to twice the
+ * connection pool size, so that requests spending part of their time outside the database keep the pool busy.
+ * A request that cannot get a slot within {@code max-wait} is answered with 503 and a {@code Retry-After} header.
+ * </p>
+ * <p>
+ * A request that continues asynchronously, such as a streamed export, keeps its slot until the async processing
+ * completes, since it goes on reading from the database after the filter chain returns. The Server-Sent Events
+ * stream at {@value #EVENT_STREAM_PATH} is not limited: it stays open for up to half an hour without touching the
+ * database and would otherwise hold a slot all that time.
+ * </p>
+ * <p>
+ * Exposes the meters {@code techdesk.requests.in.flight}, {@code techdesk.requests.admission.wait} and
+ * {@code techdesk.requests.rejected}.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "techdesk.concurrency.limit-enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    /**
+     * The ticket event stream, which is exempt from the limit.
+     */
+    public static final String EVENT_STREAM_PATH = "/api/tickets/stream";
+
+    private final Semaphore permits;
+    private final int limit;
+    private final Duration maxWait;
+    private final Timer admissionWait;
+    private final Counter rejected;
+
+    /**
+     * Constructs a {@code ConcurrencyLimitFilter}.
+     *
+     * @param meterRegistry  the registry for the admission meters
+     * @param maxInFlight    the maximum number of concurrent API requests, or 0 to derive it from the pool size
+     * @param connectionPool the maximum size of the Hikari connection pool
+     * @param maxWait        how long a request may wait for a slot
+     */
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${techdesk.concurrency.max-in-flight:0}") int maxInFlight,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPool,
+                                  @Value("${techdesk.concurrency.max-wait:PT2S}") Duration maxWait) {
+        this.limit = maxInFlight > 0 ? maxInFlight : 2 * connectionPool;
+        this.permits = new Semaphore(limit, true);
+        this.maxWait = maxWait;
+        Gauge.builder("techdesk.requests.in.flight", permits, semaphore -> limit - semaphore.availablePermits())
+                .description("API requests currently being processed")
+                .register(meterRegistry);
+        this.admissionWait = Timer.builder("techdesk.requests.admission.wait")
+                .description("Time API requests wait for a processing slot")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("techdesk.requests.rejected")
+                .description("API requests rejected because no processing slot became free in time")
+                .register(meterRegistry);
+        logger.info("Limiting concurrent API requests to {}", limit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/") || uri.equals(EVENT_STREAM_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        admissionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Server busy, please retry shortly\"}");
+            return;
+        }
+        boolean handedOff = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+                handedOff = true;
+            }
+        } finally {
+            if (!handedOff) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of an asynchronous request once, when its processing completes, fails or times out.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async processing was restarted on a dispatch; stay registered until it completes.
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
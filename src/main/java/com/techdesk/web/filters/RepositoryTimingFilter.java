@@ -0,0 +1,80 @@
+package com.techdesk.web.filters;
+
+import com.techdesk.utils.RepositoryCallTracker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes the repository time of each API request to its endpoint.
+ * <p>
+ * For every repository method called while handling a request, records the meters
+ * {@code techdesk.http.repository.time} (time spent in that method during the request) and
+ * {@code techdesk.http.repository.calls} (how often it was called), both tagged with the endpoint's {@code method}
+ * and {@code uri} pattern, as in {@code http.server.requests}, and with the repository {@code call}. Comparing them
+ * with {@code http.server.requests} shows which repository call dominates an endpoint's latency. The body of
+ * streamed responses is written after this filter returns and is not included.
+ * </p>
+ */
+@Component
+public class RepositoryTimingFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final RepositoryCallTracker tracker;
+    private final MeterRegistry meterRegistry;
+
+    public RepositoryTimingFilter(RepositoryCallTracker tracker, MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        tracker.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Map<String, RepositoryCallTracker.CallStats> calls = tracker.end();
+            if (!calls.isEmpty()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+                calls.forEach((call, stats) -> record(request.getMethod(), uri, call, stats));
+            }
+        }
+    }
+
+    private void record(String method, String uri, String call, RepositoryCallTracker.CallStats stats) {
+        Timer.builder("techdesk.http.repository.time")
+                .description("Time spent in a repository method while handling a request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("call", call)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("techdesk.http.repository.calls")
+                .description("Calls of a repository method while handling a request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("call", call)
+                .register(meterRegistry)
+                .record(stats.getCalls());
+    }
+}
@@ -0,0 +1,178 @@
+package com.techdesk.web.filters;
+
+import com.techdesk.utils.SqlStatementTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements of each API request through {@link SqlStatementTracker}.
+ * <p>
+ * The count and the JDBC time so far are returned in the {@value #STATEMENTS_HEADER} and {@value #TIME_HEADER}
+ * response headers, added just before the body is written. When the request is complete they are recorded as
+ * {@code techdesk.http.sql.statements} and {@code techdesk.http.sql.time}, tagged with the endpoint's
+ * {@code method} and {@code uri} pattern. A statement that ran more than {@code repeated-statement-warning} times
+ * in one request is logged as a warning, since it usually means a lazy association is loaded row by row (N+1),
+ * and counted in {@code techdesk.http.sql.repeated}. The body of streamed responses is written after this filter
+ * returns and is not included.
+ * </p>
+ */
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementFilter.class);
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int repeatedStatementWarning;
+
+    /**
+     * Constructs a {@code SqlStatementFilter}.
+     *
+     * @param meterRegistry            the registry for the statement meters
+     * @param responseHeaders          whether to return the statement count and time as response headers
+     * @param repeatedStatementWarning how often one statement may run in a request before a warning is logged
+     */
+    public SqlStatementFilter(MeterRegistry meterRegistry,
+                              @Value("${techdesk.sql.response-headers:true}") boolean responseHeaders,
+                              @Value("${techdesk.sql.repeated-statement-warning:10}") int repeatedStatementWarning) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.repeatedStatementWarning = repeatedStatementWarning;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean started = SqlStatementTracker.begin();
+        StatementHeaderResponse headerResponse = responseHeaders ? new StatementHeaderResponse(response) : null;
+        try {
+            chain.doFilter(request, headerResponse != null ? headerResponse : response);
+            if (headerResponse != null && !request.isAsyncStarted()) {
+                headerResponse.writeHeaders();
+            }
+        } finally {
+            if (started) {
+                record(request, SqlStatementTracker.end());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementTracker.Statements statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String method = request.getMethod();
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        DistributionSummary.builder("techdesk.http.sql.statements")
+                .description("SQL statements per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.getCount());
+        Timer.builder("techdesk.http.sql.time")
+                .description("JDBC execution time per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = statements.repeatedMoreThan(repeatedStatementWarning);
+        if (!repeated.isEmpty()) {
+            Counter.builder("techdesk.http.sql.repeated")
+                    .description("Requests that ran the same statement more often than the warning threshold")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            repeated.forEach((shape, times) -> logger.warn("{} {} ran the same statement {} times: {}",
+                    method, uri, times, shape));
+        }
+    }
+
+    /**
+     * Adds the statement headers when the body is first written or the response is otherwise committed.
+     */
+    private static final class StatementHeaderResponse extends HttpServletResponseWrapper {
+
+        private boolean headersWritten;
+
+        StatementHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void writeHeaders() {
+            if (headersWritten) {
+                return;
+            }
+            headersWritten = true;
+            SqlStatementTracker.Statements statements = SqlStatementTracker.current();
+            if (statements != null && !isCommitted()) {
+                setHeader(STATEMENTS_HEADER, Integer.toString(statements.getCount()));
+                setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", statements.getJdbcNanos() / 1e6));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
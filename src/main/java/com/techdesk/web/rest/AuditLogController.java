@@ -1,54 +1,95 @@
 package com.techdesk.web.rest;
 
 import com.techdesk.dto.AuditLogResponseDTO;
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.dto.ExportFormat;
+import com.techdesk.dto.TotalCountMode;
 import com.techdesk.dto.mappers.AuditLogMapper;
 import com.techdesk.entities.Ticket;
 import com.techdesk.entities.TicketAuditLog;
-import com.techdesk.repositories.AuditLogRepository;
+import com.techdesk.entities.enums.Role;
 import com.techdesk.repositories.TicketRepository;
+import com.techdesk.services.AuditLogExportService;
+import com.techdesk.services.AuditLogService;
+import com.techdesk.utils.TicketSearchUtil;
+import com.techdesk.web.errors.UnauthorizedAccessException;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/logs")
 public class AuditLogController {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogService auditLogService;
     private final TicketRepository ticketRepository;
     private final AuditLogMapper auditLogMapper;
+    private final AuditLogExportService auditLogExportService;
 
-    public AuditLogController(AuditLogRepository auditLogRepository, TicketRepository ticketRepository, AuditLogMapper auditLogMapper) {
-        this.auditLogRepository = auditLogRepository;
+    public AuditLogController(AuditLogService auditLogService, TicketRepository ticketRepository,
+                              AuditLogMapper auditLogMapper, AuditLogExportService auditLogExportService) {
+        this.auditLogService = auditLogService;
         this.ticketRepository = ticketRepository;
         this.auditLogMapper = auditLogMapper;
+        this.auditLogExportService = auditLogExportService;
     }
 
     @GetMapping("/ticket/{ticketId}")
     public ResponseEntity<Page<AuditLogResponseDTO>> getLogsForTicket(
             @PathVariable @NotNull UUID ticketId,
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(required = false) String total) {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new IllegalArgumentException("Ticket not found"));
-        Page<TicketAuditLog> logsPage = auditLogRepository.findByTicket(ticket, pageable);
+        Page<TicketAuditLog> logsPage = auditLogService.getLogsForTicket(ticket, pageable, TotalCountMode.parse(total));
         Page<AuditLogResponseDTO> dtoPage = logsPage.map(auditLogMapper::toDto);
         return ResponseEntity.ok(dtoPage);
     }
 
     // Endpoint to retrieve all audit logs (admin view) with pagination.
     @GetMapping
-    public ResponseEntity<Page<AuditLogResponseDTO>> getAllLogs(Pageable pageable) {
-        Page<TicketAuditLog> logsPage = auditLogRepository.findAll(pageable);
+    public ResponseEntity<Page<AuditLogResponseDTO>> getAllLogs(Pageable pageable,
+                                                                @RequestParam(required = false) String total) {
+        Page<TicketAuditLog> logsPage = auditLogService.getAllLogs(pageable, TotalCountMode.parse(total));
         Page<AuditLogResponseDTO> dtoPage = logsPage.map(auditLogMapper::toDto);
         return ResponseEntity.ok(dtoPage);
     }
+
+    // Streams all audit logs in [from, to) as CSV or NDJSON, optionally gzip-compressed (compliance extracts).
+    // The body is written after this method returns, so the range is checked here, while it can still get a 400.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            AuthenticatedUser user,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (user.role() != Role.IT_SUPPORT) {
+            throw new UnauthorizedAccessException("Only IT support agents can export audit logs");
+        }
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        LocalDateTime fromTime = TicketSearchUtil.parseDateTime(from, "from").orElse(null);
+        LocalDateTime toTime = TicketSearchUtil.parseDateTime(to, "to").orElse(null);
+        TicketSearchUtil.checkDateRange(fromTime, "from", toTime, "to");
+        String filename = "audit-logs." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> auditLogExportService.exportLogs(fromTime, toTime, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
 }
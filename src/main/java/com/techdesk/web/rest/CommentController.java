@@ -1,7 +1,9 @@
 package com.techdesk.web.rest;
 
+import com.techdesk.dto.AuthenticatedUser;
 import com.techdesk.dto.CommentRequestDTO;
 import com.techdesk.dto.CommentResponseDTO;
+import com.techdesk.dto.TotalCountMode;
 import com.techdesk.services.CommentService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -25,16 +27,18 @@ public class CommentController {
     public ResponseEntity<CommentResponseDTO> addCommentToTicket(
             @PathVariable UUID ticketId,
             @Valid @RequestBody CommentRequestDTO commentRequestDTO,
-            @RequestParam UUID supportUserId) {
-        CommentResponseDTO response = commentService.addCommentToTicket(ticketId, commentRequestDTO, supportUserId);
+            AuthenticatedUser user) {
+        CommentResponseDTO response = commentService.addCommentToTicket(ticketId, commentRequestDTO, user);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/{ticketId}/comments")
     public ResponseEntity<Page<CommentResponseDTO>> getCommentsForTicket(
             @PathVariable UUID ticketId,
-            Pageable pageable) {
-        Page<CommentResponseDTO> comments = commentService.getCommentsForTicket(ticketId, pageable);
+            Pageable pageable,
+            @RequestParam(required = false) String total) {
+        Page<CommentResponseDTO> comments = commentService.getCommentsForTicket(ticketId, pageable,
+                TotalCountMode.parse(total));
         return ResponseEntity.ok(comments);
     }
 }
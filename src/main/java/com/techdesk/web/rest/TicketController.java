@@ -1,17 +1,39 @@
 package com.techdesk.web.rest;
 
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.dto.BulkTicketResultDTO;
 import com.techdesk.dto.CreateTicketDTO;
+import com.techdesk.dto.CursorPageDTO;
 import com.techdesk.dto.TicketResponseDTO;
+import com.techdesk.dto.TicketSearchCriteria;
+import com.techdesk.dto.TicketSearchHitDTO;
+import com.techdesk.dto.TicketStatsDTO;
+import com.techdesk.dto.TotalCountMode;
 import com.techdesk.dto.UpdateTicketEmployeeDTO;
 import com.techdesk.dto.UpdateTicketStatusDTO;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.services.TicketExportService;
 import com.techdesk.services.TicketService;
+import com.techdesk.services.TicketStatsService;
+import com.techdesk.services.TicketStreamService;
+import com.techdesk.services.TicketTextSearchService;
+import com.techdesk.utils.TicketSearchUtil;
+import com.techdesk.web.errors.UnauthorizedAccessException;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,9 +42,19 @@ import java.util.UUID;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketTextSearchService ticketTextSearchService;
+    private final TicketExportService ticketExportService;
+    private final TicketStatsService ticketStatsService;
+    private final TicketStreamService ticketStreamService;
 
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService, TicketTextSearchService ticketTextSearchService,
+                            TicketExportService ticketExportService, TicketStatsService ticketStatsService,
+                            TicketStreamService ticketStreamService) {
         this.ticketService = ticketService;
+        this.ticketTextSearchService = ticketTextSearchService;
+        this.ticketExportService = ticketExportService;
+        this.ticketStatsService = ticketStatsService;
+        this.ticketStreamService = ticketStreamService;
     }
 
     // Employee endpoints
@@ -30,28 +62,41 @@ public class TicketController {
     @PostMapping("/create")
     public ResponseEntity<TicketResponseDTO> createTicket(
             @Valid @RequestBody CreateTicketDTO createTicketDTO,
-            @RequestParam String employeeId) {
-        UUID employeeUUID;
-        try {
-            employeeUUID = UUID.fromString(employeeId);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid employeeId format. Expected a valid UUID string.");
-        }
-        TicketResponseDTO response = ticketService.createTicket(createTicketDTO, employeeUUID);
+            AuthenticatedUser user) {
+        TicketResponseDTO response = ticketService.createTicket(createTicketDTO, user.id());
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkTicketResultDTO>> createTickets(
+            @RequestBody List<CreateTicketDTO> createTicketDTOs,
+            AuthenticatedUser user) {
+        List<BulkTicketResultDTO> results = ticketService.createTickets(createTicketDTOs, user.id());
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping("/employee")
     public ResponseEntity<Page<TicketResponseDTO>> getTicketsForEmployee(
-            @RequestParam UUID employeeId, Pageable pageable) {
-        Page<TicketResponseDTO> tickets = ticketService.getTicketsForEmployee(employeeId, pageable);
+            AuthenticatedUser user, Pageable pageable,
+            @RequestParam(required = false) String total) {
+        Page<TicketResponseDTO> tickets = ticketService.getTicketsForEmployee(user.id(), pageable,
+                TotalCountMode.parse(total));
+        return ResponseEntity.ok(tickets);
+    }
+
+    @GetMapping("/employee/scroll")
+    public ResponseEntity<CursorPageDTO<TicketResponseDTO>> scrollTicketsForEmployee(
+            AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDTO<TicketResponseDTO> tickets = ticketService.scrollTicketsForEmployee(user.id(), cursor, size);
         return ResponseEntity.ok(tickets);
     }
 
     @GetMapping("/employee/{ticketId}")
     public ResponseEntity<TicketResponseDTO> getTicketByIdForEmployee(@PathVariable UUID ticketId,
-                                                                      @RequestParam UUID employeeId) {
-        TicketResponseDTO response = ticketService.getTicketByIdForEmployee(ticketId, employeeId);
+                                                                      AuthenticatedUser user) {
+        TicketResponseDTO response = ticketService.getTicketByIdForEmployee(ticketId, user.id());
         return ResponseEntity.ok(response);
     }
 
@@ -60,8 +105,8 @@ public class TicketController {
     public ResponseEntity<TicketResponseDTO> updateTicketByEmployee(
             @PathVariable UUID ticketId,
             @Valid @RequestBody UpdateTicketEmployeeDTO updateDTO,
-            @RequestParam UUID employeeId) {
-        TicketResponseDTO response = ticketService.updateTicketByEmployee(ticketId, employeeId, updateDTO);
+            AuthenticatedUser user) {
+        TicketResponseDTO response = ticketService.updateTicketByEmployee(ticketId, user.id(), updateDTO);
         return ResponseEntity.ok(response);
     }
 
@@ -69,33 +114,128 @@ public class TicketController {
     @DeleteMapping("/{ticketId}")
     public ResponseEntity<Void> deleteTicket(
             @PathVariable UUID ticketId,
-            @RequestParam UUID userId) {
-        ticketService.deleteTicket(ticketId, userId);
+            AuthenticatedUser user) {
+        ticketService.deleteTicket(ticketId, user);
         return ResponseEntity.ok().build();
     }
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<List<BulkTicketResultDTO>> deleteTickets(
+            @RequestBody List<UUID> ticketIds,
+            AuthenticatedUser user) {
+        List<BulkTicketResultDTO> results = ticketService.deleteTickets(ticketIds, user);
+        return ResponseEntity.ok(results);
+    }
+
     // IT Support endpoints
 
     @GetMapping("/all")
     public ResponseEntity<Page<TicketResponseDTO>> getAllTickets(
-            @RequestParam UUID supportUserId, Pageable pageable) {
-        Page<TicketResponseDTO> tickets = ticketService.getAllTickets(pageable);
+            AuthenticatedUser user, Pageable pageable,
+            @RequestParam(required = false) String total) {
+        requireSupport(user);
+        Page<TicketResponseDTO> tickets = ticketService.getAllTickets(pageable, TotalCountMode.parse(total));
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/all/scroll")
+    public ResponseEntity<CursorPageDTO<TicketResponseDTO>> scrollAllTickets(
+            AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        requireSupport(user);
+        CursorPageDTO<TicketResponseDTO> tickets = ticketService.scrollAllTickets(cursor, size);
+        return ResponseEntity.ok(tickets);
+    }
+
+    // Streams every matching ticket as one JSON object per line; the body is written after this method returns,
+    // so the filters are checked here, while a bad value can still be answered with 400.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            AuthenticatedUser user,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTo) {
+        requireSupport(user);
+        TicketStatus statusFilter = TicketSearchUtil.parseTicketStatus(status).orElse(null);
+        LocalDateTime from = TicketSearchUtil.parseDateTime(createdFrom, "createdFrom").orElse(null);
+        LocalDateTime to = TicketSearchUtil.parseDateTime(createdTo, "createdTo").orElse(null);
+        TicketSearchUtil.checkDateRange(from, "createdFrom", to, "createdTo");
+        StreamingResponseBody body = out -> ticketExportService.exportTickets(statusFilter, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("tickets.ndjson").build().toString())
+                .body(body);
+    }
+
+    // Ticket counts by status, priority, category and assignee for dashboards, served from memory.
+    @GetMapping("/stats")
+    public ResponseEntity<TicketStatsDTO> getTicketStats(AuthenticatedUser user) {
+        if (user.role() == Role.EMPLOYEE) {
+            throw new UnauthorizedAccessException("Only administrators and IT support agents can view ticket stats");
+        }
+        return ResponseEntity.ok(ticketStatsService.getStats());
+    }
+
+    // Pushes ticket-created, status-changed and comment-added events as Server-Sent Events. Employees follow their
+    // own tickets; IT support agents the tickets assigned to them, or all tickets with scope=all.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTicketEvents(AuthenticatedUser user,
+                                         @RequestParam(defaultValue = "assigned") String scope) {
+        if (!"assigned".equals(scope) && !"all".equals(scope)) {
+            throw new IllegalArgumentException("Invalid scope: " + scope + " (expected assigned or all)");
+        }
+        return ticketStreamService.subscribe(user, "all".equals(scope));
+    }
+
     @PutMapping("/{ticketId}/status")
     public ResponseEntity<TicketResponseDTO> updateTicketStatus(@PathVariable UUID ticketId,
                                                                 @Valid @RequestBody UpdateTicketStatusDTO updateDTO,
-                                                                @RequestParam UUID supportUserId) {
-        TicketResponseDTO response = ticketService.updateTicketStatus(ticketId, supportUserId, updateDTO);
+                                                                AuthenticatedUser user) {
+        TicketResponseDTO response = ticketService.updateTicketStatus(ticketId, user, updateDTO);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Page<TicketResponseDTO>> searchTickets(
-            @RequestParam(required = false) String ticketId,
-            @RequestParam(required = false) String status,
+            @ModelAttribute TicketSearchCriteria criteria,
+            @PageableDefault(page = 0, size = 10) Pageable pageable,
+            @RequestParam(required = false) String total) {
+        Page<TicketResponseDTO> result = ticketService.searchTickets(criteria, pageable, TotalCountMode.parse(total));
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/search/slice")
+    public ResponseEntity<Slice<TicketResponseDTO>> sliceSearchTickets(
+            @ModelAttribute TicketSearchCriteria criteria,
             @PageableDefault(page = 0, size = 10) Pageable pageable) {
-        Page<TicketResponseDTO> result = ticketService.searchTickets(ticketId, status, pageable);
+        Slice<TicketResponseDTO> result = ticketService.sliceSearchTickets(criteria, pageable);
         return ResponseEntity.ok(result);
     }
+
+    @GetMapping("/search/scroll")
+    public ResponseEntity<CursorPageDTO<TicketResponseDTO>> scrollSearchTickets(
+            @ModelAttribute TicketSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDTO<TicketResponseDTO> result = ticketService.scrollSearchTickets(criteria, cursor, size);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/fulltext")
+    public ResponseEntity<List<TicketSearchHitDTO>> fullTextSearch(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<TicketSearchHitDTO> result = ticketTextSearchService.search(q, status, priority, category, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    private static void requireSupport(AuthenticatedUser user) {
+        if (user.role() != Role.IT_SUPPORT) {
+            throw new UnauthorizedAccessException("Only IT support agents can list or export all tickets");
+        }
+    }
 }
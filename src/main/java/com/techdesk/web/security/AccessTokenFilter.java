@@ -0,0 +1,59 @@
+package com.techdesk.web.security;
+
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.services.AccessTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Verifies the bearer token of each request and exposes its user as the request attribute
+ * {@link #PRINCIPAL_ATTRIBUTE}. Verification is a signature check only; the database is not consulted.
+ * <p>
+ * Requests without an {@code Authorization} header pass through unchanged, so that legacy clients passing user ids
+ * as query parameters keep working where that is enabled. Requests with an invalid or expired token are rejected
+ * with 401.
+ * </p>
+ */
+@Component
+public class AccessTokenFilter extends OncePerRequestFilter {
+
+    public static final String PRINCIPAL_ATTRIBUTE = AccessTokenFilter.class.getName() + ".PRINCIPAL";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AccessTokenService accessTokenService;
+
+    public AccessTokenFilter(AccessTokenService accessTokenService) {
+        this.accessTokenService = accessTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Optional<AuthenticatedUser> user = accessTokenService.verifyToken(
+                header.substring(BEARER_PREFIX.length()).trim());
+        if (user.isEmpty()) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Invalid or expired access token\"}");
+            return;
+        }
+        request.setAttribute(PRINCIPAL_ATTRIBUTE, user.get());
+        chain.doFilter(request, response);
+    }
+}
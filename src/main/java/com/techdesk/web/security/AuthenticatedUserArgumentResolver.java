@@ -0,0 +1,63 @@
+package com.techdesk.web.security;
+
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.services.UserService;
+import com.techdesk.utils.TicketSearchUtil;
+import com.techdesk.web.errors.InvalidCredentialsException;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resolves controller parameters of type {@link AuthenticatedUser}.
+ * <p>
+ * The user established by {@link AccessTokenFilter} is used when present. Otherwise, if legacy user parameters are
+ * allowed, the user id is read from the {@code supportUserId}, {@code employeeId} or {@code userId} query parameter
+ * and looked up through the (cached) {@link UserService}. Without either the request is rejected with 401.
+ * </p>
+ */
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    static final List<String> LEGACY_USER_PARAMETERS = List.of("supportUserId", "employeeId", "userId");
+
+    private final UserService userService;
+    private final boolean allowLegacyUserParameters;
+
+    public AuthenticatedUserArgumentResolver(UserService userService, boolean allowLegacyUserParameters) {
+        this.userService = userService;
+        this.allowLegacyUserParameters = allowLegacyUserParameters;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthenticatedUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public AuthenticatedUser resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                             NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object principal = webRequest.getAttribute(AccessTokenFilter.PRINCIPAL_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (principal instanceof AuthenticatedUser user) {
+            return user;
+        }
+        if (allowLegacyUserParameters) {
+            for (String name : LEGACY_USER_PARAMETERS) {
+                String value = webRequest.getParameter(name);
+                if (value != null && !value.isBlank()) {
+                    UUID userId = TicketSearchUtil.parseUuid(value, name).orElseThrow();
+                    return userService.findById(userId)
+                            .map(user -> new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole()))
+                            .orElseThrow(() -> new InvalidCredentialsException("Unknown user"));
+                }
+            }
+        }
+        throw new InvalidCredentialsException("Authentication required");
+    }
+}
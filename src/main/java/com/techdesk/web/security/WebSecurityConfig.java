@@ -0,0 +1,37 @@
+package com.techdesk.web.security;
+
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.services.UserService;
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the {@link AuthenticatedUser} argument resolver and hides that parameter from the API documentation.
+ */
+@Configuration
+public class WebSecurityConfig implements WebMvcConfigurer {
+
+    static {
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(AuthenticatedUser.class);
+    }
+
+    private final UserService userService;
+    private final boolean allowLegacyUserParameters;
+
+    public WebSecurityConfig(@Lazy UserService userService,
+                             @Value("${techdesk.auth.allow-legacy-user-params:false}") boolean allowLegacyUserParameters) {
+        this.userService = userService;
+        this.allowLegacyUserParameters = allowLegacyUserParameters;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthenticatedUserArgumentResolver(userService, allowLegacyUserParameters));
+    }
+}
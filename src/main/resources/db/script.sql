@@ -19,11 +19,24 @@ CREATE TABLE TICKETS (
     STATUS      VARCHAR2(255 CHAR)  NOT NULL CHECK (STATUS IN ('NEW', 'IN_PROGRESS', 'RESOLVED', 'CLOSED')),
     TITLE       VARCHAR2(100 CHAR)  NOT NULL,
     UPDATED_AT  TIMESTAMP(6),
+    RESPONSE_BREACHED_AT   TIMESTAMP(6),
+    RESOLUTION_BREACHED_AT TIMESTAMP(6),
     ASSIGNED_TO RAW(16) CONSTRAINT FK8QDL5563I4OEDORMQA9IBOQXM REFERENCES APP_USERS,
     CREATED_BY  RAW(16) NOT NULL CONSTRAINT FKJM2E5HMCL3L28M1K9BVQR529J REFERENCES APP_USERS
 );
 /
 
+-- Keyset order of the cursor-based ticket listings
+CREATE INDEX IDX_TICKETS_CREATED_AT_ID ON TICKETS (CREATED_AT, ID);
+CREATE INDEX IDX_TICKETS_CREATED_BY_CREATED_AT ON TICKETS (CREATED_BY, CREATED_AT, ID);
+
+-- Ticket search: one index per leading filter, ending with the default newest-first order
+CREATE INDEX IDX_TICKETS_STATUS_CREATED_AT ON TICKETS (STATUS, CREATED_AT, ID);
+CREATE INDEX IDX_TICKETS_PRIORITY_CREATED_AT ON TICKETS (PRIORITY, CREATED_AT, ID);
+CREATE INDEX IDX_TICKETS_CATEGORY_CREATED_AT ON TICKETS (CATEGORY, CREATED_AT, ID);
+CREATE INDEX IDX_TICKETS_ASSIGNED_TO_STATUS ON TICKETS (ASSIGNED_TO, STATUS, CREATED_AT, ID);
+CREATE INDEX IDX_TICKETS_UPDATED_AT ON TICKETS (UPDATED_AT);
+
 -- Create COMMENTS table
 CREATE TABLE COMMENTS (
     ID         RAW(16)             NOT NULL PRIMARY KEY,
@@ -40,15 +53,19 @@ CREATE TABLE COMMENTS (
 CREATE TABLE TICKET_AUDIT_LOGS (
     ID          RAW(16)             NOT NULL PRIMARY KEY,
     DESCRIPTION VARCHAR2(2000 CHAR) NOT NULL,
-    LOG_TYPE    VARCHAR2(255 CHAR)  NOT NULL CHECK (LOG_TYPE IN ('STATUS_CHANGE', 'COMMENT_ADDED')),
+    LOG_TYPE    VARCHAR2(255 CHAR)  NOT NULL CHECK (LOG_TYPE IN ('STATUS_CHANGE', 'COMMENT_ADDED', 'SLA_BREACH')),
     TIMESTAMP   TIMESTAMP(6)        NOT NULL,
-    CHANGED_BY  RAW(16)             NOT NULL
+    -- Null for entries written by the application itself (SLA breaches)
+    CHANGED_BY  RAW(16)
         CONSTRAINT FKS7AY8X6CD1WOQE6IY8PTKW255 REFERENCES APP_USERS,
     TICKET_ID   RAW(16)             NOT NULL
         CONSTRAINT FKBMO6OBTLQCHTCFB31157KJDE REFERENCES TICKETS
 );
 /
 
+-- Retention batches and the audit export scan logs in timestamp order
+CREATE INDEX IDX_AUDIT_LOGS_TIMESTAMP_ID ON TICKET_AUDIT_LOGS (TIMESTAMP, ID);
+
 
 
 -- Migrations
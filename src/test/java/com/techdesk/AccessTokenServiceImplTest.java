@@ -0,0 +1,68 @@
+package com.techdesk;
+
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.entities.AppUser;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.services.Impl.AccessTokenServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessTokenServiceImplTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private AccessTokenServiceImpl accessTokenService;
+    private AppUser supportUser;
+
+    @BeforeEach
+    void setUp() {
+        accessTokenService = new AccessTokenServiceImpl(SECRET, Duration.ofHours(1));
+        supportUser = new AppUser();
+        supportUser.setId(UUID.randomUUID());
+        supportUser.setUsername("support|1");
+        supportUser.setRole(Role.IT_SUPPORT);
+    }
+
+    // 1. A freshly issued token carries the user's id, username and role
+    @Test
+    void verifyToken_IssuedToken_ReturnsUser() {
+        String token = accessTokenService.issueToken(supportUser);
+
+        Optional<AuthenticatedUser> result = accessTokenService.verifyToken(token);
+
+        assertEquals(Optional.of(new AuthenticatedUser(supportUser.getId(), "support|1", Role.IT_SUPPORT)), result);
+    }
+
+    // 2. Changing any part of the token invalidates it
+    @Test
+    void verifyToken_TamperedToken_ReturnsEmpty() {
+        String token = accessTokenService.issueToken(supportUser);
+        String forged = token.substring(0, 5) + (token.charAt(5) == 'A' ? 'B' : 'A') + token.substring(6);
+
+        assertTrue(accessTokenService.verifyToken(forged).isEmpty());
+        assertTrue(accessTokenService.verifyToken("not-a-token").isEmpty());
+        assertTrue(accessTokenService.verifyToken(null).isEmpty());
+    }
+
+    // 3. Tokens signed with another key or past their expiry are rejected
+    @Test
+    void verifyToken_OtherKeyOrExpired_ReturnsEmpty() {
+        AccessTokenServiceImpl otherKey = new AccessTokenServiceImpl(SECRET.toUpperCase(), Duration.ofHours(1));
+        AccessTokenServiceImpl expired = new AccessTokenServiceImpl(SECRET, Duration.ofSeconds(-1));
+
+        assertTrue(accessTokenService.verifyToken(otherKey.issueToken(supportUser)).isEmpty());
+        assertTrue(accessTokenService.verifyToken(expired.issueToken(supportUser)).isEmpty());
+    }
+
+    // 4. Short secrets are refused at startup
+    @Test
+    void constructor_ShortSecret_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new AccessTokenServiceImpl("short", Duration.ofHours(1)));
+    }
+}
@@ -0,0 +1,181 @@
+package com.techdesk;
+
+import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.utils.AuditArchive;
+import com.techdesk.utils.AuditArchive.PendingSegment;
+import com.techdesk.utils.AuditLogRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private AuditArchive archive;
+    private final UUID ticketA = UUID.randomUUID();
+    private final UUID ticketB = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        archive = new AuditArchive(new SimpleMeterRegistry(), directory);
+    }
+
+    /**
+     * Rows one minute apart starting at {@code START + offset minutes}, alternating between ticket A and B.
+     */
+    private List<AuditLogRecord> rows(int offset, int count) {
+        List<AuditLogRecord> rows = new ArrayList<>();
+        for (int i = offset; i < offset + count; i++) {
+            rows.add(new AuditLogRecord(UUID.randomUUID(), i % 2 == 0 ? ticketA : ticketB,
+                    i == 0 ? null : UUID.randomUUID(), i == 0 ? null : "user" + i,
+                    AuditLogType.STATUS_CHANGE, "Change " + i, START.plusMinutes(i)));
+        }
+        return rows;
+    }
+
+    // 1. Committed segments are counted per ticket and read back newest first across segments
+    @Test
+    void commit_ThenCountAndReadNewestFirst() {
+        archive.write(rows(0, 4)).commit();
+        archive.write(rows(4, 4)).commit();
+
+        assertEquals(8, archive.count(null));
+        assertEquals(4, archive.count(ticketA));
+        assertEquals(0, archive.count(UUID.randomUUID()));
+
+        List<TicketAuditLog> page = archive.read(null, 3, 3);
+        assertEquals(List.of("Change 4", "Change 3", "Change 2"),
+                page.stream().map(TicketAuditLog::getDescription).toList());
+        List<TicketAuditLog> ticketLogs = archive.read(ticketA, 1, 10);
+        assertEquals(List.of("Change 4", "Change 2", "Change 0"),
+                ticketLogs.stream().map(TicketAuditLog::getDescription).toList());
+        assertEquals(ticketA, ticketLogs.get(0).getTicket().getId());
+        assertNull(ticketLogs.get(2).getChangedBy());
+        assertEquals("user4", ticketLogs.get(0).getChangedBy().getUsername());
+    }
+
+    // 2. Range scans are oldest first, honour both bounds and skip segments outside the range
+    @Test
+    void forEach_ReturnsRowsInRange() throws Exception {
+        archive.write(rows(0, 4)).commit();
+        archive.write(rows(4, 4)).commit();
+        List<String> seen = new ArrayList<>();
+
+        long passed = archive.forEach(START.plusMinutes(3), START.plusMinutes(6), row -> seen.add(row.description()));
+
+        assertEquals(3, passed);
+        assertEquals(List.of("Change 3", "Change 4", "Change 5"), seen);
+    }
+
+    // 3. A new instance loads the committed segments and continues their numbering
+    @Test
+    void constructor_LoadsCommittedSegments() throws Exception {
+        archive.write(rows(0, 4)).commit();
+
+        AuditArchive reloaded = new AuditArchive(new SimpleMeterRegistry(), directory);
+        reloaded.write(rows(4, 2)).commit();
+
+        assertEquals(2, reloaded.segmentCount());
+        assertEquals(6, reloaded.count(null));
+        assertEquals("Change 5", reloaded.read(null, 0, 1).get(0).getDescription());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(4, files.count());
+        }
+    }
+
+    // 4. Uncommitted segments are invisible; recovery keeps them only if their rows left the hot table
+    @Test
+    void recover_CommitsOnlySegmentsWhoseRowsWereDeleted() throws Exception {
+        List<AuditLogRecord> deleted = rows(0, 2);
+        List<AuditLogRecord> stillHot = rows(2, 2);
+        archive.write(deleted);
+        archive.write(stillHot);
+        PendingSegment discarded = archive.write(rows(4, 2));
+        discarded.discard();
+        assertEquals(0, archive.count(null));
+
+        AuditArchive restarted = new AuditArchive(new SimpleMeterRegistry(), directory);
+        int recovered = restarted.recover(id -> id.equals(stillHot.get(0).id()));
+
+        assertEquals(1, recovered);
+        assertEquals(2, restarted.count(null));
+        assertEquals("Change 1", restarted.read(null, 0, 1).get(0).getDescription());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+    }
+
+    // 5. Oldest-first reads walk the segments forwards and honour skip and limit across them
+    @Test
+    void read_OldestFirst() {
+        archive.write(rows(0, 4)).commit();
+        archive.write(rows(4, 4)).commit();
+
+        assertEquals(List.of("Change 3", "Change 4", "Change 5"), archive.read(null, 3, 3, false).stream()
+                .map(TicketAuditLog::getDescription).toList());
+        assertEquals(List.of("Change 2", "Change 4"), archive.read(ticketA, 1, 2, false).stream()
+                .map(TicketAuditLog::getDescription).toList());
+    }
+
+    // 6. The rows of deleted tickets are hidden from counts, reads and scans, also after a restart
+    @Test
+    void forgetTickets_HidesRowsOfDeletedTickets() throws Exception {
+        archive.write(rows(0, 4)).commit();
+        archive.write(rows(4, 4)).commit();
+
+        assertEquals(4, archive.forgetTickets(List.of(ticketB, UUID.randomUUID())));
+        assertEquals(0, archive.forgetTickets(List.of(ticketB)));
+
+        AuditArchive reloaded = new AuditArchive(new SimpleMeterRegistry(), directory);
+        for (AuditArchive instance : List.of(archive, reloaded)) {
+            assertEquals(4, instance.count(null));
+            assertEquals(0, instance.count(ticketB));
+            assertEquals(List.of(), instance.read(ticketB, 0, 10));
+            assertEquals(List.of("Change 6", "Change 4", "Change 2"), instance.read(null, 0, 3).stream()
+                    .map(TicketAuditLog::getDescription).toList());
+            List<String> seen = new ArrayList<>();
+            assertEquals(4, instance.forEach(null, null, row -> seen.add(row.description())));
+            assertEquals(List.of("Change 0", "Change 2", "Change 4", "Change 6"), seen);
+        }
+    }
+
+    // 7. A ticket deleted while a segment holding its rows is pending stays hidden once the segment is committed
+    @Test
+    void forgetTickets_PendingSegment_HiddenAfterCommit() throws Exception {
+        archive.write(rows(0, 2)).commit();
+        AuditArchive.PendingSegment pending = archive.write(rows(2, 4));
+        UUID onlyPending = UUID.randomUUID();
+        AuditArchive.PendingSegment other = archive.write(List.of(new AuditLogRecord(UUID.randomUUID(),
+                onlyPending, null, null, AuditLogType.STATUS_CHANGE, "Pending only", START.plusMinutes(10))));
+
+        assertEquals(1, archive.forgetTickets(List.of(ticketB, onlyPending)));
+        pending.commit();
+        other.commit();
+
+        AuditArchive reloaded = new AuditArchive(new SimpleMeterRegistry(), directory);
+        for (AuditArchive instance : List.of(archive, reloaded)) {
+            assertEquals(3, instance.count(null));
+            assertEquals(0, instance.count(ticketB));
+            assertEquals(0, instance.count(onlyPending));
+            List<String> seen = new ArrayList<>();
+            instance.forEach(null, null, row -> seen.add(row.description()));
+            assertEquals(List.of("Change 0", "Change 2", "Change 4"), seen);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.techdesk;
+
+import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.services.Impl.JournalAuditLogServiceImpl;
+import com.techdesk.utils.AuditJournal;
+import com.techdesk.utils.AuditLogRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditJournalTest {
+
+    private static final int SEGMENT_SIZE = 1 << 20;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 4, 1, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuditJournal journal;
+    private final UUID ticketA = UUID.randomUUID();
+    private final UUID ticketB = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        journal = open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.destroy();
+    }
+
+    private AuditJournal open() {
+        return new AuditJournal(meterRegistry, directory, SEGMENT_SIZE, true);
+    }
+
+    private AuditJournal reopen() throws Exception {
+        journal.destroy();
+        // The journal registers its gauges once; a new instance needs a registry of its own.
+        meterRegistry = new SimpleMeterRegistry();
+        journal = open();
+        return journal;
+    }
+
+    private void append(UUID ticketId, int minute, String description) {
+        journal.append(new AuditLogRecord(UUID.randomUUID(), ticketId, UUID.randomUUID(), "agent",
+                AuditLogType.STATUS_CHANGE, description, START.plusMinutes(minute)));
+    }
+
+    private static List<String> descriptions(Page<TicketAuditLog> page) {
+        return page.getContent().stream().map(TicketAuditLog::getDescription).toList();
+    }
+
+    // 1. Pages are newest first by default, per ticket or overall, with exact totals
+    @Test
+    void page_NewestFirstPerTicketAndOverall() {
+        append(ticketA, 0, "A0");
+        append(ticketB, 1, "B1");
+        append(ticketA, 2, "A2");
+        append(ticketA, 3, "A3");
+
+        Page<TicketAuditLog> ticketPage = journal.page(ticketA, PageRequest.of(0, 2));
+        Page<TicketAuditLog> allPage = journal.page(null, PageRequest.of(1, 3));
+        Page<TicketAuditLog> oldestFirst = journal.page(ticketA, PageRequest.of(0, 2, Sort.by("timestamp")));
+
+        assertEquals(List.of("A3", "A2"), descriptions(ticketPage));
+        assertEquals(3, ticketPage.getTotalElements());
+        assertEquals(ticketA, ticketPage.getContent().get(0).getTicket().getId());
+        assertEquals("agent", ticketPage.getContent().get(0).getChangedBy().getUsername());
+        assertEquals(START.plusMinutes(3), ticketPage.getContent().get(0).getTimestamp());
+        assertEquals(List.of("A0"), descriptions(allPage));
+        assertEquals(4, allPage.getTotalElements());
+        assertEquals(List.of("A0", "A2"), descriptions(oldestFirst));
+        assertTrue(meterRegistry.get("techdesk.audit.journal.group.commit").timer().count() > 0);
+    }
+
+    // 2. The index is rebuilt from the segments, including deletions
+    @Test
+    void reopen_RebuildsIndexAndKeepsDeletions() throws Exception {
+        append(ticketA, 0, "A0");
+        append(ticketB, 1, "B1");
+        append(ticketA, 2, "A2");
+        assertEquals(2, journal.deleteTickets(List.of(ticketA, UUID.randomUUID())));
+
+        reopen();
+        append(ticketB, 3, "B3");
+
+        assertEquals(0, journal.page(ticketA, PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(List.of("B3", "B1"), descriptions(journal.page(null, PageRequest.of(0, 10))));
+        List<String> exported = new ArrayList<>();
+        assertEquals(1, journal.forEach(START.plusMinutes(2), null, record -> exported.add(record.description())));
+        assertEquals(List.of("B3"), exported);
+    }
+
+    // 3. A record torn by a crash is dropped at startup and overwritten by the next append
+    @Test
+    void reopen_DropsTornRecord() throws Exception {
+        append(ticketA, 0, "A0");
+        append(ticketA, 1, "A1");
+        journal.destroy();
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-000000000001.log"),
+                StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            // Corrupt the last byte of the second record's description.
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, 0);
+            int firstLength = header.flip().getInt();
+            header.clear();
+            channel.read(header, firstLength);
+            int secondLength = header.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), firstLength + secondLength - 1);
+        }
+
+        journal = open();
+        assertEquals(List.of("A0"), descriptions(journal.page(ticketA, PageRequest.of(0, 10))));
+        append(ticketA, 2, "A2");
+        assertEquals(List.of("A2", "A0"), descriptions(reopen().page(ticketA, PageRequest.of(0, 10))));
+    }
+
+    // 4. Appends roll over to a new segment when the current one is full
+    @Test
+    void append_RollsOverSegments() throws Exception {
+        String description = "x".repeat(2000);
+        int records = SEGMENT_SIZE / 2000 + 10;
+        for (int i = 0; i < records; i++) {
+            append(i % 2 == 0 ? ticketA : ticketB, i, description);
+        }
+
+        assertEquals(2, journal.segmentCount());
+        assertEquals(records, reopen().size());
+        assertEquals(START.plusMinutes(records - 1),
+                journal.page(null, PageRequest.of(0, 1)).getContent().get(0).getTimestamp());
+    }
+
+    // 5. Deleting tickets keeps the overall pages in order, before and after the list of positions is compacted
+    @Test
+    void deleteTickets_PagesSkipRemovedPositions() throws Exception {
+        List<UUID> tickets = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            tickets.add(UUID.randomUUID());
+            append(tickets.get(i), i, "Log " + i);
+            expected.add(0, "Log " + i);
+        }
+
+        for (int round = 0; round < 2; round++) {
+            List<UUID> deleted = new ArrayList<>();
+            for (int i = round; i < 3000; i += 3) {
+                deleted.add(tickets.get(i));
+                expected.remove("Log " + i);
+            }
+            assertEquals(deleted.size(), journal.deleteTickets(deleted));
+
+            assertEquals(expected.size(), journal.size());
+            assertEquals(expected.subList(990, 1000), descriptions(journal.page(null, PageRequest.of(99, 10))));
+            assertEquals(expected.reversed().subList(0, 3),
+                    descriptions(journal.page(null, PageRequest.of(0, 3, Sort.by("timestamp")))));
+        }
+        assertEquals(expected, descriptions(reopen().page(null, PageRequest.of(0, 3000))));
+    }
+
+    // 6. Inside a transaction, the journal store deletes the logs only once the transaction commits
+    @Test
+    void deleteLogsForTickets_DeletesAfterCommit() {
+        append(ticketA, 0, "A0");
+        append(ticketA, 1, "A1");
+        JournalAuditLogServiceImpl auditLogService = new JournalAuditLogServiceImpl(journal, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(2, auditLogService.deleteLogsForTickets(List.of(ticketA)));
+            assertEquals(2, journal.size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, journal.size());
+    }
+}
@@ -0,0 +1,67 @@
+package com.techdesk;
+
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.services.AuditLogExportService;
+import com.techdesk.web.errors.UnauthorizedAccessException;
+import com.techdesk.web.rest.AuditLogController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditLogControllerTest {
+
+    @Mock
+    private AuditLogExportService exportService;
+
+    private AuditLogController controller;
+
+    private final AuthenticatedUser agent = new AuthenticatedUser(UUID.randomUUID(), "agent", Role.IT_SUPPORT);
+
+    @BeforeEach
+    public void setUp() {
+        controller = new AuditLogController(null, null, null, exportService);
+    }
+
+    // 1. Malformed and reversed ranges are rejected before the streaming body is returned
+    @Test
+    void exportLogs_InvalidRange_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.exportLogs(agent, "2025-13-01", null, "csv", false));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.exportLogs(agent, "2025-02-01", "2025-01-01", "csv", false));
+        verifyNoInteractions(exportService);
+    }
+
+    // 2. Only IT support agents may export audit logs
+    @Test
+    void exportLogs_Employee_Unauthorized() {
+        AuthenticatedUser employee = new AuthenticatedUser(UUID.randomUUID(), "employee", Role.EMPLOYEE);
+
+        assertThrows(UnauthorizedAccessException.class,
+                () -> controller.exportLogs(employee, null, null, "csv", false));
+        verifyNoInteractions(exportService);
+    }
+
+    // 3. A valid request returns a streaming body with the file name of the chosen format
+    @Test
+    void exportLogs_ValidRequest_ReturnsAttachment() {
+        ResponseEntity<StreamingResponseBody> response = controller.exportLogs(agent, "2025-01-01", "2025-02-01", "ndjson", true);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("application/gzip", response.getHeaders().getContentType().toString());
+        assertTrue(response.getHeaders().getContentDisposition().getFilename().endsWith(".ndjson.gz"));
+        assertNotNull(response.getBody());
+        verifyNoInteractions(exportService);
+    }
+}
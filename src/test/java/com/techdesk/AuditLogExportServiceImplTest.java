@@ -0,0 +1,114 @@
+package com.techdesk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techdesk.dto.ExportFormat;
+import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.repositories.AuditLogRepository;
+import com.techdesk.repositories.projections.AuditLogExportView;
+import com.techdesk.services.Impl.AuditLogExportServiceImpl;
+import com.techdesk.utils.AuditArchive;
+import com.techdesk.utils.AuditJournal;
+import com.techdesk.utils.AuditLogRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditLogExportServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditArchive auditArchive;
+
+    @Mock
+    private ObjectProvider<AuditJournal> auditJournal;
+
+    private AuditLogExportServiceImpl exportService;
+
+    private final UUID logId = UUID.randomUUID();
+    private final UUID otherLogId = UUID.randomUUID();
+    private final UUID ticketId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        exportService = new AuditLogExportServiceImpl(auditLogRepository, auditArchive, auditJournal,
+                new ObjectMapper());
+    }
+
+    private Stream<AuditLogExportView> rows() {
+        return Stream.of(
+                new AuditLogRecord(logId, ticketId, UUID.randomUUID(), "alice", AuditLogType.COMMENT_ADDED,
+                        "Comment added: \"VPN\" fails, again\nsee logs", LocalDateTime.of(2025, 1, 10, 8, 0)),
+                new AuditLogRecord(otherLogId, ticketId, UUID.randomUUID(), "bob",
+                        AuditLogType.STATUS_CHANGE, "Status changed from NEW to IN_PROGRESS",
+                        LocalDateTime.of(2025, 1, 11, 9, 30)));
+    }
+
+    // 1. CSV has a header and quotes fields containing separators, quotes or line breaks
+    @Test
+    void exportLogs_Csv_QuotesFreeText() throws Exception {
+        when(auditLogRepository.streamExportViews(FROM, TO)).thenReturn(rows());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.exportLogs(FROM, TO, ExportFormat.CSV, false, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals(2, exported);
+        assertTrue(csv.startsWith("id,ticketId,changedBy,logType,description,timestamp\r\n"
+                + logId + "," + ticketId + ",alice,COMMENT_ADDED,"
+                + "\"Comment added: \"\"VPN\"\" fails, again\nsee logs\",2025-01-10T08:00\r\n"));
+        assertTrue(csv.endsWith(otherLogId + "," + ticketId + ",bob,STATUS_CHANGE,Status changed from NEW to IN_PROGRESS,2025-01-11T09:30\r\n"));
+    }
+
+    // 2. NDJSON writes one object per line
+    @Test
+    void exportLogs_Ndjson_OneObjectPerLine() throws Exception {
+        when(auditLogRepository.streamExportViews(null, null)).thenReturn(rows());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportLogs(null, null, ExportFormat.NDJSON, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals(logId.toString(), first.get("id").asText());
+        assertEquals("alice", first.get("changedByUsername").asText());
+        assertEquals("Comment added: \"VPN\" fails, again\nsee logs", first.get("description").asText());
+        assertEquals("bob", new ObjectMapper().readTree(lines[1]).get("changedByUsername").asText());
+    }
+
+    // 3. Gzip output decompresses to the plain export
+    @Test
+    void exportLogs_Gzip_CompressesOutput() throws Exception {
+        when(auditLogRepository.streamExportViews(null, null)).thenAnswer(invocation -> rows());
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        exportService.exportLogs(null, null, ExportFormat.CSV, false, plain);
+        exportService.exportLogs(null, null, ExportFormat.CSV, true, compressed);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertArrayEquals(plain.toByteArray(), in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.techdesk;
+
+import com.techdesk.entities.AppUser;
+import com.techdesk.entities.Ticket;
+import com.techdesk.entities.TicketAuditLog;
+import com.techdesk.entities.enums.AuditLogType;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.repositories.AuditLogRepository;
+import com.techdesk.services.Impl.AuditLogServiceImpl;
+import com.techdesk.utils.AuditArchive;
+import com.techdesk.utils.AuditLogWriter;
+import com.techdesk.utils.AuditLogWriter.PendingAuditLog;
+import com.techdesk.utils.TotalCountCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditLogServiceImplTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private AuditArchive auditArchive;
+
+    @Spy
+    private TotalCountCache totalCountCache = new TotalCountCache(Duration.ofSeconds(30), 100, "exact");
+
+    @InjectMocks
+    private AuditLogServiceImpl auditLogService;
+
+    private Ticket ticket;
+    private AppUser supportUser;
+
+    @BeforeEach
+    public void setUp() {
+        ticket = new Ticket();
+        ticket.setId(UUID.randomUUID());
+
+        supportUser = new AppUser();
+        supportUser.setId(UUID.randomUUID());
+        supportUser.setUsername("support1");
+        supportUser.setRole(Role.IT_SUPPORT);
+    }
+
+    // 1. Asynchronous writer disabled: the log is saved inside the caller's transaction
+    @Test
+    public void testLogStatusChange_SynchronousWhenWriterDisabled() {
+        when(auditLogWriter.isEnabled()).thenReturn(false);
+
+        auditLogService.logStatusChange(ticket, supportUser, "NEW", "IN_PROGRESS");
+
+        verify(auditLogRepository).save(any(TicketAuditLog.class));
+        verify(auditLogWriter, never()).submitAfterCommit(any());
+    }
+
+    // 2. Asynchronous writer enabled: the log is handed to the writer instead of being saved
+    @Test
+    public void testLogCommentAdded_SubmittedToWriterWhenEnabled() {
+        when(auditLogWriter.isEnabled()).thenReturn(true);
+
+        auditLogService.logCommentAdded(ticket, supportUser, "Rebooted the router");
+
+        ArgumentCaptor<PendingAuditLog> captor = ArgumentCaptor.forClass(PendingAuditLog.class);
+        verify(auditLogWriter).submitAfterCommit(captor.capture());
+        assertEquals(ticket.getId(), captor.getValue().ticketId());
+        assertEquals(supportUser.getId(), captor.getValue().changedById());
+        assertEquals(AuditLogType.COMMENT_ADDED, captor.getValue().logType());
+        assertEquals("Comment added: Rebooted the router", captor.getValue().description());
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    // 3. Writer queue full: the entry is written synchronously instead of being dropped
+    @Test
+    public void testAuditLogWriter_FallsBackToSynchronousWriteWhenQueueFull() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, mock(PlatformTransactionManager.class),
+                meterRegistry, true, 1, 100, Duration.ofSeconds(1));
+        PendingAuditLog log = new PendingAuditLog(ticket.getId(), supportUser.getId(),
+                AuditLogType.STATUS_CHANGE, "Status changed from NEW to IN_PROGRESS", LocalDateTime.now());
+
+        // Writer not started: the first entry stays queued, the second one does not fit
+        writer.submitAfterCommit(log);
+        writer.submitAfterCommit(log);
+
+        assertEquals(1.0, meterRegistry.get("techdesk.audit.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("techdesk.audit.sync.fallback").counter().count());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    // 4. A page running past the end of the table is filled up from the archive, newest first
+    @Test
+    public void testGetLogsForTicket_FillsLastPageFromArchive() {
+        TicketAuditLog hotLog = TicketAuditLog.builder().description("Recent").build();
+        TicketAuditLog archivedLog = TicketAuditLog.builder().description("Archived").build();
+        Pageable newestFirst = PageRequest.of(0, 2, Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id")));
+        when(auditLogRepository.findByTicket(ticket, newestFirst))
+                .thenReturn(new PageImpl<>(List.of(hotLog), newestFirst, 1));
+        when(auditArchive.count(ticket.getId())).thenReturn(3L);
+        when(auditArchive.read(ticket.getId(), 0, 1)).thenReturn(List.of(archivedLog));
+
+        Page<TicketAuditLog> page = auditLogService.getLogsForTicket(ticket, PageRequest.of(0, 2), null);
+
+        assertEquals(List.of(hotLog, archivedLog), page.getContent());
+        assertEquals(4, page.getTotalElements());
+    }
+
+    // 5. Sorted oldest first, the archived logs come before the table, which continues after them
+    @Test
+    public void testGetLogsForTicket_OldestFirst_ArchiveComesFirst() {
+        TicketAuditLog archivedLog = TicketAuditLog.builder().description("Archived").build();
+        TicketAuditLog firstHotLog = TicketAuditLog.builder().description("Recent").build();
+        TicketAuditLog secondHotLog = TicketAuditLog.builder().description("Latest").build();
+        Sort oldestFirst = Sort.by(Sort.Order.asc("timestamp"), Sort.Order.asc("id"));
+        Pageable firstTableSlice = PageRequest.of(0, 2, oldestFirst);
+        when(auditArchive.count(ticket.getId())).thenReturn(3L);
+        when(auditArchive.read(ticket.getId(), 2, 1, false)).thenReturn(List.of(archivedLog));
+        when(auditLogRepository.findSliceByTicket(ticket, firstTableSlice))
+                .thenReturn(new SliceImpl<>(List.of(firstHotLog, secondHotLog), firstTableSlice, false));
+        when(auditLogRepository.countByTicket(ticket)).thenReturn(2L);
+
+        Page<TicketAuditLog> second = auditLogService.getLogsForTicket(ticket, PageRequest.of(1, 2, oldestFirst),
+                null);
+        Page<TicketAuditLog> third = auditLogService.getLogsForTicket(ticket, PageRequest.of(2, 2, oldestFirst),
+                null);
+
+        assertEquals(List.of(archivedLog, firstHotLog), second.getContent());
+        assertEquals(List.of(secondHotLog), third.getContent());
+        assertEquals(5, second.getTotalElements());
+        assertEquals(5, third.getTotalElements());
+    }
+
+    // 6. Sorts the archive cannot follow only list the table
+    @Test
+    public void testGetAllLogs_OtherSort_SkipsArchive() {
+        TicketAuditLog hotLog = TicketAuditLog.builder().description("Recent").build();
+        Pageable byType = PageRequest.of(0, 2, Sort.by("logType"));
+        when(auditLogRepository.findAll(byType)).thenReturn(new PageImpl<>(List.of(hotLog), byType, 1));
+
+        Page<TicketAuditLog> page = auditLogService.getAllLogs(byType, null);
+
+        assertEquals(List.of(hotLog), page.getContent());
+        assertEquals(1, page.getTotalElements());
+        verifyNoInteractions(auditArchive);
+    }
+
+    // 7. Deleting the logs of tickets also hides their archived logs
+    @Test
+    public void testDeleteLogsForTickets_ForgetsArchivedLogs() {
+        List<UUID> ticketIds = List.of(ticket.getId());
+        when(auditLogRepository.deleteByTicketIdIn(ticketIds)).thenReturn(2);
+
+        assertEquals(2, auditLogService.deleteLogsForTickets(ticketIds));
+
+        verify(auditArchive).forgetTickets(ticketIds);
+    }
+}
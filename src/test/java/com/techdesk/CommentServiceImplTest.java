@@ -1,5 +1,6 @@
 package com.techdesk;
 
+import com.techdesk.dto.AuthenticatedUser;
 import com.techdesk.dto.CommentRequestDTO;
 import com.techdesk.dto.CommentResponseDTO;
 import com.techdesk.dto.mappers.CommentMapper;
@@ -7,12 +8,14 @@ import com.techdesk.entities.AppUser;
 import com.techdesk.entities.Comment;
 import com.techdesk.entities.Ticket;
 import com.techdesk.entities.enums.Role;
+import com.techdesk.events.CommentAddedEvent;
+import com.techdesk.repositories.AppUserRepository;
 import com.techdesk.repositories.CommentRepository;
+import com.techdesk.repositories.projections.CommentView;
 import com.techdesk.services.AuditLogService;
 import com.techdesk.services.Impl.CommentServiceImpl;
 import com.techdesk.services.TicketService;
-import com.techdesk.services.UserService;
-import com.techdesk.web.errors.SupportUserNotFoundException;
+import com.techdesk.utils.TotalCountCache;
 import com.techdesk.web.errors.TicketNotFoundException;
 import com.techdesk.web.errors.UnauthorizedAccessException;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,14 +23,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,7 +50,7 @@ public class CommentServiceImplTest {
     private TicketService ticketService;
 
     @Mock
-    private UserService userService;
+    private AppUserRepository appUserRepository;
 
     @Mock
     private CommentRepository commentRepository;
@@ -52,11 +61,18 @@ public class CommentServiceImplTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TotalCountCache totalCountCache = new TotalCountCache(Duration.ofSeconds(30), 100, "exact");
+
     @InjectMocks
     private CommentServiceImpl commentService;
 
     private UUID ticketId;
     private UUID supportUserId;
+    private AuthenticatedUser supportPrincipal;
     private CommentRequestDTO commentRequestDTO;
     private AppUser supportUser;
     private Ticket ticket;
@@ -75,6 +91,7 @@ public class CommentServiceImplTest {
         supportUser.setId(supportUserId);
         supportUser.setUsername("supportUser");
         supportUser.setRole(Role.IT_SUPPORT);
+        supportPrincipal = new AuthenticatedUser(supportUserId, "supportUser", Role.IT_SUPPORT);
 
         ticket = new Ticket();
         ticket.setId(ticketId);
@@ -96,85 +113,68 @@ public class CommentServiceImplTest {
     @Test
     void addCommentToTicket_Success_ReturnsCommentResponseDTO() {
         // Arrange
-        when(userService.findById(supportUserId)).thenReturn(Optional.of(supportUser));
+        when(appUserRepository.getReferenceById(supportUserId)).thenReturn(supportUser);
         when(ticketService.findById(ticketId)).thenReturn(Optional.of(ticket));
         when(commentMapper.commentRequestDTOToComment(commentRequestDTO)).thenReturn(comment);
         when(commentRepository.save(comment)).thenReturn(comment);
-        when(commentMapper.commentToCommentResponseDTO(comment)).thenReturn(commentResponseDTO);
+        when(commentMapper.commentToCommentResponseDTO(comment, "supportUser")).thenReturn(commentResponseDTO);
 
         // Act
-        CommentResponseDTO result = commentService.addCommentToTicket(ticketId, commentRequestDTO, supportUserId);
+        CommentResponseDTO result = commentService.addCommentToTicket(ticketId, commentRequestDTO, supportPrincipal);
 
         // Assert
         assertNotNull(result, "CommentResponseDTO should not be null");
         assertEquals(commentResponseDTO, result, "Returned CommentResponseDTO should match the expected value");
-        verify(userService, times(1)).findById(supportUserId);
+        verify(appUserRepository, never()).findById(any());
         verify(ticketService, times(1)).findById(ticketId);
         verify(commentRepository, times(1)).save(comment);
+        assertSame(supportUser, comment.getUser());
         verify(auditLogService, times(1)).logCommentAdded(ticket, supportUser, comment.getText());
+        verify(eventPublisher, times(1)).publishEvent(any(CommentAddedEvent.class));
     }
 
-    // 2. Support User Not Found
-    @Test
-    void addCommentToTicket_SupportUserNotFound_ThrowsException() {
-        // Arrange
-        when(userService.findById(supportUserId)).thenReturn(Optional.empty());
-
-        // Act & Assert
-        assertThrows(SupportUserNotFoundException.class, () ->
-                        commentService.addCommentToTicket(ticketId, commentRequestDTO, supportUserId),
-                "SupportUserNotFoundException should be thrown");
-        verify(userService, times(1)).findById(supportUserId);
-        verify(ticketService, never()).findById(any());
-        verify(commentRepository, never()).save(any());
-    }
-
-    // 3. Unauthorized User
+    // 2. Unauthorized User
     @Test
     void addCommentToTicket_UnauthorizedUser_ThrowsException() {
         // Arrange
-        supportUser.setRole(Role.EMPLOYEE); // Not an IT support agent
-        when(userService.findById(supportUserId)).thenReturn(Optional.of(supportUser));
+        AuthenticatedUser employee = new AuthenticatedUser(supportUserId, "supportUser", Role.EMPLOYEE);
 
         // Act & Assert
         assertThrows(UnauthorizedAccessException.class, () ->
-                        commentService.addCommentToTicket(ticketId, commentRequestDTO, supportUserId),
+                        commentService.addCommentToTicket(ticketId, commentRequestDTO, employee),
                 "UnauthorizedAccessException should be thrown");
-        verify(userService, times(1)).findById(supportUserId);
+        verifyNoInteractions(appUserRepository);
         verify(ticketService, never()).findById(any());
         verify(commentRepository, never()).save(any());
     }
 
-    // 4. Ticket Not Found
+    // 3. Ticket Not Found
     @Test
     void addCommentToTicket_TicketNotFound_ThrowsException() {
         // Arrange
-        when(userService.findById(supportUserId)).thenReturn(Optional.of(supportUser));
         when(ticketService.findById(ticketId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(TicketNotFoundException.class, () ->
-                        commentService.addCommentToTicket(ticketId, commentRequestDTO, supportUserId),
+                        commentService.addCommentToTicket(ticketId, commentRequestDTO, supportPrincipal),
                 "TicketNotFoundException should be thrown");
-        verify(userService, times(1)).findById(supportUserId);
         verify(ticketService, times(1)).findById(ticketId);
         verify(commentRepository, never()).save(any());
     }
 
-    // 5. Repository Throws an Exception
+    // 4. Repository Throws an Exception
     @Test
     void addCommentToTicket_RepositoryThrowsException_PropagatesException() {
         // Arrange
-        when(userService.findById(supportUserId)).thenReturn(Optional.of(supportUser));
+        when(appUserRepository.getReferenceById(supportUserId)).thenReturn(supportUser);
         when(ticketService.findById(ticketId)).thenReturn(Optional.of(ticket));
         when(commentMapper.commentRequestDTOToComment(commentRequestDTO)).thenReturn(comment);
         when(commentRepository.save(comment)).thenThrow(new DataAccessException("Database error") {});
 
         // Act & Assert
         assertThrows(DataAccessException.class, () ->
-                        commentService.addCommentToTicket(ticketId, commentRequestDTO, supportUserId),
+                        commentService.addCommentToTicket(ticketId, commentRequestDTO, supportPrincipal),
                 "DataAccessException should be propagated");
-        verify(userService, times(1)).findById(supportUserId);
         verify(ticketService, times(1)).findById(ticketId);
         verify(commentRepository, times(1)).save(comment);
     }
@@ -192,7 +192,7 @@ public class CommentServiceImplTest {
         when(commentMapper.commentToCommentResponseDTO(comment)).thenReturn(commentResponseDTO);
 
         // Act
-        Page<CommentResponseDTO> result = commentService.getCommentsForTicket(ticketId, pageable);
+        Page<CommentResponseDTO> result = commentService.getCommentsForTicket(ticketId, pageable, null);
 
         // Assert
         assertNotNull(result, "Page of CommentResponseDTO should not be null");
@@ -210,7 +210,7 @@ public class CommentServiceImplTest {
 
         // Act & Assert
         assertThrows(TicketNotFoundException.class, () ->
-                        commentService.getCommentsForTicket(ticketId, pageable),
+                        commentService.getCommentsForTicket(ticketId, pageable, null),
                 "TicketNotFoundException should be thrown");
         verify(ticketService, times(1)).findById(ticketId);
         verify(commentRepository, never()).findByTicket(any(), any());
@@ -226,7 +226,7 @@ public class CommentServiceImplTest {
         when(commentRepository.findByTicket(ticket, pageable)).thenReturn(emptyPage);
 
         // Act
-        Page<CommentResponseDTO> result = commentService.getCommentsForTicket(ticketId, pageable);
+        Page<CommentResponseDTO> result = commentService.getCommentsForTicket(ticketId, pageable, null);
 
         // Assert
         assertNotNull(result, "Page of CommentResponseDTO should not be null");
@@ -245,11 +245,67 @@ public class CommentServiceImplTest {
 
         // Act & Assert
         assertThrows(DataAccessException.class, () ->
-                        commentService.getCommentsForTicket(ticketId, pageable),
+                        commentService.getCommentsForTicket(ticketId, pageable, null),
                 "DataAccessException should be propagated");
         verify(ticketService, times(1)).findById(ticketId);
         verify(commentRepository, times(1)).findByTicket(ticket, pageable);
     }
 
+    private static CommentView commentView(UUID ticketId, String text) {
+        return new CommentView() {
+            public UUID getTicketId() { return ticketId; }
+            public UUID getId() { return UUID.randomUUID(); }
+            public String getText() { return text; }
+            public LocalDateTime getCreatedAt() { return LocalDateTime.now(); }
+            public String getAuthorUsername() { return "supportUser"; }
+        };
+    }
+
+    // 1. Batched Lookup Groups Comments By Ticket
+    @Test
+    void getCommentsForTickets_GroupsCommentsByTicket() {
+        // Arrange
+        UUID otherTicketId = UUID.randomUUID();
+        UUID emptyTicketId = UUID.randomUUID();
+        List<UUID> ticketIds = Arrays.asList(ticketId, otherTicketId, emptyTicketId);
+        when(commentRepository.findViewsByTicketIdIn(ticketIds)).thenReturn(Arrays.asList(
+                commentView(ticketId, "Test comment"), commentView(otherTicketId, "Other comment")));
+        when(commentMapper.commentViewToCommentResponseDTO(any(CommentView.class))).thenAnswer(invocation -> {
+            CommentResponseDTO dto = new CommentResponseDTO();
+            dto.setText(invocation.<CommentView>getArgument(0).getText());
+            return dto;
+        });
+
+        // Act
+        Map<UUID, List<CommentResponseDTO>> result = commentService.getCommentsForTickets(ticketIds, 0);
+
+        // Assert
+        assertEquals(3, result.size(), "Every requested ticket should have an entry");
+        assertEquals("Test comment", result.get(ticketId).get(0).getText());
+        assertEquals("Other comment", result.get(otherTicketId).get(0).getText());
+        assertTrue(result.get(emptyTicketId).isEmpty(), "Tickets without comments should map to an empty list");
+        verify(commentRepository, times(1)).findViewsByTicketIdIn(ticketIds);
+        verify(ticketService, never()).findById(any());
+    }
 
-}
\ No newline at end of file
+    // 2. Cap Keeps The Most Recent Comments
+    @Test
+    void getCommentsForTickets_WithCap_KeepsMostRecentComments() {
+        // Arrange
+        List<UUID> ticketIds = Collections.singletonList(ticketId);
+        when(commentRepository.findViewsByTicketIdIn(ticketIds)).thenReturn(Arrays.asList(
+                commentView(ticketId, "Test comment"), commentView(ticketId, "Newer comment")));
+        when(commentMapper.commentViewToCommentResponseDTO(any(CommentView.class))).thenAnswer(invocation -> {
+            CommentResponseDTO dto = new CommentResponseDTO();
+            dto.setText(invocation.<CommentView>getArgument(0).getText());
+            return dto;
+        });
+
+        // Act
+        Map<UUID, List<CommentResponseDTO>> result = commentService.getCommentsForTickets(ticketIds, 1);
+
+        // Assert
+        assertEquals(1, result.get(ticketId).size(), "Only one comment should be kept");
+        assertEquals("Newer comment", result.get(ticketId).get(0).getText());
+    }
+}
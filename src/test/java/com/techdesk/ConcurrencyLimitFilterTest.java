@@ -0,0 +1,114 @@
+package com.techdesk;
+
+import com.techdesk.web.filters.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(meterRegistry, 1, 10, Duration.ofMillis(50));
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("techdesk.requests.in.flight").gauge().value();
+    }
+
+    private MockHttpServletResponse perform(String uri, HttpServlet endpoint) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(endpoint));
+        return response;
+    }
+
+    // 1. An admitted request holds a slot while it runs and gives it back afterwards
+    @Test
+    void filter_Admitted_HoldsSlotWhileRunning() throws Exception {
+        double[] inFlightDuringRequest = new double[1];
+        MockHttpServletResponse response = perform("/api/tickets/all", new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                inFlightDuringRequest[0] = inFlight();
+                resp.getWriter().write("[]");
+            }
+        });
+
+        assertEquals(200, response.getStatus());
+        assertEquals("[]", response.getContentAsString());
+        assertEquals(1, inFlightDuringRequest[0]);
+        assertEquals(0, inFlight());
+        assertEquals(1, meterRegistry.get("techdesk.requests.admission.wait").timer().count());
+    }
+
+    // 2. A request that fails still gives its slot back
+    @Test
+    void filter_EndpointThrows_ReleasesSlot() throws Exception {
+        HttpServlet failing = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException {
+                throw new ServletException("Database unavailable");
+            }
+        };
+
+        assertThrows(ServletException.class, () -> perform("/api/tickets/all", failing));
+        assertThrows(ServletException.class, () -> perform("/api/tickets/all", failing));
+
+        assertEquals(0, inFlight());
+        assertEquals(0, meterRegistry.get("techdesk.requests.rejected").counter().count());
+    }
+
+    // 3. While a streamed export holds the only slot, other requests wait, then get a 503 with Retry-After;
+    //    the event stream is not limited and the slot is free again once the export completes
+    @Test
+    void filter_NoSlotInTime_Returns503() throws Exception {
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/tickets/export");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        }));
+        assertEquals(1, inFlight());
+        HttpServlet endpoint = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getWriter().write("[]");
+            }
+        };
+
+        MockHttpServletResponse rejected = perform("/api/tickets/all", endpoint);
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("Server busy"));
+        assertEquals(1, meterRegistry.get("techdesk.requests.rejected").counter().count());
+        assertEquals(200, perform(ConcurrencyLimitFilter.EVENT_STREAM_PATH, endpoint).getStatus());
+
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+
+        assertEquals(0, inFlight());
+        assertEquals(200, perform("/api/tickets/all", endpoint).getStatus());
+    }
+}
@@ -0,0 +1,127 @@
+package com.techdesk;
+
+import com.techdesk.utils.PasswordHasher;
+import com.techdesk.web.errors.GlobalExceptionHandler;
+import com.techdesk.web.errors.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class PasswordHasherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(meterRegistry, 4, 2, 8, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    // 1. Hashes use the configured cost and verify against the original password
+    @Test
+    void hash_ThenMatches() {
+        String hash = passwordHasher.hash("secret123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(passwordHasher.matches("secret123", hash));
+        assertFalse(passwordHasher.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("techdesk.password.hash").tag("operation", "hash").timer().count());
+        assertEquals(2, meterRegistry.get("techdesk.password.hash").tag("operation", "verify").timer().count());
+    }
+
+    // 2. Hashes computed with another cost are flagged for rehashing
+    @Test
+    void needsRehash_OtherCost() {
+        assertFalse(passwordHasher.needsRehash(BCrypt.hashpw("secret123", BCrypt.gensalt(4))));
+        assertTrue(passwordHasher.needsRehash(BCrypt.hashpw("secret123", BCrypt.gensalt(5))));
+        assertTrue(passwordHasher.needsRehash("not-a-hash"));
+    }
+
+    // 3. Out-of-range cost factors are refused at startup
+    @Test
+    void constructor_InvalidCost_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PasswordHasher(meterRegistry, 3, 1, 1, Duration.ofSeconds(1)));
+    }
+
+    // 4. With the only thread busy and the only queue slot taken, the next operation is rejected
+    @Test
+    void matches_Saturated_Rejected() throws Exception {
+        SimpleMeterRegistry saturatedMeters = new SimpleMeterRegistry();
+        PasswordHasher saturated = new PasswordHasher(saturatedMeters, 4, 1, 1, Duration.ofSeconds(3));
+        try {
+            // A cost-4 hash relabelled as cost 14 keeps a thread busy for a noticeable time.
+            String slowHash = BCrypt.hashpw("secret123", BCrypt.gensalt(4)).replace("$04$", "$14$");
+            CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(
+                    () -> saturated.matches("secret123", slowHash));
+            awaitQueueDepth(saturatedMeters, 0, running);
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+                    () -> saturated.matches("secret123", slowHash));
+            awaitQueueDepth(saturatedMeters, 1, running);
+
+            ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                    () -> saturated.matches("secret123", slowHash));
+            assertEquals(3, exception.getRetryAfterSeconds());
+            assertEquals(1, saturatedMeters.get("techdesk.password.rejected").counter().count());
+
+            assertFalse(running.get());
+            assertFalse(queued.get());
+        } finally {
+            saturated.destroy();
+        }
+    }
+
+    private static void awaitQueueDepth(SimpleMeterRegistry meters, int depth, CompletableFuture<?> running)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meters.get("techdesk.password.queue.depth").gauge().value() != depth
+                || meters.get("techdesk.password.queue.wait").timer().count() == 0) {
+            assertFalse(running.isDone(), "The first operation finished before the pool was saturated");
+            assertTrue(System.currentTimeMillis() < deadline, "The hashing queue never reached " + depth);
+            Thread.sleep(1);
+        }
+    }
+
+    @RestController
+    static class OverloadedController {
+        @PostMapping("/api/auth/login")
+        public void login() {
+            throw new ServiceOverloadedException("Too many concurrent sign-ins, please retry shortly", 2);
+        }
+    }
+
+    // 5. A rejected sign-in is answered with 503 and a Retry-After header
+    @Test
+    void handler_Overloaded_Returns503WithRetryAfter() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new OverloadedController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(post("/api/auth/login"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.error").value("Too many concurrent sign-ins, please retry shortly"));
+    }
+}
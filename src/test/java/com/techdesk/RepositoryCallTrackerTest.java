@@ -0,0 +1,116 @@
+package com.techdesk;
+
+import com.techdesk.utils.RepositoryCallTracker;
+import com.techdesk.web.filters.RepositoryTimingFilter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RepositoryCallTrackerTest {
+
+    /**
+     * A repository whose lookups take at least a millisecond.
+     */
+    public interface NoteRepository extends Repository<Object, UUID> {
+
+        String findTitleById(UUID id);
+
+        long count();
+    }
+
+    private static class SlowNoteRepository implements NoteRepository {
+
+        @Override
+        public String findTitleById(UUID id) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "Printer jam";
+        }
+
+        @Override
+        public long count() {
+            return 1;
+        }
+    }
+
+    private final RepositoryCallTracker tracker = new RepositoryCallTracker();
+    private final NoteRepository repository = proxy();
+
+    private NoteRepository proxy() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SlowNoteRepository());
+        factory.addInterface(NoteRepository.class);
+        factory.addAspect(tracker);
+        return factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.end();
+    }
+
+    // 1. Only calls between begin and end are counted and timed, per repository method
+    @Test
+    void track_CountsCallsPerMethod() {
+        repository.findTitleById(UUID.randomUUID());
+        tracker.begin();
+        assertEquals("Printer jam", repository.findTitleById(UUID.randomUUID()));
+        repository.findTitleById(UUID.randomUUID());
+        repository.count();
+        Map<String, RepositoryCallTracker.CallStats> calls = tracker.end();
+        repository.count();
+
+        assertEquals(2, calls.size());
+        assertEquals(2, calls.get("NoteRepository.findTitleById").getCalls());
+        assertTrue(calls.get("NoteRepository.findTitleById").getNanos() >= TimeUnit.MILLISECONDS.toNanos(2));
+        assertEquals(1, calls.get("NoteRepository.count").getCalls());
+        assertEquals(Map.of(), tracker.end());
+    }
+
+    // 2. The filter records the time and number of calls of each repository method against the endpoint's pattern
+    @Test
+    void filter_RecordsCallsPerEndpoint() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RepositoryTimingFilter filter = new RepositoryTimingFilter(tracker, meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets/42");
+        HttpServlet endpoint = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tickets/{id}");
+                for (int i = 0; i < 3; i++) {
+                    repository.findTitleById(UUID.randomUUID());
+                }
+                resp.getWriter().write("{}");
+            }
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(endpoint));
+
+        Timer time = meterRegistry.get("techdesk.http.repository.time").tag("method", "GET")
+                .tag("uri", "/api/tickets/{id}").tag("call", "NoteRepository.findTitleById").timer();
+        assertEquals(1, time.count());
+        assertTrue(time.totalTime(TimeUnit.MILLISECONDS) >= 3);
+        assertEquals(3, meterRegistry.get("techdesk.http.repository.calls").tag("uri", "/api/tickets/{id}")
+                .tag("call", "NoteRepository.findTitleById").summary().totalAmount());
+        assertEquals(Map.of(), tracker.end());
+    }
+}
@@ -0,0 +1,82 @@
+package com.techdesk;
+
+import com.techdesk.utils.SqlStatementTracker;
+import com.techdesk.web.filters.SqlStatementFilter;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Assertions on the number of SQL statements a piece of code or an endpoint runs, for tests backed by a database.
+ * <p>
+ * Around a call, including a {@code MockMvc} request, which runs on the calling thread:
+ * </p>
+ * <pre>
+ * SqlStatementBudget.assertWithin(3, 1, () -&gt; mockMvc.perform(get("/api/tickets/all")));
+ * </pre>
+ * <p>
+ * Or on the response headers of a request to a running instance:
+ * </p>
+ * <pre>
+ * SqlStatementBudget.assertWithin(3, response.getHeaders());
+ * </pre>
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    /**
+     * Runs the given call and asserts its statement budget.
+     *
+     * @param maxStatements the maximum number of statements
+     * @param maxRepeats    how often a single statement shape may run
+     * @param call          the code under test
+     * @return the result of the call
+     */
+    public static <T> T assertWithin(int maxStatements, int maxRepeats, Callable<T> call) throws Exception {
+        if (!SqlStatementTracker.begin()) {
+            fail("Statements are already being counted on this thread");
+        }
+        T result;
+        SqlStatementTracker.Statements statements;
+        try {
+            result = call.call();
+        } finally {
+            statements = SqlStatementTracker.end();
+        }
+        Map<String, Integer> repeated = statements.repeatedMoreThan(maxRepeats);
+        assertTrue(repeated.isEmpty(), () -> "Statements ran more than " + maxRepeats + " times:\n"
+                + describe(repeated));
+        assertTrue(statements.getCount() <= maxStatements, () -> "Expected at most " + maxStatements
+                + " statements but " + statements.getCount() + " ran:\n" + describe(statements.getCountsByShape()));
+        return result;
+    }
+
+    /**
+     * Asserts the statement budget of a response from a running instance, as reported by
+     * {@link SqlStatementFilter}.
+     *
+     * @param maxStatements the maximum number of statements
+     * @param headers       the response headers
+     */
+    public static void assertWithin(int maxStatements, HttpHeaders headers) {
+        String value = headers.getFirst(SqlStatementFilter.STATEMENTS_HEADER);
+        assertNotNull(value, "The response has no " + SqlStatementFilter.STATEMENTS_HEADER + " header");
+        int statements = Integer.parseInt(value);
+        assertTrue(statements <= maxStatements,
+                () -> "Expected at most " + maxStatements + " statements but " + statements + " ran");
+    }
+
+    private static String describe(Map<String, Integer> countsByShape) {
+        return countsByShape.entrySet().stream()
+                .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.techdesk;
+
+import com.techdesk.utils.SqlStatementTracker;
+import com.techdesk.web.filters.SqlStatementFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatementTrackerTest {
+
+    private final SqlStatementTracker tracker = new SqlStatementTracker();
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementTracker.end();
+    }
+
+    // 1. Only statements inside a unit of work are counted, grouped by shape with IN lists collapsed
+    @Test
+    void inspect_CountsStatementsByShape() {
+        tracker.inspect("select * from tickets where id=?");
+        assertTrue(SqlStatementTracker.begin());
+        assertFalse(SqlStatementTracker.begin());
+        tracker.inspect("select * from comments where ticket_id in (?, ?, ?)");
+        tracker.inspect("select  *  from comments\nwhere ticket_id in (?,?)");
+        tracker.inspect("select * from tickets where id=?");
+        SqlStatementTracker.Statements statements = SqlStatementTracker.end();
+
+        assertEquals(3, statements.getCount());
+        assertEquals(Map.of("select * from comments where ticket_id in (?)", 2,
+                "select * from tickets where id=?", 1), statements.getCountsByShape());
+        assertEquals(Map.of("select * from comments where ticket_id in (?)", 2), statements.repeatedMoreThan(1));
+        assertNull(SqlStatementTracker.current());
+    }
+
+    // 2. The filter returns the count as a header, records it per endpoint and flags repeated statements
+    @Test
+    void filter_AddsHeadersAndRecordsMetrics() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SqlStatementFilter filter = new SqlStatementFilter(meterRegistry, true, 10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets/all");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet endpoint = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tickets/all");
+                tracker.inspect("select * from tickets fetch first ? rows only");
+                for (int i = 0; i < 11; i++) {
+                    tracker.inspect("select * from app_users where id=?");
+                }
+                resp.getWriter().write("[]");
+            }
+        };
+
+        filter.doFilter(request, response, new MockFilterChain(endpoint));
+
+        assertEquals("12", response.getHeader(SqlStatementFilter.STATEMENTS_HEADER));
+        assertNotNull(response.getHeader(SqlStatementFilter.TIME_HEADER));
+        assertEquals(12, meterRegistry.get("techdesk.http.sql.statements")
+                .tag("uri", "/api/tickets/all").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("techdesk.http.sql.repeated").counter().count());
+        assertNull(SqlStatementTracker.current());
+    }
+
+    // 3. The budget helper fails with the offending statements when the budget is exceeded
+    @Test
+    void budget_Exceeded_Fails() throws Exception {
+        assertEquals("ok", SqlStatementBudget.assertWithin(2, 1, () -> {
+            tracker.inspect("select * from tickets where id=?");
+            return "ok";
+        }));
+
+        AssertionError error = assertThrows(AssertionError.class, () -> SqlStatementBudget.assertWithin(10, 2, () -> {
+            for (int i = 0; i < 3; i++) {
+                tracker.inspect("select * from app_users where id=?");
+            }
+            return null;
+        }));
+        assertTrue(error.getMessage().contains("3x select * from app_users where id=?"));
+    }
+}
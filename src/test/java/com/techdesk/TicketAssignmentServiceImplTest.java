@@ -4,21 +4,30 @@ import com.techdesk.entities.AppUser;
 import com.techdesk.entities.Ticket;
 import com.techdesk.entities.enums.Role;
 import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.events.TicketStatusChangedEvent;
 import com.techdesk.repositories.AppUserRepository;
 import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.AgentLoadView;
 import com.techdesk.services.Impl.TicketAssignmentServiceImpl;
+import com.techdesk.utils.AgentLoadIndex;
 import com.techdesk.web.errors.NoSupportAgentAvailableException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +42,9 @@ public class TicketAssignmentServiceImplTest {
     @Mock
     private TicketRepository ticketRepository;
 
+    @Spy
+    private AgentLoadIndex agentLoadIndex = new AgentLoadIndex();
+
     @InjectMocks
     private TicketAssignmentServiceImpl ticketAssignmentService;
 
@@ -56,56 +68,99 @@ public class TicketAssignmentServiceImplTest {
         agent2.setRole(Role.IT_SUPPORT);
     }
 
+    private static AgentLoadView load(UUID agentId, long openTickets) {
+        return new AgentLoadView() {
+            public UUID getAgentId() { return agentId; }
+            public Long getOpenTickets() { return openTickets; }
+        };
+    }
+
+    private void seed(Map<UUID, Integer> openTicketsByAgent) {
+        agentLoadIndex.reset(openTicketsByAgent);
+    }
+
     @Test
     void assignTicket_LeastLoadedAgent_ReturnsAgent() {
-        List<AppUser> supportAgents = Arrays.asList(agent1, agent2);
-        when(appUserRepository.findByRole(Role.IT_SUPPORT)).thenReturn(supportAgents);
-        when(ticketRepository.countByAssignedToAndStatusNotIn(agent1, Arrays.asList(TicketStatus.RESOLVED, TicketStatus.CLOSED)))
-                .thenReturn(2);
-        when(ticketRepository.countByAssignedToAndStatusNotIn(agent2, Arrays.asList(TicketStatus.RESOLVED, TicketStatus.CLOSED)))
-                .thenReturn(1);
+        Map<UUID, Integer> loads = new HashMap<>();
+        loads.put(agent1.getId(), 2);
+        loads.put(agent2.getId(), 1);
+        seed(loads);
+        when(appUserRepository.getReferenceById(agent2.getId())).thenReturn(agent2);
 
         AppUser assignedAgent = ticketAssignmentService.assignTicket(ticket);
 
         assertEquals(agent2, assignedAgent, "Ticket should be assigned to the least loaded agent");
-        verify(appUserRepository, times(1)).findByRole(Role.IT_SUPPORT);
-        verify(ticketRepository, times(2)).countByAssignedToAndStatusNotIn(any(), any());
+        assertEquals(2, agentLoadIndex.openTicketsOf(agent2.getId()), "The new ticket should be counted immediately");
+        verifyNoInteractions(ticketRepository);
     }
 
     @Test
     void assignTicket_NoAgentsAvailable_ThrowsException() {
-        when(appUserRepository.findByRole(Role.IT_SUPPORT)).thenReturn(Collections.emptyList());
-
+        seed(Collections.emptyMap());
 
         assertThrows(NoSupportAgentAvailableException.class, () -> ticketAssignmentService.assignTicket(ticket),
                 "No support agents available should throw NoSupportAgentAvailableException");
-        verify(appUserRepository, times(1)).findByRole(Role.IT_SUPPORT);
-        verify(ticketRepository, never()).countByAssignedToAndStatusNotIn(any(), any());
+        verify(appUserRepository, never()).getReferenceById(any());
     }
 
     @Test
-    void assignTicket_AllAgentsSameWorkload_ReturnsOneAgent() {
-        List<AppUser> supportAgents = Arrays.asList(agent1, agent2);
-        when(appUserRepository.findByRole(Role.IT_SUPPORT)).thenReturn(supportAgents);
-        when(ticketRepository.countByAssignedToAndStatusNotIn(any(), any())).thenReturn(2);
+    void assignTicket_AllAgentsSameWorkload_SpreadsConsecutiveAssignments() {
+        Map<UUID, Integer> loads = new HashMap<>();
+        loads.put(agent1.getId(), 2);
+        loads.put(agent2.getId(), 2);
+        seed(loads);
+        when(appUserRepository.getReferenceById(agent1.getId())).thenReturn(agent1);
+        when(appUserRepository.getReferenceById(agent2.getId())).thenReturn(agent2);
+
+        Set<AppUser> assignedAgents = new HashSet<>();
+        assignedAgents.add(ticketAssignmentService.assignTicket(ticket));
+        assignedAgents.add(ticketAssignmentService.assignTicket(new Ticket()));
+
+        assertEquals(new HashSet<>(Arrays.asList(agent1, agent2)), assignedAgents,
+                "Consecutive tickets should go to different agents");
+    }
+
+    @Test
+    void assignTicket_NotSeeded_ResyncsWithOneGroupedQuery() {
+        when(appUserRepository.findIdsByRole(Role.IT_SUPPORT)).thenReturn(Arrays.asList(agent1.getId(), agent2.getId()));
+        when(ticketRepository.countOpenTicketsByAssignee(anyCollection()))
+                .thenReturn(Collections.singletonList(load(agent1.getId(), 3)));
+        when(appUserRepository.getReferenceById(agent2.getId())).thenReturn(agent2);
 
         AppUser assignedAgent = ticketAssignmentService.assignTicket(ticket);
 
-        assertNotNull(assignedAgent, "Ticket should be assigned to one of the agents");
-        assertTrue(supportAgents.contains(assignedAgent), "Assigned agent should be one of the available agents");
-        verify(appUserRepository, times(1)).findByRole(Role.IT_SUPPORT);
-        verify(ticketRepository, times(2)).countByAssignedToAndStatusNotIn(any(), any());
+        assertEquals(agent2, assignedAgent, "Agents without open tickets should be part of the index");
+        verify(appUserRepository, times(1)).findIdsByRole(Role.IT_SUPPORT);
+        verify(ticketRepository, times(1)).countOpenTicketsByAssignee(anyCollection());
     }
 
     @Test
-    void assignTicket_RepositoryThrowsException_PropagatesException() {
-        when(appUserRepository.findByRole(Role.IT_SUPPORT)).thenThrow(new DataAccessException("Database error") {});
+    void resyncLoadIndex_RepositoryThrowsException_PropagatesException() {
+        when(appUserRepository.findIdsByRole(Role.IT_SUPPORT)).thenThrow(new DataAccessException("Database error") {});
 
-        assertThrows(DataAccessException.class, () -> ticketAssignmentService.assignTicket(ticket),
+        assertThrows(DataAccessException.class, () -> ticketAssignmentService.resyncLoadIndex(),
                 "Repository exception should be propagated");
-        verify(appUserRepository, times(1)).findByRole(Role.IT_SUPPORT);
-        verify(ticketRepository, never()).countByAssignedToAndStatusNotIn(any(), any());
+        verify(ticketRepository, never()).countOpenTicketsByAssignee(any());
+        assertFalse(agentLoadIndex.isSeeded());
     }
 
-
-}
\ No newline at end of file
+    @Test
+    void onTicketStatusChanged_ClosingAndReopening_UpdatesLoad() {
+        seed(Collections.singletonMap(agent1.getId(), 1));
+        ticket.setAssignedTo(agent1);
+
+        ticket.setStatus(TicketStatus.RESOLVED);
+        ticketAssignmentService.onTicketStatusChanged(
+                new TicketStatusChangedEvent(TicketSnapshot.of(ticket), TicketStatus.IN_PROGRESS, agent1.getId()));
+        assertEquals(0, agentLoadIndex.openTicketsOf(agent1.getId()));
+
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        ticketAssignmentService.onTicketStatusChanged(
+                new TicketStatusChangedEvent(TicketSnapshot.of(ticket), TicketStatus.CLOSED, agent1.getId()));
+        assertEquals(1, agentLoadIndex.openTicketsOf(agent1.getId()));
+
+        ticketAssignmentService.onTicketStatusChanged(
+                new TicketStatusChangedEvent(TicketSnapshot.of(ticket), TicketStatus.NEW, agent1.getId()));
+        assertEquals(1, agentLoadIndex.openTicketsOf(agent1.getId()), "Moving between open statuses keeps the load");
+    }
+}
@@ -0,0 +1,55 @@
+package com.techdesk;
+
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.services.TicketExportService;
+import com.techdesk.web.errors.UnauthorizedAccessException;
+import com.techdesk.web.rest.TicketController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketControllerTest {
+
+    @Mock
+    private TicketExportService exportService;
+
+    private TicketController controller;
+
+    private final AuthenticatedUser agent = new AuthenticatedUser(UUID.randomUUID(), "agent", Role.IT_SUPPORT);
+
+    @BeforeEach
+    public void setUp() {
+        controller = new TicketController(null, null, exportService, null, null);
+    }
+
+    // 1. Malformed filters and reversed date ranges are rejected before the streaming body is returned
+    @Test
+    void exportTickets_InvalidFilters_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.exportTickets(agent, "BOGUS", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.exportTickets(agent, null, "2025-01-15T25:00", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.exportTickets(agent, null, "2025-02-01", "2025-01-01"));
+        verifyNoInteractions(exportService);
+    }
+
+    // 2. Only IT support agents may export tickets
+    @Test
+    void exportTickets_Employee_Unauthorized() {
+        AuthenticatedUser employee = new AuthenticatedUser(UUID.randomUUID(), "employee", Role.EMPLOYEE);
+
+        assertThrows(UnauthorizedAccessException.class,
+                () -> controller.exportTickets(employee, null, null, null));
+        verifyNoInteractions(exportService);
+    }
+}
@@ -0,0 +1,87 @@
+package com.techdesk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techdesk.dto.TicketResponseDTO;
+import com.techdesk.dto.mappers.TicketMapper;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.TicketView;
+import com.techdesk.services.Impl.TicketExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketExportServiceImplTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketMapper ticketMapper;
+
+    private TicketExportServiceImpl exportService;
+
+    @BeforeEach
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new TicketExportServiceImpl(ticketRepository, ticketMapper, objectMapper);
+    }
+
+    private TicketView view(String title) {
+        TicketView view = mock(TicketView.class);
+        TicketResponseDTO dto = new TicketResponseDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setTitle(title);
+        dto.setStatus(TicketStatus.NEW);
+        dto.setCreatedAt(LocalDateTime.of(2025, 1, 15, 9, 30));
+        when(ticketMapper.ticketViewToTicketResponseDTO(view)).thenReturn(dto);
+        return view;
+    }
+
+    // 1. Every row is written as one JSON object per line and the stream is closed afterwards
+    @Test
+    void exportTickets_WritesOneLinePerTicket() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<TicketView> rows = Stream.of(view("VPN down"), view("Printer jam")).onClose(() -> closed.set(true));
+        when(ticketRepository.streamViews(TicketStatus.NEW, LocalDateTime.of(2025, 1, 1, 0, 0), null))
+                .thenReturn(rows);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.exportTickets(TicketStatus.NEW, LocalDateTime.of(2025, 1, 1, 0, 0), null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals("VPN down", first.get("title").asText());
+        assertEquals("2025-01-15T09:30:00", first.get("createdAt").asText());
+        assertEquals("Printer jam", new ObjectMapper().readTree(lines[1]).get("title").asText());
+        assertTrue(closed.get());
+    }
+
+    // 2. No matching tickets produce an empty body
+    @Test
+    void exportTickets_NoTickets_WritesNothing() throws Exception {
+        when(ticketRepository.streamViews(null, null, null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportTickets(null, null, null, out));
+        assertEquals(0, out.size());
+    }
+}
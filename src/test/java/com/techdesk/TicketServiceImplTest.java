@@ -6,17 +6,27 @@ import com.techdesk.entities.AppUser;
 import com.techdesk.entities.Comment;
 import com.techdesk.entities.Ticket;
 import com.techdesk.entities.enums.*;
+import com.techdesk.events.TicketDeletedEvent;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.repositories.AppUserRepository;
 import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.TicketView;
 import com.techdesk.services.*;
 import com.techdesk.services.Impl.TicketServiceImpl;
+import com.techdesk.utils.TicketCursor;
+import com.techdesk.utils.TotalCountCache;
 import com.techdesk.web.errors.*;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -29,6 +39,8 @@ class TicketServiceImplTest {
     @Mock
     private TicketRepository ticketRepository;
     @Mock
+    private AppUserRepository appUserRepository;
+    @Mock
     private TicketMapper ticketMapper;
     @Mock
     private TicketAssignmentService ticketAssignmentService;
@@ -38,6 +50,12 @@ class TicketServiceImplTest {
     private UserService userService;
     @Mock
     private CommentService commentService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private Validator validator;
+    @Spy
+    private TotalCountCache totalCountCache = new TotalCountCache(Duration.ofSeconds(30), 100, "exact");
 
     @InjectMocks
     private TicketServiceImpl ticketService;
@@ -77,6 +95,31 @@ class TicketServiceImplTest {
         // Default mapping behavior
         when(ticketMapper.createTicketDTOToTicket(any(CreateTicketDTO.class))).thenReturn(ticket);
         when(ticketMapper.ticketToTicketResponseDTO(any(Ticket.class))).thenReturn(ticketResponseDTO);
+        when(ticketMapper.ticketToTicketSummaryDTO(any(Ticket.class))).thenReturn(ticketResponseDTO);
+        when(ticketMapper.ticketViewToTicketResponseDTO(any(TicketView.class))).thenAnswer(invocation -> {
+            TicketResponseDTO dto = new TicketResponseDTO();
+            dto.setId(invocation.<TicketView>getArgument(0).getId());
+            return dto;
+        });
+    }
+
+    private static AuthenticatedUser principal(AppUser user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    private static TicketView ticketView(Ticket source) {
+        return new TicketView() {
+            public UUID getId() { return source.getId(); }
+            public String getTitle() { return source.getTitle(); }
+            public String getDescription() { return source.getDescription(); }
+            public TicketPriority getPriority() { return source.getPriority(); }
+            public TicketCategory getCategory() { return source.getCategory(); }
+            public TicketStatus getStatus() { return source.getStatus(); }
+            public LocalDateTime getCreatedAt() { return source.getCreatedAt(); }
+            public LocalDateTime getUpdatedAt() { return source.getUpdatedAt(); }
+            public UUID getCreatedById() { return source.getCreatedBy().getId(); }
+            public UUID getAssignedToId() { return source.getAssignedTo() == null ? null : source.getAssignedTo().getId(); }
+        };
     }
 
     // createTicket scenarios
@@ -106,6 +149,64 @@ class TicketServiceImplTest {
         assertEquals("Employee not found", exception.getMessage());
     }
 
+    // createTickets (bulk) scenarios
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateTickets_InvalidItemReportedWithoutFailingBatch() {
+        CreateTicketDTO valid = new CreateTicketDTO();
+        valid.setTitle("VPN down");
+        CreateTicketDTO invalid = new CreateTicketDTO();
+        ConstraintViolation<CreateTicketDTO> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Title is required");
+        when(validator.validate(invalid)).thenReturn(Set.of(violation));
+        when(userService.findById(employee.getId())).thenReturn(Optional.of(employee));
+        when(ticketAssignmentService.assignTickets(anyList())).thenReturn(List.of(supportUser));
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        ticketResponseDTO.setId(ticket.getId());
+
+        List<BulkTicketResultDTO> results = ticketService.createTickets(List.of(valid, invalid), employee.getId());
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(ticket.getId(), results.get(0).getTicketId());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals("Title is required", results.get(1).getError());
+        assertEquals(supportUser, ticket.getAssignedTo());
+        verify(userService, times(1)).findById(employee.getId());
+        verify(ticketAssignmentService).assignTickets(List.of(ticket));
+        verify(ticketAssignmentService, never()).assignTicket(any());
+        verify(ticketRepository).saveAll(List.of(ticket));
+        verify(ticketRepository).flush();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateTickets_AllInvalid_NothingSaved() {
+        ConstraintViolation<CreateTicketDTO> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Priority is required");
+        when(validator.validate(any(CreateTicketDTO.class))).thenReturn(Set.of(violation));
+        when(userService.findById(employee.getId())).thenReturn(Optional.of(employee));
+
+        List<BulkTicketResultDTO> results = ticketService.createTickets(List.of(createTicketDTO), employee.getId());
+
+        assertFalse(results.get(0).isSuccess());
+        verifyNoInteractions(ticketAssignmentService);
+        verify(ticketRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testCreateTickets_TooManyItems() {
+        List<CreateTicketDTO> items = Collections.nCopies(501, createTicketDTO);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                ticketService.createTickets(items, employee.getId())
+        );
+        assertEquals("A bulk request may contain at most 500 tickets", exception.getMessage());
+        verifyNoInteractions(ticketRepository);
+    }
+
     // findById scenarios
 
     @Test
@@ -129,16 +230,18 @@ class TicketServiceImplTest {
     @Test
     void testGetTicketsForEmployee_Success() {
         Pageable pageable = PageRequest.of(0, 10);
-        List<Ticket> ticketList = Collections.singletonList(ticket);
-        Page<Ticket> pageTickets = new PageImpl<>(ticketList, pageable, ticketList.size());
-        when(ticketRepository.findByCreatedById(employee.getId(), pageable)).thenReturn(pageTickets);
+        List<TicketView> ticketList = Collections.singletonList(ticketView(ticket));
+        Page<TicketView> pageTickets = new PageImpl<>(ticketList, pageable, ticketList.size());
+        when(ticketRepository.findViewsByCreatedById(employee.getId(), pageable)).thenReturn(pageTickets);
         // Assume no comments for simplicity.
-        when(commentService.getCommentsForTicket(any(UUID.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+        when(commentService.getCommentsForTickets(anyCollection(), anyInt()))
+                .thenReturn(new HashMap<>());
 
-        Page<TicketResponseDTO> result = ticketService.getTicketsForEmployee(employee.getId(), pageable);
+        Page<TicketResponseDTO> result =
+                ticketService.getTicketsForEmployee(employee.getId(), pageable, TotalCountMode.EXACT);
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
+        assertTrue(result.getContent().get(0).getComments().isEmpty());
     }
 
     // getTicketByIdForEmployee scenarios
@@ -146,10 +249,23 @@ class TicketServiceImplTest {
     @Test
     void testGetTicketByIdForEmployee_Success() {
         ticket.setCreatedBy(employee);
-        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+        when(ticketRepository.findViewById(ticket.getId())).thenReturn(Optional.of(ticketView(ticket)));
 
         TicketResponseDTO result = ticketService.getTicketByIdForEmployee(ticket.getId(), employee.getId());
         assertNotNull(result);
+        assertEquals(ticket.getId(), result.getId());
+        verify(ticketRepository, never()).findById(any(UUID.class));
+        verify(commentService).getCommentsForTickets(Collections.singletonList(ticket.getId()), 0);
+    }
+
+    @Test
+    void testGetTicketByIdForEmployee_NotFound() {
+        UUID id = UUID.randomUUID();
+        when(ticketRepository.findViewById(id)).thenReturn(Optional.empty());
+
+        assertThrows(TicketNotFoundException.class, () ->
+                ticketService.getTicketByIdForEmployee(id, employee.getId())
+        );
     }
 
     @Test
@@ -157,7 +273,7 @@ class TicketServiceImplTest {
         AppUser otherEmployee = new AppUser();
         otherEmployee.setId(UUID.randomUUID());
         ticket.setCreatedBy(employee);
-        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+        when(ticketRepository.findViewById(ticket.getId())).thenReturn(Optional.of(ticketView(ticket)));
 
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
                 ticketService.getTicketByIdForEmployee(ticket.getId(), otherEmployee.getId())
@@ -170,17 +286,147 @@ class TicketServiceImplTest {
     @Test
     void testGetAllTickets_Success() {
         Pageable pageable = PageRequest.of(0, 10);
-        List<Ticket> ticketList = Collections.singletonList(ticket);
-        Page<Ticket> pageTickets = new PageImpl<>(ticketList, pageable, ticketList.size());
-        when(ticketRepository.findAll(pageable)).thenReturn(pageTickets);
-        when(commentService.getCommentsForTicket(any(UUID.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+        List<TicketView> ticketList = Collections.singletonList(ticketView(ticket));
+        Page<TicketView> pageTickets = new PageImpl<>(ticketList, pageable, ticketList.size());
+        when(ticketRepository.findAllViews(pageable)).thenReturn(pageTickets);
+        when(commentService.getCommentsForTickets(anyCollection(), anyInt()))
+                .thenReturn(new HashMap<>());
 
-        Page<TicketResponseDTO> result = ticketService.getAllTickets(pageable);
+        Page<TicketResponseDTO> result = ticketService.getAllTickets(pageable, TotalCountMode.EXACT);
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    void testGetAllTickets_LoadsCommentsInOneBatch() {
+        Ticket otherTicket = new Ticket();
+        otherTicket.setId(UUID.randomUUID());
+        otherTicket.setCreatedBy(employee);
+        Pageable pageable = PageRequest.of(0, 10);
+        List<TicketView> ticketList = Arrays.asList(ticketView(ticket), ticketView(otherTicket));
+        when(ticketRepository.findAllViews(pageable)).thenReturn(new PageImpl<>(ticketList, pageable, ticketList.size()));
+        CommentResponseDTO comment = new CommentResponseDTO();
+        comment.setText("Looking into it");
+        Map<UUID, List<CommentResponseDTO>> comments = new HashMap<>();
+        comments.put(ticket.getId(), Collections.singletonList(comment));
+        comments.put(otherTicket.getId(), new ArrayList<>());
+        when(commentService.getCommentsForTickets(anyCollection(), anyInt())).thenReturn(comments);
+
+        Page<TicketResponseDTO> result = ticketService.getAllTickets(pageable, TotalCountMode.EXACT);
+
+        assertEquals(Collections.singletonList(comment), result.getContent().get(0).getComments());
+        assertTrue(result.getContent().get(1).getComments().isEmpty());
+        verify(commentService, times(1))
+                .getCommentsForTickets(Arrays.asList(ticket.getId(), otherTicket.getId()), 0);
+        verify(commentService, never()).getCommentsForTicket(any(UUID.class), any(Pageable.class), any());
+        verify(ticketRepository, never()).findAll(any(Pageable.class));
+        verify(ticketMapper, never()).ticketToTicketResponseDTO(any(Ticket.class));
+    }
+
+    // total count modes
+
+    @Test
+    void testGetAllTickets_Estimated_ReusesTotalUntilTicketsChange() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(ticketRepository.sliceAllViews(pageable))
+                .thenReturn(new SliceImpl<>(List.of(ticketView(ticket)), pageable, true));
+        when(ticketRepository.count()).thenReturn(42L);
+
+        TotalAwarePage<TicketResponseDTO> first =
+                (TotalAwarePage<TicketResponseDTO>) ticketService.getAllTickets(pageable, TotalCountMode.ESTIMATED);
+        TotalAwarePage<TicketResponseDTO> second =
+                (TotalAwarePage<TicketResponseDTO>) ticketService.getAllTickets(pageable, TotalCountMode.ESTIMATED);
+
+        assertEquals(42, first.getTotalElements());
+        assertEquals(TotalCountMode.EXACT, first.getTotalMode());
+        assertEquals(42, second.getTotalElements());
+        assertEquals(TotalCountMode.ESTIMATED, second.getTotalMode());
+        verify(ticketRepository, times(1)).count();
+
+        totalCountCache.invalidate(TotalCountCache.TICKETS);
+        ticketService.getAllTickets(pageable, TotalCountMode.ESTIMATED);
+
+        verify(ticketRepository, times(2)).count();
+        verify(ticketRepository, never()).findAllViews(any(Pageable.class));
+    }
+
+    @Test
+    void testGetAllTickets_None_NeverCounts() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(ticketRepository.sliceAllViews(pageable))
+                .thenReturn(new SliceImpl<>(List.of(ticketView(ticket)), pageable, true));
+
+        TotalAwarePage<TicketResponseDTO> result =
+                (TotalAwarePage<TicketResponseDTO>) ticketService.getAllTickets(pageable, TotalCountMode.NONE);
+
+        assertEquals(TotalCountMode.NONE, result.getTotalMode());
+        assertTrue(result.hasNext());
+        verify(ticketRepository, never()).count();
+        verify(ticketRepository, never()).findAllViews(any(Pageable.class));
+    }
+
+    @Test
+    void testGetTicketsForEmployee_LastPage_TotalIsExactWithoutCount() {
+        Pageable pageable = PageRequest.of(2, 10);
+        when(ticketRepository.sliceViewsByCreatedById(employee.getId(), pageable))
+                .thenReturn(new SliceImpl<>(List.of(ticketView(ticket)), pageable, false));
+
+        TotalAwarePage<TicketResponseDTO> result = (TotalAwarePage<TicketResponseDTO>)
+                ticketService.getTicketsForEmployee(employee.getId(), pageable, TotalCountMode.ESTIMATED);
+
+        assertEquals(21, result.getTotalElements());
+        assertEquals(TotalCountMode.EXACT, result.getTotalMode());
+        verify(ticketRepository, never()).countByCreatedById(any());
+    }
+
+    // scroll scenarios
+
+    @Test
+    void testScrollAllTickets_MoreRows_ReturnsNextCursor() {
+        Ticket older = new Ticket();
+        older.setId(UUID.randomUUID());
+        older.setCreatedAt(ticket.getCreatedAt().minusMinutes(5));
+        Ticket oldest = new Ticket();
+        oldest.setId(UUID.randomUUID());
+        oldest.setCreatedAt(ticket.getCreatedAt().minusMinutes(10));
+        when(ticketRepository.findBy(any(Specification.class), any()))
+                .thenReturn(Arrays.asList(ticket, older, oldest));
+
+        CursorPageDTO<TicketResponseDTO> result = ticketService.scrollAllTickets(null, 2);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(TicketCursor.of(older).encode(), result.getNextCursor());
+        verify(ticketRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void testScrollAllTickets_LastPage_HasNoCursor() {
+        when(ticketRepository.findBy(any(Specification.class), any()))
+                .thenReturn(Collections.singletonList(ticket));
+
+        CursorPageDTO<TicketResponseDTO> result = ticketService.scrollAllTickets(
+                TicketCursor.of(ticket).encode(), 2);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testScrollAllTickets_InvalidCursor() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                ticketService.scrollAllTickets("not-a-cursor", 10)
+        );
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void testScrollAllTickets_SizeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> ticketService.scrollAllTickets(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> ticketService.scrollAllTickets(null, 1000));
+    }
+
     // updateTicketStatus scenarios
 
     @Test
@@ -188,26 +434,31 @@ class TicketServiceImplTest {
         UpdateTicketStatusDTO updateDTO = new UpdateTicketStatusDTO();
         updateDTO.setStatus(TicketStatus.RESOLVED);
 
-        when(userService.findById(supportUser.getId())).thenReturn(Optional.of(supportUser));
+        when(appUserRepository.getReferenceById(supportUser.getId())).thenReturn(supportUser);
         when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
         when(ticketRepository.save(any(Ticket.class))).thenReturn(ticket);
 
-        TicketResponseDTO result = ticketService.updateTicketStatus(ticket.getId(), supportUser.getId(), updateDTO);
+        TicketResponseDTO result = ticketService.updateTicketStatus(ticket.getId(), principal(supportUser), updateDTO);
         assertNotNull(result);
+        verifyNoInteractions(userService);
         verify(auditLogService).logStatusChange(ticket, supportUser, TicketStatus.NEW.name(), TicketStatus.RESOLVED.name());
+        ArgumentCaptor<TicketStatusChangedEvent> event = ArgumentCaptor.forClass(TicketStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TicketStatus.NEW, event.getValue().oldStatus());
+        assertEquals(TicketStatus.RESOLVED, event.getValue().ticket().status());
     }
 
     @Test
     void testUpdateTicketStatus_Unauthorized() {
         // Use an employee as support user (which is unauthorized)
-        when(userService.findById(employee.getId())).thenReturn(Optional.of(employee));
         UpdateTicketStatusDTO updateDTO = new UpdateTicketStatusDTO();
         updateDTO.setStatus(TicketStatus.RESOLVED);
 
         Exception exception = assertThrows(UnauthorizedAccessException.class, () ->
-                ticketService.updateTicketStatus(ticket.getId(), employee.getId(), updateDTO)
+                ticketService.updateTicketStatus(ticket.getId(), principal(employee), updateDTO)
         );
         assertEquals("Only IT support can update ticket status", exception.getMessage());
+        verify(ticketRepository, never()).save(any());
     }
 
     // updateTicketByEmployee scenarios
@@ -266,30 +517,57 @@ class TicketServiceImplTest {
 
     @Test
     void testDeleteTicket_Success_ForEmployee() {
-        // Ticket created by employee, status NEW, no comments
+        // Ticket created by employee, status NEW
         ticket.setCreatedBy(employee);
         ticket.setStatus(TicketStatus.NEW);
-        ticket.setComments(new ArrayList<>());
-        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
-        when(userService.findById(employee.getId())).thenReturn(Optional.of(employee));
+        when(ticketRepository.findViewById(ticket.getId())).thenReturn(Optional.of(ticketView(ticket)));
 
-        ticketService.deleteTicket(ticket.getId(), employee.getId());
+        ticketService.deleteTicket(ticket.getId(), principal(employee));
 
-        verify(auditLogService).deleteLogsForTicket(ticket);
-        verify(ticketRepository).delete(ticket);
+        // One bulk statement per table, keyed by ticket id
+        verify(commentService).deleteCommentsForTickets(List.of(ticket.getId()));
+        verify(auditLogService).deleteLogsForTickets(List.of(ticket.getId()));
+        verify(ticketRepository).deleteByIdIn(List.of(ticket.getId()));
+        verify(commentService, never()).deleteComment(any());
+        verify(ticketRepository, never()).delete(any(Ticket.class));
+        verify(eventPublisher).publishEvent(any(TicketDeletedEvent.class));
     }
 
     @Test
     void testDeleteTicket_Fails_InProgress() {
         ticket.setCreatedBy(employee);
         ticket.setStatus(TicketStatus.IN_PROGRESS);
-        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
-        when(userService.findById(employee.getId())).thenReturn(Optional.of(employee));
+        when(ticketRepository.findViewById(ticket.getId())).thenReturn(Optional.of(ticketView(ticket)));
 
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
-                ticketService.deleteTicket(ticket.getId(), employee.getId())
+                ticketService.deleteTicket(ticket.getId(), principal(employee))
         );
         assertEquals("Cannot delete a ticket that is in progress", exception.getMessage());
+        verify(ticketRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void testDeleteTickets_PartialSuccess() {
+        Ticket inProgress = new Ticket();
+        inProgress.setId(UUID.randomUUID());
+        inProgress.setCreatedBy(employee);
+        inProgress.setStatus(TicketStatus.IN_PROGRESS);
+        UUID missingId = UUID.randomUUID();
+        List<UUID> ticketIds = List.of(ticket.getId(), inProgress.getId(), missingId);
+        when(ticketRepository.findViewsByIdIn(ticketIds))
+                .thenReturn(List.of(ticketView(ticket), ticketView(inProgress)));
+
+        List<BulkTicketResultDTO> results = ticketService.deleteTickets(ticketIds, principal(employee));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Cannot delete a ticket that is in progress", results.get(1).getError());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals("Ticket not found with id " + missingId, results.get(2).getError());
+        verify(commentService).deleteCommentsForTickets(List.of(ticket.getId()));
+        verify(auditLogService).deleteLogsForTickets(List.of(ticket.getId()));
+        verify(ticketRepository).deleteByIdIn(List.of(ticket.getId()));
+        verify(eventPublisher, times(1)).publishEvent(any(TicketDeletedEvent.class));
     }
 
     // searchTickets scenarios
@@ -297,31 +575,77 @@ class TicketServiceImplTest {
     @Test
     void testSearchTickets_Success() {
         Pageable pageable = PageRequest.of(0, 10);
-        UUID ticketId = ticket.getId();
-        String ticketIdStr = ticketId.toString();
-        String statusStr = TicketStatus.NEW.name();
+        TicketSearchCriteria criteria = new TicketSearchCriteria();
+        criteria.setTicketId(ticket.getId().toString());
+        criteria.setStatus(TicketStatus.NEW.name());
 
         List<Ticket> ticketList = Collections.singletonList(ticket);
         Page<Ticket> pageTickets = new PageImpl<>(ticketList, pageable, ticketList.size());
         // Cast repository and use any(Specification.class) matcher.
         when(((JpaSpecificationExecutor<Ticket>) ticketRepository)
-                .findAll(any(Specification.class), eq(pageable)))
+                .findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(pageTickets);
 
-        Page<TicketResponseDTO> result = ticketService.searchTickets(ticketIdStr, statusStr, pageable);
+        Page<TicketResponseDTO> result = ticketService.searchTickets(criteria, pageable, null);
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
     }
 
     @Test
-    void testSearchTickets_NotFound() {
+    void testSearchTickets_NotFound_ReturnsEmptyPage() {
         Pageable pageable = PageRequest.of(0, 10);
         when(((JpaSpecificationExecutor<Ticket>) ticketRepository)
-                .findAll(any(Specification.class), eq(pageable)))
+                .findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(Page.empty(pageable));
+
+        Page<TicketResponseDTO> result = ticketService.searchTickets(new TicketSearchCriteria(), pageable, null);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testSearchTickets_UnsortedRequestIsNewestFirst() {
+        when(((JpaSpecificationExecutor<Ticket>) ticketRepository)
+                .findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(Page.empty());
-        Exception exception = assertThrows(TicketNotFoundException.class, () ->
-                ticketService.searchTickets("", "", pageable)
-        );
-        assertEquals("No tickets found with the provided criteria", exception.getMessage());
+
+        ticketService.searchTickets(new TicketSearchCriteria(), PageRequest.of(0, 10), null);
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(ticketRepository).findAll(any(Specification.class), captor.capture());
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt", "id"), captor.getValue().getSort());
+    }
+
+    @Test
+    void testSliceSearchTickets_DoesNotCount() {
+        Pageable pageable = PageRequest.of(0, 1);
+        TicketSearchCriteria criteria = new TicketSearchCriteria();
+        criteria.setPriority("high");
+        criteria.setAssignedToId(supportUser.getId().toString());
+        criteria.setCreatedFrom("2025-01-01");
+        when(ticketRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(ticket), pageable, true));
+
+        Slice<TicketResponseDTO> result = ticketService.sliceSearchTickets(criteria, pageable);
+
+        assertEquals(1, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        verify(ticketRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(ticketRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void testSearchTickets_InvalidCriteria() {
+        TicketSearchCriteria badDate = new TicketSearchCriteria();
+        badDate.setUpdatedFrom("yesterday");
+        TicketSearchCriteria reversedRange = new TicketSearchCriteria();
+        reversedRange.setCreatedFrom("2025-03-01");
+        reversedRange.setCreatedTo("2025-02-01");
+
+        assertThrows(IllegalArgumentException.class, () ->
+                ticketService.searchTickets(badDate, PageRequest.of(0, 10), null));
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                ticketService.sliceSearchTickets(reversedRange, PageRequest.of(0, 10)));
+        assertEquals("createdFrom must not be after createdTo", exception.getMessage());
     }
 }
@@ -0,0 +1,144 @@
+package com.techdesk;
+
+import com.techdesk.entities.Ticket;
+import com.techdesk.entities.enums.SlaKind;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketEscalatedEvent;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.TicketSlaView;
+import com.techdesk.services.AuditLogService;
+import com.techdesk.services.Impl.TicketSlaServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketSlaServiceImplTest {
+
+    private static final String RESPONSE_TARGETS = "LOW=PT24H,MEDIUM=PT8H,HIGH=PT2H,CRITICAL=PT30M";
+    private static final String RESOLUTION_TARGETS = "LOW=P5D,MEDIUM=P3D,HIGH=PT24H,CRITICAL=PT8H";
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TicketSlaServiceImpl ticketSlaService;
+
+    private Ticket ticket;
+
+    @BeforeEach
+    public void setUp() {
+        ticketSlaService = new TicketSlaServiceImpl(ticketRepository, auditLogService, eventPublisher,
+                transactionManager, true, RESPONSE_TARGETS, RESOLUTION_TARGETS, Duration.ofSeconds(1));
+        ticket = Ticket.builder()
+                .id(UUID.randomUUID())
+                .title("VPN down")
+                .description("Cannot connect since this morning")
+                .status(TicketStatus.NEW)
+                .priority(TicketPriority.HIGH)
+                .createdAt(LocalDateTime.now().minusHours(3))
+                .build();
+    }
+
+    // 1. A ticket past its response target is logged and escalated once, its resolution target is still running
+    @Test
+    void checkDeadlines_ResponseMissed_LogsAndEscalates() {
+        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+        when(ticketRepository.markResponseBreached(eq(ticket.getId()), any())).thenReturn(1);
+        ticketSlaService.onTicketCreated(new TicketCreatedEvent(TicketSnapshot.of(ticket)));
+
+        assertEquals(1, ticketSlaService.checkDeadlines());
+        assertEquals(0, ticketSlaService.checkDeadlines());
+
+        verify(auditLogService).logSlaBreach(ticket, SlaKind.RESPONSE, Duration.ofHours(2));
+        verify(auditLogService, never()).logSlaBreach(any(), eq(SlaKind.RESOLUTION), any());
+        ArgumentCaptor<TicketEscalatedEvent> event = ArgumentCaptor.forClass(TicketEscalatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ticket.getId(), event.getValue().ticket().id());
+        assertEquals(SlaKind.RESPONSE, event.getValue().kind());
+        assertEquals(ticket.getCreatedAt().plusHours(2), event.getValue().deadline());
+    }
+
+    // 2. Leaving NEW cancels the response deadline without reading the ticket
+    @Test
+    void onTicketStatusChanged_Responded_CancelsDeadline() {
+        ticketSlaService.onTicketCreated(new TicketCreatedEvent(TicketSnapshot.of(ticket)));
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        ticketSlaService.onTicketStatusChanged(new TicketStatusChangedEvent(TicketSnapshot.of(ticket),
+                TicketStatus.NEW, UUID.randomUUID()));
+
+        assertEquals(0, ticketSlaService.checkDeadlines());
+
+        verifyNoInteractions(ticketRepository, auditLogService, eventPublisher);
+    }
+
+    // 3. After a restart, overdue tickets whose breach is already marked are not armed again
+    @Test
+    void rebuild_BreachAlreadyMarked_Skipped() {
+        LocalDateTime breachedAt = ticket.getCreatedAt().plusHours(2);
+        TicketSlaView view = new TicketSlaView() {
+            public UUID getId() { return ticket.getId(); }
+            public TicketStatus getStatus() { return ticket.getStatus(); }
+            public TicketPriority getPriority() { return ticket.getPriority(); }
+            public LocalDateTime getCreatedAt() { return ticket.getCreatedAt(); }
+            public LocalDateTime getResponseBreachedAt() { return breachedAt; }
+            public LocalDateTime getResolutionBreachedAt() { return null; }
+        };
+        when(ticketRepository.findSlaViews(any())).thenReturn(List.of(view));
+
+        ticketSlaService.rebuild();
+
+        assertEquals(0, ticketSlaService.checkDeadlines());
+        verify(ticketRepository, never()).findById(any());
+        verifyNoInteractions(auditLogService, eventPublisher);
+    }
+
+    // 4. A breach another instance marked first, or one marked before the ticket was reopened, is not logged again
+    @Test
+    void checkDeadlines_BreachMarkedConcurrently_NotLogged() {
+        when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+        when(ticketRepository.markResponseBreached(eq(ticket.getId()), any())).thenReturn(0);
+        ticketSlaService.onTicketCreated(new TicketCreatedEvent(TicketSnapshot.of(ticket)));
+
+        assertEquals(0, ticketSlaService.checkDeadlines());
+
+        verifyNoInteractions(auditLogService, eventPublisher);
+    }
+
+    // 5. Targets must be valid durations and cover every priority
+    @Test
+    void constructor_InvalidTargets_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TicketSlaServiceImpl(ticketRepository,
+                auditLogService, eventPublisher, transactionManager, true, "LOW=PT1H,HIGH=PT2H",
+                RESOLUTION_TARGETS, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new TicketSlaServiceImpl(ticketRepository,
+                auditLogService, eventPublisher, transactionManager, true, RESPONSE_TARGETS,
+                "LOW=five days,MEDIUM=P3D,HIGH=PT24H,CRITICAL=PT8H", Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,169 @@
+package com.techdesk;
+
+import com.techdesk.dto.TicketStatsDTO;
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketDeletedEvent;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.events.TicketUpdatedEvent;
+import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.TicketCountView;
+import com.techdesk.services.Impl.TicketStatsServiceImpl;
+import com.techdesk.utils.TicketStatsCounters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketStatsServiceImplTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Spy
+    private TicketStatsCounters counters = new TicketStatsCounters();
+
+    @InjectMocks
+    private TicketStatsServiceImpl ticketStatsService;
+
+    private final UUID agentId = UUID.randomUUID();
+
+    private static TicketCountView count(TicketStatus status, TicketPriority priority, TicketCategory category,
+                                         UUID assigneeId, long tickets) {
+        return new TicketCountView() {
+            public TicketStatus getStatus() { return status; }
+            public TicketPriority getPriority() { return priority; }
+            public TicketCategory getCategory() { return category; }
+            public UUID getAssigneeId() { return assigneeId; }
+            public Long getTickets() { return tickets; }
+        };
+    }
+
+    private TicketSnapshot snapshot(UUID id, TicketStatus status, TicketPriority priority, TicketCategory category) {
+        return new TicketSnapshot(id, "Printer jam", "Jams on every page", status, priority, category,
+                UUID.randomUUID(), agentId, LocalDateTime.now(), null);
+    }
+
+    // 1. The first read loads the counts from the database with a single grouped query
+    @Test
+    void getStats_LoadsCountsOnce() {
+        when(ticketRepository.countByDimensions()).thenReturn(List.of(
+                count(TicketStatus.NEW, TicketPriority.HIGH, TicketCategory.NETWORK, agentId, 3),
+                count(TicketStatus.CLOSED, TicketPriority.LOW, TicketCategory.HARDWARE, null, 2)));
+
+        ticketStatsService.getStats();
+        TicketStatsDTO stats = ticketStatsService.getStats();
+
+        assertEquals(5, stats.getTotal());
+        assertEquals(3, stats.getByStatus().get(TicketStatus.NEW));
+        assertEquals(2, stats.getByStatus().get(TicketStatus.CLOSED));
+        assertEquals(0, stats.getByStatus().get(TicketStatus.IN_PROGRESS));
+        assertEquals(3, stats.getByPriority().get(TicketPriority.HIGH));
+        assertEquals(2, stats.getByCategory().get(TicketCategory.HARDWARE));
+        assertEquals(3, stats.getByAssignee().get(agentId).get(TicketStatus.NEW));
+        assertEquals(1, stats.getByAssignee().size());
+        assertNotNull(stats.getReconciledAt());
+        verify(ticketRepository, times(1)).countByDimensions();
+    }
+
+    // 2. Ticket events move tickets between the counters
+    @Test
+    void events_UpdateCounts() {
+        when(ticketRepository.countByDimensions()).thenReturn(List.of());
+        ticketStatsService.reconcile();
+        UUID ticketId = UUID.randomUUID();
+        TicketSnapshot created = snapshot(ticketId, TicketStatus.NEW, TicketPriority.LOW, TicketCategory.OTHER);
+        TicketSnapshot edited = snapshot(ticketId, TicketStatus.NEW, TicketPriority.CRITICAL, TicketCategory.OTHER);
+        TicketSnapshot started = snapshot(ticketId, TicketStatus.IN_PROGRESS, TicketPriority.CRITICAL,
+                TicketCategory.OTHER);
+
+        ticketStatsService.onTicketCreated(new TicketCreatedEvent(created));
+        ticketStatsService.onTicketUpdated(new TicketUpdatedEvent(edited, created));
+        ticketStatsService.onTicketStatusChanged(new TicketStatusChangedEvent(started, TicketStatus.NEW, agentId));
+        TicketStatsDTO stats = ticketStatsService.getStats();
+
+        assertEquals(1, stats.getTotal());
+        assertEquals(0, stats.getByStatus().get(TicketStatus.NEW));
+        assertEquals(1, stats.getByStatus().get(TicketStatus.IN_PROGRESS));
+        assertEquals(0, stats.getByPriority().get(TicketPriority.LOW));
+        assertEquals(1, stats.getByPriority().get(TicketPriority.CRITICAL));
+        assertEquals(1, stats.getByAssignee().get(agentId).get(TicketStatus.IN_PROGRESS));
+
+        ticketStatsService.onTicketDeleted(new TicketDeletedEvent(started));
+        stats = ticketStatsService.getStats();
+
+        assertEquals(0, stats.getTotal());
+        assertTrue(stats.getByAssignee().isEmpty());
+    }
+
+    // 3. Reconciliation replaces drifted counts with the database counts
+    @Test
+    void reconcile_CorrectsDrift() {
+        when(ticketRepository.countByDimensions()).thenReturn(List.of(),
+                List.of(count(TicketStatus.RESOLVED, TicketPriority.MEDIUM, TicketCategory.SOFTWARE, agentId, 4)));
+        ticketStatsService.reconcile();
+        ticketStatsService.onTicketCreated(new TicketCreatedEvent(
+                snapshot(UUID.randomUUID(), TicketStatus.NEW, TicketPriority.LOW, TicketCategory.OTHER)));
+
+        ticketStatsService.reconcile();
+        TicketStatsDTO stats = ticketStatsService.getStats();
+
+        assertEquals(4, stats.getTotal());
+        assertEquals(0, stats.getByStatus().get(TicketStatus.NEW));
+        assertEquals(4, stats.getByStatus().get(TicketStatus.RESOLVED));
+        assertEquals(4, stats.getByAssignee().get(agentId).get(TicketStatus.RESOLVED));
+    }
+
+    // 4. A count during which an event was applied is discarded and the tickets are counted again
+    @Test
+    void reconcile_EventDuringCount_CountsAgain() {
+        when(ticketRepository.countByDimensions()).thenReturn(List.of());
+        ticketStatsService.reconcile();
+        TicketSnapshot created = snapshot(UUID.randomUUID(), TicketStatus.NEW, TicketPriority.LOW,
+                TicketCategory.OTHER);
+        List<TicketCountView> withTicket = List.of(
+                count(TicketStatus.NEW, TicketPriority.LOW, TicketCategory.OTHER, agentId, 1));
+        when(ticketRepository.countByDimensions()).thenAnswer(invocation -> {
+            // The ticket commits while the first count runs, which does not see it yet
+            ticketStatsService.onTicketCreated(new TicketCreatedEvent(created));
+            return List.of();
+        }).thenReturn(withTicket);
+
+        ticketStatsService.reconcile();
+        TicketStatsDTO stats = ticketStatsService.getStats();
+
+        assertEquals(1, stats.getTotal());
+        assertEquals(1, stats.getByStatus().get(TicketStatus.NEW));
+        verify(ticketRepository, times(3)).countByDimensions();
+    }
+
+    // 5. While tickets keep changing during every count, the incrementally maintained counts are kept
+    @Test
+    void reconcile_BusyDuringEveryCount_KeepsCounts() {
+        when(ticketRepository.countByDimensions()).thenReturn(List.of());
+        ticketStatsService.reconcile();
+        when(ticketRepository.countByDimensions()).thenAnswer(invocation -> {
+            ticketStatsService.onTicketCreated(new TicketCreatedEvent(
+                    snapshot(UUID.randomUUID(), TicketStatus.NEW, TicketPriority.LOW, TicketCategory.OTHER)));
+            return List.of();
+        });
+
+        ticketStatsService.reconcile();
+
+        assertEquals(3, ticketStatsService.getStats().getTotal());
+        verify(ticketRepository, times(1 + 3)).countByDimensions();
+    }
+}
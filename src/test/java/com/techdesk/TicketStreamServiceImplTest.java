@@ -0,0 +1,156 @@
+package com.techdesk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techdesk.dto.AuthenticatedUser;
+import com.techdesk.entities.enums.Role;
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.events.CommentAddedEvent;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.events.TicketStatusChangedEvent;
+import com.techdesk.services.Impl.TicketStreamServiceImpl;
+import com.techdesk.web.errors.UnauthorizedAccessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketStreamServiceImplTest {
+
+    private static final int BUFFER_SIZE = 4;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch slowClient = new CountDownLatch(1);
+    private boolean nextClientSlow;
+    private TicketStreamServiceImpl ticketStreamService;
+
+    /**
+     * Records the events sent to a client, optionally blocking until the test lets the client catch up.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch catchUp;
+
+        private RecordingEmitter(CountDownLatch catchUp) {
+            this.catchUp = catchUp;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                catchUp.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(item -> text.append(item.getData()));
+            sent.add(text.toString());
+        }
+
+        private String nextEvent(long timeoutMillis) throws InterruptedException {
+            String event;
+            do {
+                event = sent.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } while (event != null && !event.contains("event:"));
+            return event;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ticketStreamService = new TicketStreamServiceImpl(new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                BUFFER_SIZE, Duration.ofMinutes(5)) {
+            @Override
+            protected SseEmitter newEmitter(long timeoutMillis) {
+                return new RecordingEmitter(nextClientSlow ? slowClient : new CountDownLatch(0));
+            }
+        };
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slowClient.countDown();
+        ticketStreamService.destroy();
+    }
+
+    private RecordingEmitter subscribe(Role role, boolean allTickets) {
+        return (RecordingEmitter) ticketStreamService.subscribe(
+                new AuthenticatedUser(UUID.randomUUID(), role.name().toLowerCase(), role), allTickets);
+    }
+
+    private static TicketSnapshot ticket(UUID createdById, UUID assignedToId, TicketStatus status) {
+        return new TicketSnapshot(UUID.randomUUID(), "Printer jam", "Jams on every page", status,
+                TicketPriority.HIGH, TicketCategory.HARDWARE, createdById, assignedToId, LocalDateTime.now(), null);
+    }
+
+    // 1. Employees receive the events of their own tickets, agents those of their assigned tickets or of all tickets
+    @Test
+    void publish_FiltersEventsPerUser() throws Exception {
+        AuthenticatedUser owner = new AuthenticatedUser(UUID.randomUUID(), "employee", Role.EMPLOYEE);
+        AuthenticatedUser agent = new AuthenticatedUser(UUID.randomUUID(), "agent", Role.IT_SUPPORT);
+        RecordingEmitter ownerStream = (RecordingEmitter) ticketStreamService.subscribe(owner, false);
+        RecordingEmitter agentStream = (RecordingEmitter) ticketStreamService.subscribe(agent, false);
+        RecordingEmitter otherEmployeeStream = subscribe(Role.EMPLOYEE, false);
+        RecordingEmitter otherAgentStream = subscribe(Role.IT_SUPPORT, false);
+        RecordingEmitter allTicketsStream = subscribe(Role.IT_SUPPORT, true);
+        TicketSnapshot created = ticket(owner.id(), agent.id(), TicketStatus.NEW);
+
+        ticketStreamService.onTicketCreated(new TicketCreatedEvent(created));
+        ticketStreamService.onCommentAdded(new CommentAddedEvent(created.id(), owner.id(), agent.id(),
+                UUID.randomUUID(), agent.id(), "Replaced the toner", LocalDateTime.now()));
+
+        for (RecordingEmitter stream : new RecordingEmitter[]{ownerStream, agentStream, allTicketsStream}) {
+            String first = stream.nextEvent(5000);
+            assertTrue(first.contains("event:ticket-created"), first);
+            assertTrue(first.contains("\"ticketId\":\"" + created.id() + "\""), first);
+            String second = stream.nextEvent(5000);
+            assertTrue(second.contains("event:comment-added"), second);
+            assertTrue(second.contains("Replaced the toner"), second);
+        }
+        assertNull(otherEmployeeStream.nextEvent(200));
+        assertNull(otherAgentStream.nextEvent(200));
+        assertEquals(5, ticketStreamService.getSubscriberCount());
+    }
+
+    // 2. Only IT support agents may follow all tickets
+    @Test
+    void subscribe_AllTicketsAsEmployee_Throws() {
+        assertThrows(UnauthorizedAccessException.class, () -> subscribe(Role.EMPLOYEE, true));
+        assertThrows(UnauthorizedAccessException.class, () -> subscribe(Role.ADMIN, true));
+        assertEquals(0, ticketStreamService.getSubscriberCount());
+    }
+
+    // 3. A client that falls behind its buffer is disconnected without holding up the others
+    @Test
+    void publish_SlowClient_Dropped() throws Exception {
+        RecordingEmitter fastStream = subscribe(Role.IT_SUPPORT, true);
+        nextClientSlow = true;
+        subscribe(Role.IT_SUPPORT, true);
+        TicketSnapshot ticket = ticket(UUID.randomUUID(), UUID.randomUUID(), TicketStatus.IN_PROGRESS);
+
+        for (int i = 0; i < BUFFER_SIZE + 2; i++) {
+            ticketStreamService.onTicketStatusChanged(new TicketStatusChangedEvent(ticket, TicketStatus.NEW,
+                    UUID.randomUUID()));
+            String event = fastStream.nextEvent(5000);
+            assertNotNull(event);
+            assertTrue(event.contains("event:status-changed"), event);
+        }
+
+        assertEquals(1, ticketStreamService.getSubscriberCount());
+        assertEquals(1, meterRegistry.get("techdesk.stream.dropped").counter().count());
+    }
+}
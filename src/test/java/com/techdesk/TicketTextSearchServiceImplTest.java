@@ -0,0 +1,150 @@
+package com.techdesk;
+
+import com.techdesk.dto.TicketResponseDTO;
+import com.techdesk.dto.TicketSearchHitDTO;
+import com.techdesk.dto.mappers.TicketMapper;
+import com.techdesk.entities.enums.TicketCategory;
+import com.techdesk.entities.enums.TicketPriority;
+import com.techdesk.entities.enums.TicketStatus;
+import com.techdesk.events.CommentAddedEvent;
+import com.techdesk.events.TicketCreatedEvent;
+import com.techdesk.events.TicketDeletedEvent;
+import com.techdesk.events.TicketSnapshot;
+import com.techdesk.repositories.CommentRepository;
+import com.techdesk.repositories.TicketRepository;
+import com.techdesk.repositories.projections.TicketView;
+import com.techdesk.services.Impl.TicketTextSearchServiceImpl;
+import com.techdesk.utils.TicketTextIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketTextSearchServiceImplTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private TicketMapper ticketMapper;
+
+    private TicketTextSearchServiceImpl searchService;
+
+    private TicketSnapshot vpnTicket;
+    private TicketSnapshot printerTicket;
+
+    @BeforeEach
+    public void setUp() {
+        searchService = new TicketTextSearchServiceImpl(new TicketTextIndex(2), ticketRepository,
+                commentRepository, ticketMapper);
+
+        vpnTicket = snapshot("VPN connection drops", "Remote VPN disconnects every hour",
+                TicketStatus.NEW, TicketCategory.NETWORK);
+        printerTicket = snapshot("Printer jam", "The printer near the VPN desk jams on every job",
+                TicketStatus.IN_PROGRESS, TicketCategory.HARDWARE);
+        searchService.onTicketCreated(new TicketCreatedEvent(vpnTicket));
+        searchService.onTicketCreated(new TicketCreatedEvent(printerTicket));
+    }
+
+    private static TicketSnapshot snapshot(String title, String description, TicketStatus status,
+                                           TicketCategory category) {
+        return new TicketSnapshot(UUID.randomUUID(), title, description, status, TicketPriority.HIGH, category,
+                UUID.randomUUID(), null, LocalDateTime.now(), null);
+    }
+
+    private void stubTicketLookup() {
+        when(ticketRepository.findViewsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> {
+                TicketView view = mock(TicketView.class);
+                when(view.getId()).thenReturn(id);
+                return view;
+            }).toList();
+        });
+        when(ticketMapper.ticketViewToTicketResponseDTO(any(TicketView.class))).thenAnswer(invocation -> {
+            TicketResponseDTO dto = new TicketResponseDTO();
+            dto.setId(invocation.<TicketView>getArgument(0).getId());
+            return dto;
+        });
+    }
+
+    // 1. Ranking: a title match outranks a description-only match
+    @Test
+    public void testSearch_RanksTitleMatchesFirst() {
+        stubTicketLookup();
+
+        List<TicketSearchHitDTO> hits = searchService.search("vpn", null, null, null, 10);
+
+        assertEquals(2, hits.size());
+        assertEquals(vpnTicket.id(), hits.get(0).getTicket().getId());
+        assertEquals(printerTicket.id(), hits.get(1).getTicket().getId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    // 2. Filters: only tickets with the requested status and category are returned
+    @Test
+    public void testSearch_AppliesFilters() {
+        stubTicketLookup();
+
+        List<TicketSearchHitDTO> hits = searchService.search("vpn", "in_progress", null, "HARDWARE", 10);
+
+        assertEquals(1, hits.size());
+        assertEquals(printerTicket.id(), hits.get(0).getTicket().getId());
+    }
+
+    // 3. Comments are searchable once added, and deleted tickets disappear
+    @Test
+    public void testSearch_IndexesCommentsAndDeletions() {
+        stubTicketLookup();
+        searchService.onCommentAdded(new CommentAddedEvent(vpnTicket.id(), vpnTicket.createdById(),
+                vpnTicket.assignedToId(), UUID.randomUUID(), UUID.randomUUID(), "Replaced the router firmware",
+                LocalDateTime.now()));
+
+        assertEquals(vpnTicket.id(), searchService.search("firmware", null, null, null, 10).get(0).getTicket().getId());
+
+        searchService.onTicketDeleted(new TicketDeletedEvent(vpnTicket));
+
+        assertTrue(searchService.search("firmware", null, null, null, 10).isEmpty());
+    }
+
+    // 4. Invalid input
+    @Test
+    public void testSearch_RejectsBlankQueryAndBadLimit() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(" ", null, null, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("vpn", null, null, null, 0));
+        verifyNoInteractions(ticketRepository);
+    }
+
+    // 5. A comment that arrives before its ticket is indexed becomes searchable once the ticket is
+    @Test
+    public void testSearch_KeepsCommentsOfTicketsNotIndexedYet() {
+        stubTicketLookup();
+        TicketSnapshot laptopTicket = snapshot("Laptop battery", "Battery drains overnight",
+                TicketStatus.NEW, TicketCategory.HARDWARE);
+        searchService.onCommentAdded(new CommentAddedEvent(laptopTicket.id(), laptopTicket.createdById(),
+                laptopTicket.assignedToId(), UUID.randomUUID(), UUID.randomUUID(), "Ordered a replacement charger",
+                LocalDateTime.now()));
+
+        assertTrue(searchService.search("charger", null, null, null, 10).isEmpty());
+
+        searchService.onTicketCreated(new TicketCreatedEvent(laptopTicket));
+
+        List<TicketSearchHitDTO> hits = searchService.search("charger", null, null, null, 10);
+        assertEquals(1, hits.size());
+        assertEquals(laptopTicket.id(), hits.get(0).getTicket().getId());
+    }
+}
@@ -0,0 +1,82 @@
+package com.techdesk;
+
+import com.techdesk.utils.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    // 1. Deadlines on every level expire on the first tick at or after them, in order
+    @Test
+    void advance_ExpiresDeadlinesInOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("in-hours", 10_000_000);
+        wheel.schedule("in-minutes", 200_000);
+        wheel.schedule("in-seconds", 5_500);
+        wheel.schedule("soon", 2_000);
+
+        assertEquals(List.of(), wheel.advance(1_999));
+        assertEquals(List.of("soon"), wheel.advance(2_000));
+        assertEquals(List.of(), wheel.advance(5_999));
+        assertEquals(List.of("in-seconds"), wheel.advance(6_000));
+        assertEquals(List.of(), wheel.advance(199_999));
+        assertEquals(List.of("in-minutes", "in-hours"), wheel.advance(20_000_000));
+        assertEquals(0, wheel.size());
+    }
+
+    // 2. Rescheduling replaces the deadline, cancelled and overdue deadlines are handled on the next tick
+    @Test
+    void scheduleAndCancel_ReplaceDeadlines() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule("moved", 500_000);
+        wheel.schedule("cancelled", 3_000);
+        wheel.schedule("moved", 3_000);
+
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("moved"), wheel.advance(3_000));
+
+        wheel.schedule("overdue", 1_000);
+        assertEquals(List.of(), wheel.advance(3_999));
+        assertEquals(List.of("overdue"), wheel.advance(4_000));
+        assertEquals(List.of(), wheel.advance(1_000_000));
+    }
+
+    // 3. Random deadlines expire exactly when the clock passes them, whatever the size of the steps
+    @Test
+    void advance_RandomDeadlines_MatchClock() {
+        Random random = new Random(42);
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 0);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int key = 0; key < 2000; key++) {
+            long deadline = random.nextInt(3) == 0 ? random.nextInt(100) : random.nextInt(2_000_000);
+            deadlines.put(key, deadline);
+            wheel.schedule(key, deadline);
+        }
+
+        long now = 0;
+        while (wheel.size() > 0) {
+            now += random.nextInt(5) == 0 ? random.nextInt(50_000) : random.nextInt(100);
+            long previous = -1;
+            List<Integer> expired = new ArrayList<>(wheel.advance(now));
+            for (Integer key : expired) {
+                long deadline = deadlines.remove(key);
+                assertTrue(deadline <= now, "Key " + key + " expired before " + deadline);
+                assertTrue(deadline >= previous, "Key " + key + " expired out of order");
+                previous = deadline;
+            }
+            final long clock = now;
+            deadlines.values().forEach(deadline -> assertTrue(deadline > clock, "A deadline of " + deadline
+                    + " was still pending at " + clock));
+        }
+        assertTrue(deadlines.isEmpty());
+    }
+}
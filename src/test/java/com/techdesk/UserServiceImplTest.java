@@ -4,14 +4,18 @@ import com.techdesk.entities.AppUser;
 import com.techdesk.repositories.AppUserRepository;
 import com.techdesk.services.Impl.UserServiceImpl;
 import com.techdesk.services.UserService;
+import com.techdesk.utils.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,6 +28,9 @@ public class UserServiceImplTest {
     @Mock
     private AppUserRepository appUserRepository;
 
+    @Spy
+    private UserCache userCache = new UserCache(new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -78,4 +85,48 @@ public class UserServiceImplTest {
         verify(appUserRepository, times(1)).findById(userId);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void findById_SecondLookup_ServedFromCacheAsDetachedCopy() {
+        when(appUserRepository.findById(userId)).thenReturn(Optional.of(appUser));
+
+        AppUser first = userService.findById(userId).orElseThrow();
+        first.setUsername("changedByCaller");
+        AppUser second = userService.findById(userId).orElseThrow();
+
+        assertEquals("testUser", second.getUsername(), "Changes to a returned user must not reach the cache");
+        assertNotSame(appUser, second, "Cached users must not be the loaded entity");
+        verify(appUserRepository, times(1)).findById(userId);
+    }
+
+    @Test
+    void findByUsername_AfterFindById_ServedFromCache() {
+        when(appUserRepository.findById(userId)).thenReturn(Optional.of(appUser));
+
+        userService.findById(userId);
+        Optional<AppUser> result = userService.findByUsername("testUser");
+
+        assertTrue(result.isPresent(), "User should be found");
+        verify(appUserRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void evictUser_NextLookupReloads() {
+        when(appUserRepository.findById(userId)).thenReturn(Optional.of(appUser));
+
+        userService.findById(userId);
+        userService.evictUser(userId);
+        userService.findById(userId);
+
+        verify(appUserRepository, times(2)).findById(userId);
+    }
+
+    @Test
+    void snapshotToString_MasksPasswordHash() {
+        appUser.setPassword("$2a$10$secretHash");
+
+        String text = UserCache.UserSnapshot.of(appUser).toString();
+
+        assertFalse(text.contains("secretHash"), "Password hash must not be printed");
+    }
+}